@@ -0,0 +1,62 @@
+package com.cj.genieq.common.cache;
+
+import com.cj.genieq.member.repository.MemberDataVersionRepository;
+import com.cj.genieq.passage.event.PassageChangedEvent;
+import com.cj.genieq.passage.event.PassageContentChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 회원 데이터 버전 관리
+ * 지문/문항 변경 이벤트를 발행한 트랜잭션 안에서 버전을 올리므로 데이터와 버전이 함께 커밋/롤백된다.
+ * 읽는 쪽은 데이터보다 버전을 먼저 읽는다 (버전 이후에 읽은 데이터는 그 버전보다 오래되지 않음).
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberDataVersionTracker {
+
+    private final MemberDataVersionRepository memberDataVersionRepository;
+
+    // 현재 버전 (변경 이력이 없으면 0)
+    @Transactional(readOnly = true)
+    public long current(Long memCode) {
+        return memberDataVersionRepository.findVersion(memCode).orElse(0L);
+    }
+
+    /**
+     * 회원 단위 조회(목록 등)의 강한 ETag: 회원 + 데이터 버전
+     * 회원을 포함하므로 같은 브라우저에서 다른 회원으로 로그인해도 이전 회원의 캐시와 맞지 않는다.
+     */
+    public String etag(Long memCode) {
+        return "\"" + memCode + "-" + current(memCode) + "\"";
+    }
+
+    /**
+     * 지문 단위 조회의 강한 ETag: 요청 회원 + 지문 + 소유 회원 데이터 버전 + 추가 값(자동 저장 대기 시각 등)
+     */
+    @Transactional(readOnly = true)
+    public String passageEtag(Long memCode, Long pasCode, long extra) {
+        long version = memberDataVersionRepository.findVersionByPasCode(pasCode).orElse(-1L);
+        return "\"" + memCode + "-p" + pasCode + "-" + version + "-" + extra + "\"";
+    }
+
+    @EventListener
+    @Transactional
+    public void onPassageChanged(PassageChangedEvent event) {
+        if (event.memCode() != null) {
+            memberDataVersionRepository.bump(event.memCode());
+        } else if (event.pasCodes() != null && !event.pasCodes().isEmpty()) {
+            memberDataVersionRepository.bumpByPasCodes(event.pasCodes());
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void onPassageContentChanged(PassageContentChangedEvent event) {
+        if (event.memCode() != null) {
+            memberDataVersionRepository.bump(event.memCode());
+        }
+    }
+}
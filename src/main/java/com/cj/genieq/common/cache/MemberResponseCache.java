@@ -0,0 +1,143 @@
+package com.cj.genieq.common.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 회원별 조회 응답 캐시 (자료실 목록, 메인 화면, 최근 작업)
+ *
+ * 키: region + 회원 + 회원 데이터 버전 + 요청 파라미터
+ * - 지문/문항 변경 트랜잭션이 회원 데이터 버전을 올리므로(MemberDataVersionTracker) 이전 버전 항목은 다시 조회되지 않고
+ *   크기/TTL 에 따라 자연히 밀려난다. 따로 무효화할 필요가 없어 여러 서버에서도 같은 규칙으로 동작한다.
+ * - L1: Caffeine (서버 로컬), L2: Redis (genieq.response-cache.redis.enabled=true 일 때, 서버 간 공유)
+ * - Redis 오류는 캐시 미스로 처리하고 요청은 실패시키지 않는다
+ * 지표: genieq.response.cache.requests{region, result=l1_hit|l2_hit|miss}, genieq.response.cache.l1.* (Caffeine 통계)
+ */
+@Slf4j
+@Component
+public class MemberResponseCache {
+
+    private static final String REDIS_KEY_PREFIX = "genieq:resp:";
+
+    private final MemberDataVersionTracker versionTracker;
+    private final ObjectMapper objectMapper;
+    private final StringRedisTemplate redisTemplate;   // L2 비활성화 시 null
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, Object> localCache;
+    private final Duration ttl;
+    private final boolean enabled;
+
+    public MemberResponseCache(MemberDataVersionTracker versionTracker,
+                               ObjectMapper objectMapper,
+                               ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                               ObjectProvider<MeterRegistry> meterRegistryProvider,
+                               @Value("${genieq.response-cache.enabled:true}") boolean enabled,
+                               @Value("${genieq.response-cache.ttl-ms:600000}") long ttlMillis,
+                               @Value("${genieq.response-cache.max-entries:10000}") long maxEntries,
+                               @Value("${genieq.response-cache.redis.enabled:false}") boolean redisEnabled) {
+        this.versionTracker = versionTracker;
+        this.objectMapper = objectMapper;
+        this.redisTemplate = redisEnabled ? redisTemplateProvider.getIfAvailable() : null;
+        this.meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        this.enabled = enabled;
+        this.ttl = Duration.ofMillis(ttlMillis);
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "genieq.response.cache.l1");
+    }
+
+    /**
+     * 캐시된 응답 반환, 없거나 이전 버전이면 loader 결과를 저장 후 반환
+     * @param region 응답 종류 (storage, main, recent ...)
+     * @param key    요청 파라미터로 만든 키 (같은 회원/버전 안에서 구분)
+     * @param type   L2(Redis) 역직렬화 타입
+     */
+    public <T> T get(String region, Long memCode, String key, TypeReference<T> type, Supplier<T> loader) {
+        if (!enabled || memCode == null) {
+            return loader.get();
+        }
+
+        // 데이터보다 버전을 먼저 읽음
+        String cacheKey = region + ":" + memCode + ":" + versionTracker.current(memCode) + ":" + key;
+
+        @SuppressWarnings("unchecked")
+        T cached = (T) localCache.getIfPresent(cacheKey);
+        if (cached != null) {
+            count(region, "l1_hit");
+            return cached;
+        }
+
+        T remote = readRemote(cacheKey, type);
+        if (remote != null) {
+            localCache.put(cacheKey, remote);
+            count(region, "l2_hit");
+            return remote;
+        }
+
+        count(region, "miss");
+        T loaded = loader.get();
+        if (loaded != null) {
+            localCache.put(cacheKey, loaded);
+            writeRemote(cacheKey, loaded);
+        }
+        return loaded;
+    }
+
+    // 요청 파라미터로 키 생성 (검색어 등 자유 입력끼리 섞이지 않도록 제어 문자로 구분)
+    public static String key(Object... parts) {
+        return Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("\u001F"));
+    }
+
+    private <T> T readRemote(String cacheKey, TypeReference<T> type) {
+        if (redisTemplate == null) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(REDIS_KEY_PREFIX + cacheKey);
+            return json != null ? objectMapper.readValue(json, type) : null;
+        } catch (Exception e) {
+            log.warn("응답 캐시 Redis 조회 실패 - key: {}, error: {}", cacheKey, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRemote(String cacheKey, Object value) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(REDIS_KEY_PREFIX + cacheKey, objectMapper.writeValueAsString(value), ttl);
+        } catch (Exception e) {
+            log.warn("응답 캐시 Redis 저장 실패 - key: {}, error: {}", cacheKey, e.getMessage());
+        }
+    }
+
+    private void count(String region, String result) {
+        Counter.builder("genieq.response.cache.requests")
+                .tag("region", region)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,50 @@
+package com.cj.genieq.common.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * ID 시퀀스 정렬
+ *
+ * passage, description, question 은 JDBC 배치 INSERT 를 위해 IDENTITY 에서 pooled 시퀀스로 전환되었다.
+ * ddl-auto 가 새로 만든 시퀀스는 1부터 시작하므로 기존 AUTO_INCREMENT 로 발급된 최대 ID 위로 올려둔다.
+ * MariaDB SETVAL 은 현재 값보다 큰 경우에만 반영되므로 매 기동 시 실행해도 안전하다.
+ * 웹 서버가 요청을 받기 전(싱글톤 초기화 단계)에 실행된다.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory") // 시퀀스 생성(ddl-auto) 이후 실행
+@RequiredArgsConstructor
+public class IdSequenceInitializer {
+
+    // 시퀀스명 → {테이블, ID 컬럼}
+    private static final Map<String, String[]> SEQUENCES = Map.of(
+            "passage_seq", new String[]{"passage", "pas_code"},
+            "description_seq", new String[]{"description", "des_code"},
+            "question_seq", new String[]{"question", "que_code"}
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignSequences() {
+        SEQUENCES.forEach((sequence, target) -> {
+            try {
+                Long maxId = jdbcTemplate.queryForObject(
+                        "SELECT COALESCE(MAX(" + target[1] + "), 0) FROM " + target[0], Long.class);
+                if (maxId != null && maxId > 0) {
+                    jdbcTemplate.queryForObject("SELECT SETVAL(" + sequence + ", " + maxId + ")", Long.class);
+                }
+                log.info("ID 시퀀스 정렬 완료 - sequence: {}, maxId: {}", sequence, maxId);
+            } catch (Exception e) {
+                log.warn("ID 시퀀스 정렬 실패 - sequence: {}, error: {}", sequence, e.getMessage());
+            }
+        });
+    }
+}
@@ -1,6 +1,9 @@
 package com.cj.genieq.common.config;
 
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
@@ -17,5 +20,18 @@ public class WebMvcConfig implements WebMvcConfigurer {
     
     // 🎯 현재는 기본 설정만 사용
     // 향후 필요한 MVC 관련 설정(예: 메시지 컨버터, 뷰 리졸버 등)은 여기에 추가
-    
+
+    /**
+     * 공지사항 조회 ETag (응답 본문 해시)
+     * 공지는 관리자가 DB 에 직접 등록해 변경 시점을 알 수 없으므로 본문 해시로 비교한다.
+     * 조회는 그대로 실행되지만 바뀌지 않았으면 본문 없이 304 로 응답한다.
+     * (지문/자료실 조회는 회원 데이터 버전 ETag 로 조회 자체를 건너뛰므로 이 필터를 적용하지 않음)
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> noticeEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/api/noti/*");
+        registration.setName("noticeEtagFilter");
+        return registration;
+    }
 }
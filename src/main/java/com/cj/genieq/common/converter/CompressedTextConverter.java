@@ -0,0 +1,112 @@
+package com.cj.genieq.common.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * LONGTEXT HTML 컬럼 압축 컨버터 (genieq.compression.enabled=true 일 때만 압축)
+ *
+ * 저장 형식: MAGIC + Base64(deflate(UTF-8))
+ * - 컬럼 타입(LONGTEXT)을 바꾸지 않도록 Base64 문자열로 저장
+ * - MAGIC 으로 시작하지 않는 값은 평문으로 보고 그대로 읽으므로 기존 행/압축 비활성화 후에도 읽기 가능
+ * - min-length 미만이거나 압축 결과가 더 길면 평문 그대로 저장
+ *
+ * Spring 빈으로 생성되어 설정값을 주입받는다 (Hibernate 가 직접 생성하는 경우 압축 비활성화 상태로 동작)
+ */
+@Component
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, String> {
+
+    // 평문 HTML 에 나올 수 없는 제어 문자로 시작
+    public static final String MAGIC = "\u001FZ1";
+
+    @Value("${genieq.compression.enabled:false}")
+    private boolean enabled;
+
+    @Value("${genieq.compression.min-length:512}")
+    private int minLength;
+
+    public CompressedTextConverter() {
+    }
+
+    // 벤치마크/재인코딩 작업용
+    public CompressedTextConverter(boolean enabled, int minLength) {
+        this.enabled = enabled;
+        this.minLength = minLength;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        if (!enabled || attribute == null || attribute.length() < minLength || isEncoded(attribute)) {
+            return attribute;
+        }
+        byte[] plain = attribute.getBytes(StandardCharsets.UTF_8);
+        String encoded = MAGIC + Base64.getEncoder().encodeToString(deflate(plain));
+        // 저장 바이트 기준 비교 (인코딩 결과는 ASCII, 한글 평문은 글자당 3바이트)
+        return encoded.length() < plain.length ? encoded : attribute;
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        if (!isEncoded(dbData)) {
+            return dbData;
+        }
+        byte[] compressed = Base64.getDecoder().decode(dbData.substring(MAGIC.length()));
+        return new String(inflate(compressed), StandardCharsets.UTF_8);
+    }
+
+    public static boolean isEncoded(String value) {
+        return value != null && value.startsWith(MAGIC);
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 3 + 16);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("압축 데이터가 손상되었습니다.");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("압축 데이터가 손상되었습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.cj.genieq.common.converter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 압축 도입 이전에 저장된 평문 행 재인코딩 (genieq.compression.enabled=true 일 때만 동작)
+ * 키 순서대로 배치 단위로 읽어 CompressedTextConverter 로 인코딩 후 UPDATE 한다.
+ * 이미 압축된 행과 min-length 미만 행은 건너뛰며, 중단돼도 다음 실행에서 이어서 처리된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CompressedTextReencoder {
+
+    private static final int BATCH_SIZE = 200;
+
+    // 테이블 → {키 컬럼, 압축 대상 컬럼...}
+    private static final Map<String, String[]> TARGETS = Map.of(
+            "passage_content", new String[]{"pct_hash", "pct_content"},
+            "description", new String[]{"des_code", "pas_gist"},
+            "question", new String[]{"que_code", "que_query", "que_option", "que_description"}
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CompressedTextConverter compressedTextConverter;
+
+    @Scheduled(cron = "${genieq.compression.reencode-cron:0 0 3 * * *}")
+    public void reencode() {
+        if (!compressedTextConverter.isEnabled()) {
+            return;
+        }
+
+        TARGETS.forEach((table, columns) -> {
+            for (int i = 1; i < columns.length; i++) {
+                try {
+                    int updated = reencodeColumn(table, columns[0], columns[i]);
+                    if (updated > 0) {
+                        log.info("압축 재인코딩 완료 - {}.{}: {}건", table, columns[i], updated);
+                    }
+                } catch (Exception e) {
+                    log.warn("압축 재인코딩 실패 - {}.{}, error: {}", table, columns[i], e.getMessage());
+                }
+            }
+        });
+    }
+
+    private int reencodeColumn(String table, String keyColumn, String column) {
+        String select = "SELECT " + keyColumn + " AS k, " + column + " AS v FROM " + table +
+                " WHERE " + keyColumn + " > ? AND " + column + " IS NOT NULL" +
+                " AND LEFT(" + column + ", " + CompressedTextConverter.MAGIC.length() + ") <> ?" +
+                " ORDER BY " + keyColumn + " LIMIT " + BATCH_SIZE;
+        // 다른 요청이 그 사이 수정한 행은 덮어쓰지 않도록 원래 값과 같을 때만 UPDATE
+        String update = "UPDATE " + table + " SET " + column + " = ? WHERE " + keyColumn + " = ? AND " + column + " = ?";
+
+        Object lastKey = keyColumn.equals("pct_hash") ? "" : 0L;
+        int updated = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(select, lastKey, CompressedTextConverter.MAGIC);
+            if (rows.isEmpty()) {
+                return updated;
+            }
+
+            for (Map<String, Object> row : rows) {
+                Object key = row.get("k");
+                String plain = (String) row.get("v");
+                String encoded = compressedTextConverter.convertToDatabaseColumn(plain);
+                if (!encoded.equals(plain)) {
+                    updated += jdbcTemplate.update(update, encoded, key, plain);
+                }
+                lastKey = key;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.cj.genieq.common.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 1회성 유지 작업(기동 시 보충 등) 완료 표시
+ * 행이 있으면 해당 작업은 이미 끝난 것으로 보고 다시 실행하지 않는다.
+ */
+@AllArgsConstructor
+@Data
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "maintenance_marker")
+public class MaintenanceMarkerEntity {
+
+    @Id
+    @Column(name = "mmk_name", length = 100)
+    private String name;
+
+    @Column(name = "mmk_done_at", nullable = false)
+    private LocalDateTime doneAt;
+}
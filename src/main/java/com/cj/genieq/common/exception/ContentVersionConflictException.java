@@ -0,0 +1,18 @@
+package com.cj.genieq.common.exception;
+
+import lombok.Getter;
+
+/**
+ * 지문 본문 버전 충돌 예외 클래스
+ * 델타 수정 요청의 baseVersion 이 서버의 현재 버전과 다를 때 사용 (클라이언트는 본문을 다시 받아야 함)
+ */
+@Getter
+public class ContentVersionConflictException extends RuntimeException {
+
+    private final int currentVersion;
+
+    public ContentVersionConflictException(int baseVersion, int currentVersion) {
+        super("지문 버전이 일치하지 않습니다. (요청: " + baseVersion + ", 현재: " + currentVersion + ")");
+        this.currentVersion = currentVersion;
+    }
+}
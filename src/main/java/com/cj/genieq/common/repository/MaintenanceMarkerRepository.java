@@ -0,0 +1,9 @@
+package com.cj.genieq.common.repository;
+
+import com.cj.genieq.common.entity.MaintenanceMarkerEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MaintenanceMarkerRepository extends JpaRepository<MaintenanceMarkerEntity, String> {
+}
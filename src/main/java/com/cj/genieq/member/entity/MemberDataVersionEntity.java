@@ -0,0 +1,29 @@
+package com.cj.genieq.member.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 회원별 데이터 버전
+ * 지문/문항/즐겨찾기/삭제 등 회원 데이터가 바뀌는 트랜잭션 안에서 1씩 올린다 (MemberDataVersionRepository.bump)
+ * 응답 캐시는 이 버전을 키에 포함하므로 버전이 오르면 이전 캐시 항목은 더 이상 조회되지 않는다.
+ * member 행과 분리해 회원 정보 수정(이용권 차감 등)과 잠금/덮어쓰기가 얽히지 않게 한다.
+ */
+@AllArgsConstructor
+@Data
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "member_data_version")
+public class MemberDataVersionEntity {
+
+    @Id
+    @Column(name = "mem_code")
+    private Long memCode;
+
+    @Column(name = "mdv_version", nullable = false)
+    private long version;           // 행이 없으면 0 으로 간주
+}
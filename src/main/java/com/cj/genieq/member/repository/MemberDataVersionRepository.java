@@ -0,0 +1,44 @@
+package com.cj.genieq.member.repository;
+
+import com.cj.genieq.member.entity.MemberDataVersionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MemberDataVersionRepository extends JpaRepository<MemberDataVersionEntity, Long> {
+
+    // 버전 증가 (행이 없으면 1 로 생성, 호출한 트랜잭션과 함께 커밋/롤백)
+    @Modifying
+    @Query(value = """
+        INSERT INTO member_data_version (mem_code, mdv_version)
+        VALUES (:memCode, 1)
+        ON DUPLICATE KEY UPDATE mdv_version = mdv_version + 1
+        """, nativeQuery = true)
+    int bump(@Param("memCode") Long memCode);
+
+    // 지문 코드로 소유 회원을 찾아 버전 증가 (삭제처럼 호출 측에서 회원을 모르는 경우)
+    @Modifying
+    @Query(value = """
+        INSERT INTO member_data_version (mem_code, mdv_version)
+        SELECT DISTINCT p.mem_code, 1 FROM passage p WHERE p.pas_code IN (:pasCodeList)
+        ON DUPLICATE KEY UPDATE mdv_version = mdv_version + 1
+        """, nativeQuery = true)
+    int bumpByPasCodes(@Param("pasCodeList") List<Long> pasCodeList);
+
+    @Query(value = "SELECT mdv_version FROM member_data_version WHERE mem_code = :memCode", nativeQuery = true)
+    Optional<Long> findVersion(@Param("memCode") Long memCode);
+
+    // 지문 소유 회원의 버전 (지문이 없으면 empty)
+    @Query(value = """
+        SELECT COALESCE(v.mdv_version, 0) FROM passage p
+        LEFT JOIN member_data_version v ON v.mem_code = p.mem_code
+        WHERE p.pas_code = :pasCode
+        """, nativeQuery = true)
+    Optional<Long> findVersionByPasCode(@Param("pasCode") Long pasCode);
+}
@@ -4,6 +4,7 @@ import com.cj.genieq.notice.dto.response.NoticeListResponseDto;
 import com.cj.genieq.notice.dto.response.NoticeResponseDto;
 import com.cj.genieq.notice.service.NoticeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -22,13 +23,14 @@ public class NoticeController {
     public ResponseEntity<?> select() {
         List<NoticeListResponseDto> notices = noticeService.getNoticeList();
 
-        return ResponseEntity.ok().body(notices);
+        // 저장 후 매번 재검증 (ETag 는 noticeEtagFilter 가 본문 해시로 설정)
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(notices);
     }
 
     @GetMapping("/select/each")
     public ResponseEntity<?> selectEach(@RequestParam Long notCode){
         NoticeResponseDto notice = noticeService.getNotice(notCode);
 
-        return ResponseEntity.ok().body(notice);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(notice);
     }
 }
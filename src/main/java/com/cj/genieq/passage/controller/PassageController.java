@@ -1,5 +1,8 @@
 package com.cj.genieq.passage.controller;
 
+import com.cj.genieq.common.cache.MemberDataVersionTracker;
+import com.cj.genieq.common.cache.MemberResponseCache;
+import com.cj.genieq.common.exception.ContentVersionConflictException;
 import com.cj.genieq.member.entity.MemberEntity;
 import com.cj.genieq.passage.dto.request.*;
 import com.cj.genieq.passage.dto.response.*;
@@ -10,23 +13,37 @@ import com.cj.genieq.question.dto.request.QuestionPartialUpdateRequestDto;
 import com.cj.genieq.question.dto.response.QuestionSelectResponseDto;
 import com.cj.genieq.question.entity.QuestionEntity;
 import com.cj.genieq.question.service.QuestionService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.dao.DataAccessException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.channels.FileChannel;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Slf4j
 @RestController
@@ -40,6 +57,13 @@ public class PassageController {
     private final WordService wordService;
     private final TxtService txtService;
     private final QuestionService questionService;
+    private final AutosaveBuffer autosaveBuffer;
+    private final PassageListStreamer passageListStreamer;
+    private final ObjectMapper objectMapper;
+    private final MemberResponseCache memberResponseCache;
+    private final MemberDataVersionTracker memberDataVersionTracker;
+    private final ExportArtifactCache exportArtifactCache;
+    private final PassageBookletExporter passageBookletExporter;
 
     /**
      * 지문 개별 저장 API (JWT 기반)
@@ -65,7 +89,11 @@ public class PassageController {
     }
 
     @GetMapping("/select/prevlist")
-    public ResponseEntity<?> selectPrevList(@AuthenticationPrincipal Long memCode) {
+    public ResponseEntity<?> selectPrevList(@AuthenticationPrincipal Long memCode, WebRequest webRequest) {
+        // 변경이 없으면 304 (목록 조회 없음)
+        if (notModified(webRequest, memberDataVersionTracker.etag(memCode))) {
+            return null;
+        }
         try {
 
             List<PassagePreviewListDto> previews = passageService.getPreviewList(memCode);
@@ -86,11 +114,71 @@ public class PassageController {
         }
     }
 
+    // 지문 미리보기 페이지 (본문 대신 평문 발췌, 전체 본문은 /select/{pasCode})
+    @GetMapping("/select/prevlist/page")
+    public ResponseEntity<PassagePreviewPageResponseDto> selectPrevPage(
+            @AuthenticationPrincipal Long memCode,
+            @RequestParam(defaultValue = "1") int page,             // 페이지 번호 (1부터 시작)
+            @RequestParam(defaultValue = "20") int size,            // 페이지 크기 (최대 100)
+            @RequestParam(required = false) Integer isFavorite,     // 1 이면 즐겨찾기만
+            WebRequest webRequest) {
+        if (notModified(webRequest, memberDataVersionTracker.etag(memCode))) {
+            return null;
+        }
+        return ResponseEntity.ok(passageService.getPreviewPage(memCode, isFavorite, page, size));
+    }
+
+    // 지문 미리보기 리스트 스트리밍 (?format=ndjson, 한 줄에 지문 1개씩 바로 전송)
+    @GetMapping(value = "/select/prevlist", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamPrevList(@AuthenticationPrincipal Long memCode) {
+        return ndjson(writer -> passageListStreamer.streamPreviewList(memCode, writer));
+    }
+
+    // 문항이 있는 지문 리스트 스트리밍 (?format=ndjson, 한 줄에 지문 1개씩 바로 전송)
+    @GetMapping(value = "/list/withquestions", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamPassListWithQues(@AuthenticationPrincipal Long memCode) {
+        return ndjson(writer -> passageListStreamer.streamPassagesWithQuestions(memCode, writer));
+    }
+
+    // NDJSON 응답 - 항목을 받는 즉시 JSON 한 줄로 쓰고 flush (전체 목록을 메모리에 만들지 않음)
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<Object>> producer) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                producer.accept(item -> {
+                    try {
+                        objectMapper.writeValue(generator, item);
+                        generator.writeRaw('\n');
+                        generator.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // 클라이언트 연결 종료 등
+                log.warn("NDJSON 스트리밍 중단 - error: {}", e.getMessage());
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/list/withquestions")
-    public ResponseEntity<?> selectPassListWithQues(@AuthenticationPrincipal Long memCode) {
+    public ResponseEntity<?> selectPassListWithQues(
+            @AuthenticationPrincipal Long memCode,
+            @RequestParam(defaultValue = "1") int page,             // 페이지 번호 (1부터 시작)
+            @RequestParam(required = false) Integer size,           // 페이지 크기 (없으면 전체 조회)
+            WebRequest webRequest) {
+        if (notModified(webRequest, memberDataVersionTracker.etag(memCode))) {
+            return null;
+        }
         try {
             System.out.println("지문 확인 요청 들어옴");
-            List<PassageWithQuestionsResponseDto> passagesWithQuestions = passageService.getPassagesWithQuestionsList(memCode);
+            Pageable pageable = (size != null && size > 0)
+                    ? PageRequest.of(Math.max(page, 1) - 1, size)
+                    : Pageable.unpaged();
+            List<PassageWithQuestionsResponseDto> passagesWithQuestions = passageService.getPassagesWithQuestionsList(memCode, pageable);
             System.out.println("지문 리스트 정보: "+passagesWithQuestions.size());
             if (passagesWithQuestions.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NO_CONTENT).body("문항이 있는 지문이 없습니다.");
@@ -105,7 +193,11 @@ public class PassageController {
 
     // 지문 개별 조회
     @GetMapping("/select/{pasCode}")
-    public ResponseEntity<?> selectPassage(@AuthenticationPrincipal Long memCode, @PathVariable Long pasCode) {
+    public ResponseEntity<?> selectPassage(@AuthenticationPrincipal Long memCode, @PathVariable Long pasCode, WebRequest webRequest) {
+        // 소유 회원 데이터 버전 + 자동 저장 대기 시각이 같으면 304 (지문 조회 없음)
+        if (notModified(webRequest, memberDataVersionTracker.passageEtag(memCode, pasCode, autosaveBuffer.pendingStamp(memCode, pasCode)))) {
+            return null;
+        }
         try {
             // PassageService에서 지문 정보를 조회
             PassageSelectResponseDto passage = passageService.selectPassage(memCode, pasCode);
@@ -115,6 +207,9 @@ public class PassageController {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("지문을 찾을 수 없습니다.");
             }
 
+            // 아직 DB 에 반영되지 않은 자동 저장 값 반영
+            autosaveBuffer.overlay(memCode, passage);
+
             return ResponseEntity.ok(passage);
 
         } catch (EntityNotFoundException e) {
@@ -164,8 +259,13 @@ public class PassageController {
 
     // 지문 + 문항 조회
     @GetMapping("/ques/select/{pasCode}")
-    public ResponseEntity<PassageWithQuestionsResponseDto> getPassage(@PathVariable Long pasCode) {
+    public ResponseEntity<PassageWithQuestionsResponseDto> getPassage(@AuthenticationPrincipal Long memCode, @PathVariable Long pasCode, WebRequest webRequest) {
+        if (notModified(webRequest, memberDataVersionTracker.passageEtag(memCode, pasCode, autosaveBuffer.pendingStamp(memCode, pasCode)))) {
+            return null;
+        }
         PassageWithQuestionsResponseDto responseDto = passageService.getPassageWithQuestions(pasCode);
+        // 아직 DB 에 반영되지 않은 자동 저장 값 반영 (같은 회원의 수정만)
+        autosaveBuffer.overlay(memCode, responseDto);
         return ResponseEntity.ok(responseDto);
     }
 
@@ -179,7 +279,9 @@ public class PassageController {
     ) {
         try {
             // System.out.println("request passage data: " + updateDto.toString());
-            boolean success = passageService.updatePassagePartial(memCode, pasCode, updateDto);
+            // 자동 저장 버퍼가 켜져 있으면 버퍼에 병합 후 나중에 한 번에 반영
+            boolean success = autosaveBuffer.submitPassage(memCode, pasCode, updateDto)
+                    || passageService.updatePassagePartial(memCode, pasCode, updateDto);
             if (success) {
                 return ResponseEntity.ok(Map.of("message", "수정 완료", "success", true));
             } else {
@@ -192,6 +294,34 @@ public class PassageController {
         }
     }
 
+    /**
+     * 지문 본문 델타 수정 API (자동 저장용)
+     * 전체 본문 대신 baseVersion 기준 삽입/삭제 연산만 전송
+     * @return 200 + 새 contentVersion, 범위 오류 400, 버전 불일치 409 (+ 현재 contentVersion)
+     */
+    @PatchMapping("/{pasCode}/content")
+    public ResponseEntity<?> updatePassageContentDelta(
+            @AuthenticationPrincipal Long memCode,
+            @PathVariable Long pasCode,
+            @RequestBody PassageContentDeltaRequestDto deltaDto
+    ) {
+        try {
+            // 델타는 DB 본문 기준이므로 대기 중인 자동 저장 먼저 반영
+            autosaveBuffer.flushPassage(pasCode);
+            int contentVersion = passageService.updatePassageContentDelta(memCode, pasCode, deltaDto);
+            return ResponseEntity.ok(Map.of("message", "수정 완료", "success", true, "contentVersion", contentVersion));
+        } catch (ContentVersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage(), "success", false, "contentVersion", e.getCurrentVersion()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage(), "success", false));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "지문을 찾을 수 없습니다.", "success", false));
+        } catch (Exception e) {
+            log.error("지문 델타 수정 실패 - pasCode: {}", pasCode, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("message", "서버 오류가 발생했습니다.", "success", false));
+        }
+    }
+
     // 문항 데이터 수정 Patch 를 사용 (PUT은 리소스 전체를 대체하는 반면, PATCH는 리소스의 일부만 수정)
     @PatchMapping("/{pasCode}/ques/{queCode}")
     public ResponseEntity<?> updateQuestionPartial(
@@ -202,7 +332,8 @@ public class PassageController {
     ) {
         try {
             System.out.println("문항 데이터 수정 요청 들어옴, updateDto: " + updateDto.toString());
-            boolean success = questionService.updateQuestionPartial(memCode, pasCode, queCode, updateDto);
+            boolean success = autosaveBuffer.submitQuestion(memCode, pasCode, queCode, updateDto)
+                    || questionService.updateQuestionPartial(memCode, pasCode, queCode, updateDto);
             if (success) {
                 return ResponseEntity.ok(Map.of("message", "문항 수정 완료", "success", true));
             } else {
@@ -219,16 +350,19 @@ public class PassageController {
 
     // 자료실 메인화면 리스트(즐겨찾기+최근 작업)
     @GetMapping("/select/list")
-    public ResponseEntity<?> selectList(@AuthenticationPrincipal Long memCode) {
+    public ResponseEntity<?> selectList(@AuthenticationPrincipal Long memCode, WebRequest webRequest) {
+        if (notModified(webRequest, memberDataVersionTracker.etag(memCode))) {
+            return null;
+        }
 
         try {
-            List<PassageStorageEachResponseDto> favorites = passageService.selectPassageListInStorage(memCode, 1, 5);
-            List<PassageStorageEachResponseDto> recent = passageService.selectPassageListInStorage(memCode, 0, 8);
-
-            PassageStorageMainResponseDto responseDto = PassageStorageMainResponseDto.builder()
-                    .favorites(favorites)
-                    .recent(recent)
-                    .build();
+            // 회원 데이터 버전 기준 캐시 (지문/문항 변경 시 버전이 올라 자동으로 새로 조회)
+            PassageStorageMainResponseDto responseDto = memberResponseCache.get("main", memCode, "",
+                    new TypeReference<PassageStorageMainResponseDto>() {},
+                    () -> PassageStorageMainResponseDto.builder()
+                            .favorites(passageService.selectPassageListInStorage(memCode, 1, 5))
+                            .recent(passageService.selectPassageListInStorage(memCode, 0, 8))
+                            .build());
 
             return ResponseEntity.ok(responseDto);
         } catch (IllegalArgumentException e) {
@@ -245,8 +379,13 @@ public class PassageController {
 
     // 최근 작업 내역 리스트 (구 버전의 Storage, WorkListMain 에서 사용하는 api)
     @GetMapping("/select/recelist")
-    public ResponseEntity<String> selectRecent(@AuthenticationPrincipal Long memCode) {
-        List<PassageStorageEachResponseDto> recents = passageService.selectRecentList(memCode);
+    public ResponseEntity<String> selectRecent(@AuthenticationPrincipal Long memCode, WebRequest webRequest) {
+        if (notModified(webRequest, memberDataVersionTracker.etag(memCode))) {
+            return null;
+        }
+        List<PassageStorageEachResponseDto> recents = memberResponseCache.get("recent", memCode, "",
+                new TypeReference<List<PassageStorageEachResponseDto>>() {},
+                () -> passageService.selectRecentList(memCode));
 
         // ObjectMapper에 JavaTimeModule 등록
         ObjectMapper mapper = new ObjectMapper();
@@ -267,6 +406,8 @@ public class PassageController {
     /**
      * 통합 Storage 리스트 조회 엔드포인트 (새 버전의 storage 컴포넌트에서 사용하는 api)
      * GET /api/pass/storage/{type}?page=1&size=15&field=기술&search=AI&sort=date&order=desc
+     * 무한 스크롤은 커서 모드 사용: cursor 파라미터를 보내면(첫 페이지는 빈 값) page 대신 응답의 nextCursor 로 이어서 조회
+     * GET /api/pass/storage/{type}?cursor=&size=15&sort=date&order=desc&withCount=false
      */
     @GetMapping("/storage/{type}")
     public ResponseEntity<?> getStorageList(                        // @return 통합 응답 DTO (페이지네이션 포함)
@@ -275,10 +416,17 @@ public class PassageController {
             @RequestParam(defaultValue = "15") int size,            // 페이지 크기
             @RequestParam(required = false) String field,           // 분야 필터 (인문, 사회, 예술, 과학, 기술, 독서론)
             @RequestParam(required = false) String search,          // 검색어 (제목, 키워드 대상)
-            @RequestParam(defaultValue = "date") String sort,       // 정렬 기준 (date, title, favorite)
+            @RequestParam(defaultValue = "date") String sort,       // 정렬 기준 (date, title, favorite, relevance)
             @RequestParam(defaultValue = "desc") String order,      // 정렬 순서 (asc, desc)
-            @AuthenticationPrincipal Long memCode
+            @RequestParam(required = false) String cursor,          // 커서 모드 (이전 응답의 nextCursor, 첫 페이지는 빈 값)
+            @RequestParam(defaultValue = "false") boolean withCount, // 커서 모드에서 전체 개수 조회 여부
+            @RequestParam(defaultValue = "exact") String countMode, // 전체 개수 (exact, estimate: 999건 초과 시 "999+")
+            @AuthenticationPrincipal Long memCode,
+            WebRequest webRequest
     ) {
+        if (notModified(webRequest, memberDataVersionTracker.etag(memCode))) {
+            return null;
+        }
         try {
             // 타입 유효성 검사
             if (!isValidStorageType(type)) {
@@ -289,18 +437,23 @@ public class PassageController {
             log.info("통합 Storage 조회 요청 - type: {}, page: {}, field: {}, search: {}",
                     type, page, field, search);
 
-            // 통합 서비스 메서드 호출
-            PassageListWithPaginationResponseDto response = storageService
-                    .getStorageListWithPagination(
-                            memCode,
-                            type,
-                            page,
-                            size,
-                            field,
-                            search,
-                            sort,
-                            order
-                    );
+            // 통합 서비스 메서드 호출 (cursor 파라미터가 있으면 키셋 페이지네이션, 회원 데이터 버전 기준 캐시)
+            PassageListWithPaginationResponseDto response = memberResponseCache.get("storage", memCode,
+                    MemberResponseCache.key(type, page, size, field, search, sort, order, cursor, withCount, countMode),
+                    new TypeReference<PassageListWithPaginationResponseDto>() {},
+                    () -> cursor != null
+                            ? storageService.getStorageListWithCursor(memCode, type, size, field, search, sort, order, cursor, withCount, countMode)
+                            : storageService.getStorageListWithPagination(
+                                    memCode,
+                                    type,
+                                    page,
+                                    size,
+                                    field,
+                                    search,
+                                    sort,
+                                    order,
+                                    countMode
+                            ));
 
             log.info("통합 Storage 조회 완료 - type: {}, 아이템 수: {}", type, response.getItems().size());
             return ResponseEntity.ok(response);
@@ -315,6 +468,22 @@ public class PassageController {
         }
     }
 
+    /**
+     * 조건부 조회 (If-None-Match)
+     * ETag 가 같으면 304 로 끝내고 true 반환 (호출 측은 null 반환),
+     * 다르면 ETag 와 Cache-Control: private, no-cache 를 설정하고 false 반환 (브라우저가 저장 후 매번 재검증)
+     * Cache-Control 을 직접 설정하지 않으면 Spring Security 기본값(no-store)으로 브라우저가 응답을 저장하지 않는다.
+     */
+    private boolean notModified(WebRequest webRequest, String etag) {
+        if (webRequest.checkNotModified(etag)) {
+            return true;
+        }
+        if (webRequest instanceof ServletWebRequest servletWebRequest && servletWebRequest.getResponse() != null) {
+            servletWebRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        }
+        return false;
+    }
+
     /**
      * Storage 타입 유효성 검사
      */
@@ -356,6 +525,8 @@ public class PassageController {
         }
 
         try {
+            // 대기 중인 자동 저장이 바뀐 제목을 덮어쓰지 않도록 먼저 반영
+            autosaveBuffer.flushPassage(requestDto.getPasCode());
             boolean result = passageService.updatePassageTitle(requestDto);
             if (result) {
                 return ResponseEntity.ok("지문 제목이 수정되었습니다.");
@@ -370,14 +541,21 @@ public class PassageController {
         }
     }
 
-    // 파일 추출 (type: pdf/word/txt)
+    /**
+     * 파일 추출 (type: pdf/word/txt) - 문서 전체를 byte[] 로 들고 있지 않고 응답으로 바로 전송
+     * 추출 파일 캐시 사용 시: 같은 내용이면 디스크에 저장된 파일을 그대로 전송(Content-Length 포함)하고,
+     * 내용 해시 키를 ETag 로 보내 If-None-Match 가 같으면 304 로 응답한다.
+     */
     @GetMapping("/export/each/{pasCode}")
-    public ResponseEntity<byte[]> generateFile(@PathVariable("pasCode") Long pasCode, @RequestParam("type") String type) {
+    public ResponseEntity<StreamingResponseBody> generateFile(@PathVariable("pasCode") Long pasCode, @RequestParam("type") String type,
+                                                              WebRequest webRequest) {
         try {
             // pasCode 유효성 검사 추가
             if (pasCode == null || pasCode <= 0) {
                 throw new IllegalArgumentException("유효하지 않은 pasCode입니다 : " + pasCode);
             }
+            // 대기 중인 자동 저장 먼저 반영
+            autosaveBuffer.flushPassage(pasCode);
             PassageWithQuestionsResponseDto responseDto = passageService.getPassageWithQuestions(pasCode);
 
             // 응답 데이터 유효성 검증
@@ -386,11 +564,39 @@ public class PassageController {
             }
 
             String fileName = responseDto.getTitle().trim();
-            byte[] result = generateFile(responseDto, type);
-
+            // 헤더(지원하지 않는 type 검증 포함)는 본문 전송 전에 확정
             HttpHeaders headers = createHeaders(fileName, type);
 
-            return new ResponseEntity<>(result, headers, HttpStatus.OK);
+            if (!exportArtifactCache.isEnabled()) {
+                StreamingResponseBody body = out -> writeFile(responseDto, type, out);
+                return new ResponseEntity<>(body, headers, HttpStatus.OK);
+            }
+
+            String format = type.toLowerCase();
+            String key = exportArtifactCache.key(pasCode, format, rendererVersion(format), responseDto);
+            if (notModified(webRequest, "\"" + key + "\"")) {
+                return null;
+            }
+
+            // 캐시 적중: 요청 스레드에서 파일을 열어 두고 전송만 (렌더링 없음)
+            FileChannel cached = exportArtifactCache.openCached(key, format);
+            if (cached != null) {
+                headers.setContentLength(cached.size());
+                StreamingResponseBody body = out -> {
+                    try (cached) {
+                        ExportArtifactCache.transfer(cached, out);
+                    }
+                };
+                return new ResponseEntity<>(body, headers, HttpStatus.OK);
+            }
+
+            // 캐시 미스: 디스크에 생성/등록한 뒤 전송 (같은 내용 동시 요청은 한 번만 생성)
+            StreamingResponseBody body = out -> {
+                try (FileChannel channel = exportArtifactCache.openOrRender(key, format, sink -> writeFile(responseDto, type, sink))) {
+                    ExportArtifactCache.transfer(channel, out);
+                }
+            };
+            return new ResponseEntity<>(body, headers, HttpStatus.OK);
         } catch (EntityNotFoundException e) {
             // 에러 로그 기록
             System.err.println("지문을 찾을 수 없음 : " + e.getMessage());
@@ -398,24 +604,96 @@ public class PassageController {
         } catch (Exception e) {
             // 에러 로그 기록
             System.err.println("파일 생성 오류 : " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
-    // 파일 생성
-    private byte[] generateFile(PassageWithQuestionsResponseDto dto, String type) {
-        return switch (type.toLowerCase()) {
-            case "pdf" -> pdfService.createPdfFromDto(dto);
-            case "word" -> wordService.createWordFromDto(dto);
-            case "txt" -> txtService.createTxtFromDto(dto);
+    /**
+     * 여러 지문 묶음 추출 (type: pdf/word/zip, zip 항목 형식은 fileType: pdf/word/txt)
+     * 요청 순서대로 지문 + 문항을 배치하고 문항 번호는 이어서 매긴다. 본인 지문이 아닌 것이 하나라도 있으면 404.
+     * POST 요청이라 ETag/304 는 쓰지 않고, 같은 묶음은 추출 파일 캐시에서 그대로 전송한다.
+     */
+    @PostMapping("/export/booklet")
+    public ResponseEntity<StreamingResponseBody> generateBooklet(@AuthenticationPrincipal Long memCode,
+                                                                 @RequestBody PassageBookletExportRequestDto requestDto) {
+        try {
+            List<Long> pasCodeList = requestDto.getPasCodeList();
+            if (pasCodeList == null || pasCodeList.isEmpty() || pasCodeList.size() > passageBookletExporter.getMaxPassages()) {
+                return ResponseEntity.badRequest().build();
+            }
+            String type = requestDto.getType() == null ? "" : requestDto.getType().toLowerCase();
+            String fileType = requestDto.getFileType() == null ? "pdf" : requestDto.getFileType().toLowerCase();
+            String fileName = (requestDto.getTitle() == null || requestDto.getTitle().isBlank()) ? "시험지" : requestDto.getTitle().trim();
+
+            // 헤더(지원하지 않는 type 검증 포함)는 조회/본문 전송 전에 확정
+            HttpHeaders headers;
+            String entryVersion;
+            switch (type) {
+                case "pdf", "word" -> {
+                    headers = createHeaders(fileName, type);
+                    entryVersion = rendererVersion(type);
+                }
+                case "zip" -> {
+                    headers = attachmentHeaders(fileName, "zip", "application/zip");
+                    entryVersion = rendererVersion(fileType);
+                }
+                default -> {
+                    return ResponseEntity.badRequest().build();
+                }
+            }
+
+            // 대기 중인 자동 저장 먼저 반영 후 본인 지문만 요청 순서대로 조회
+            pasCodeList.forEach(autosaveBuffer::flushPassage);
+            List<PassageWithQuestionsResponseDto> passages = passageService.getPassagesWithQuestions(memCode, pasCodeList);
+
+            if (!exportArtifactCache.isEnabled()) {
+                StreamingResponseBody body = out -> passageBookletExporter.write(passages, type, fileType, out);
+                return new ResponseEntity<>(body, headers, HttpStatus.OK);
+            }
+
+            // 지문 코드 대신 묶음 내용 전체로 키 생성 (같은 지문 목록이라도 내용/형식이 바뀌면 새 파일)
+            String version = PassageBookletExporter.RENDERER_VERSION + "/" + fileType + "/" + entryVersion;
+            String key = exportArtifactCache.key(null, "booklet-" + type, version, passages);
+            StreamingResponseBody body = out -> {
+                try (FileChannel channel = exportArtifactCache.openOrRender(key, type,
+                        sink -> passageBookletExporter.write(passages, type, fileType, sink))) {
+                    ExportArtifactCache.transfer(channel, out);
+                }
+            };
+            return new ResponseEntity<>(body, headers, HttpStatus.OK);
+        } catch (EntityNotFoundException e) {
+            log.warn("묶음 추출 지문을 찾을 수 없음 - memCode: {}, error: {}", memCode, e.getMessage());
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            log.warn("묶음 추출 요청 오류 - memCode: {}, error: {}", memCode, e.getMessage(), e);
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("묶음 파일 생성 오류 - memCode: {}", memCode, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // 파일 생성 (out 에 바로 기록)
+    private void writeFile(PassageWithQuestionsResponseDto dto, String type, OutputStream out) {
+        switch (type.toLowerCase()) {
+            case "pdf" -> pdfService.writePdf(dto, out);
+            case "word" -> wordService.writeWord(dto, out);
+            case "txt" -> txtService.writeTxt(dto, out);
             default -> throw new IllegalArgumentException("Unsupported file type: " + type);
+        }
+    }
+
+    private static String rendererVersion(String format) {
+        return switch (format) {
+            case "pdf" -> PdfService.RENDERER_VERSION;
+            case "word" -> WordService.RENDERER_VERSION;
+            case "txt" -> TxtService.RENDERER_VERSION;
+            default -> throw new IllegalArgumentException("Unsupported file type: " + format);
         };
     }
 
     // 파일 추출을 위한 httpheader 생성
     private HttpHeaders createHeaders(String fileName, String type) throws UnsupportedEncodingException {
-        HttpHeaders headers = new HttpHeaders();
-
         String extension;
         String contentType;
 
@@ -435,6 +713,13 @@ public class PassageController {
             default -> throw new IllegalArgumentException("Unsupported file type: " + type);
         }
 
+        return attachmentHeaders(fileName, extension, contentType);
+    }
+
+    // 첨부 파일 다운로드 헤더 (파일 이름 + 확장자, Content-Type)
+    private HttpHeaders attachmentHeaders(String fileName, String extension, String contentType) throws UnsupportedEncodingException {
+        HttpHeaders headers = new HttpHeaders();
+
         // 파일 이름을 UTF-8로 URL 인코딩
         String encodedFileName = URLEncoder.encode(fileName + "." + extension, "UTF-8").replace("+", "%20"); // 공백을 `%20`으로 변환
 
@@ -0,0 +1,21 @@
+package com.cj.genieq.passage.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 지문 본문 텍스트 델타 연산 1개
+ * pos 위치에서 del 글자를 지우고 ins 를 삽입한다 (위치/길이는 UTF-16 code unit 기준, JS String 인덱스와 동일)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentDeltaOpDto {
+
+    private Integer pos;    // 시작 위치 (이전 연산이 적용된 결과 기준)
+    private Integer del;    // 삭제할 길이 (null 이면 0)
+    private String ins;     // 삽입할 문자열 (null 이면 삽입 없음)
+}
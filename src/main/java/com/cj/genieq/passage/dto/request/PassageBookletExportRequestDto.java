@@ -0,0 +1,19 @@
+package com.cj.genieq.passage.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PassageBookletExportRequestDto {
+    List<Long> pasCodeList; // 묶을 지문 (이 순서대로 배치, 문항 번호도 이어서)
+    String type;            // pdf / word / zip
+    String fileType;        // zip 항목 형식 (pdf / word / txt, 없으면 pdf)
+    String title;           // 파일 이름 (없으면 "시험지")
+}
@@ -0,0 +1,22 @@
+package com.cj.genieq.passage.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 지문 본문 델타 수정 요청
+ * 클라이언트가 마지막으로 받은 contentVersion(baseVersion) 기준으로 ops 를 순서대로 적용한다
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PassageContentDeltaRequestDto {
+
+    private Integer baseVersion;            // 클라이언트가 가진 본문 버전
+    private List<ContentDeltaOpDto> ops;    // 순서대로 적용할 델타 연산
+}
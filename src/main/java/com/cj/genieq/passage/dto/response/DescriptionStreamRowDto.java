@@ -0,0 +1,23 @@
+package com.cj.genieq.passage.dto.response;
+
+import com.cj.genieq.passage.dto.DescriptionDto;
+
+/**
+ * 지문 목록 스트리밍(NDJSON)용 Description DTO (Record 기반)
+ */
+public record DescriptionStreamRowDto(
+        Long pasCode,      // 어떤 지문의 description인지
+        String pasType,    // 분야
+        String keyword,    // 제재 키워드
+        String gist,       // 핵심 논점
+        Integer order      // 순서
+) {
+    public DescriptionDto toDto() {
+        return DescriptionDto.builder()
+                .pasType(pasType)
+                .keyword(keyword)
+                .gist(gist)
+                .order(order)
+                .build();
+    }
+}
@@ -15,9 +15,12 @@ import java.util.List;
 @AllArgsConstructor
 public class PassageListWithPaginationResponseDto {
     private List<PassageStorageEachResponseDto> items;  // 페이지 데이터
-    private int totalCount;        // 전체 아이템 수
-    private int totalPages;        // 전체 페이지 수
-    private int currentPage;       // 현재 페이지 (1부터 시작)
+    private Integer totalCount;    // 전체 아이템 수 (커서 모드에서 withCount=false 이면 null)
+    private Integer totalPages;    // 전체 페이지 수 (커서 모드에서 withCount=false 이면 null)
+    private Boolean totalCountExact; // totalCount/totalPages 가 정확한 값인지 (countMode=estimate 에서 상한 초과 시 false)
+    private String totalCountLabel;  // 표시용 개수 ("123", 상한 초과 시 "999+")
+    private int currentPage;       // 현재 페이지 (1부터 시작, 커서 모드는 0)
     private int pageSize;          // 페이지 크기
     private boolean hasMore;       // 다음 페이지 존재 여부
+    private String nextCursor;     // 다음 페이지 커서 (커서 모드에서 다음 페이지가 있을 때만)
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.cj.genieq.passage.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 지문 미리보기 페이지 응답 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PassagePreviewPageResponseDto {
+    private List<PassagePreviewSnippetDto> items;  // 페이지 데이터
+    private long totalCount;       // 전체 아이템 수
+    private int totalPages;        // 전체 페이지 수
+    private int currentPage;       // 현재 페이지 (1부터 시작)
+    private int pageSize;          // 페이지 크기
+    private boolean hasMore;       // 다음 페이지 존재 여부
+}
@@ -0,0 +1,26 @@
+package com.cj.genieq.passage.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 지문 미리보기 페이지 항목 (본문 대신 평문 발췌, gist 제외)
+ * 전체 본문은 미리보기를 열 때 /select/{pasCode} 로 조회
+ */
+@AllArgsConstructor
+@Builder
+@Data
+@NoArgsConstructor
+public class PassagePreviewSnippetDto {
+    private Long pasCode;
+    private String title;
+    private String snippet;        // 본문 앞부분 평문 발췌 (passage_content.pct_snippet)
+    private Integer isFavorite;
+    private LocalDateTime date;
+    private List<PassageStorageEachResponseDto.SimpleDescriptionInfo> descriptions; // 분야/키워드만
+}
@@ -0,0 +1,12 @@
+package com.cj.genieq.passage.dto.response;
+
+/**
+ * 검색 색인용 지문 DTO (Record 기반)
+ * 자료실 최상위 지문의 제목과 대표(order = 1) 키워드
+ */
+public record PassageSearchDocumentDto(
+        Long pasCode,      // 지문 코드
+        Long memCode,      // 소유 회원
+        String title,      // 지문 제목
+        String keyword     // 제재 키워드 (없으면 null)
+) {}
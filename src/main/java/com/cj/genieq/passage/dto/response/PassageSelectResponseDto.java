@@ -16,5 +16,6 @@ public class PassageSelectResponseDto {
     private Long pasCode;
     private String title;
     private String content;
+    private Integer contentVersion;  // 본문 버전 (델타 수정 시 baseVersion 으로 사용)
     private List<DescriptionDto> descriptions;
 }
@@ -0,0 +1,16 @@
+package com.cj.genieq.passage.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * 지문 목록 스트리밍(NDJSON)용 지문 DTO (Record 기반)
+ * 엔티티 대신 필요한 컬럼만 읽어 영속성 컨텍스트에 쌓이지 않게 함
+ */
+public record PassageStreamRowDto(
+        Long pasCode,              // 지문 코드
+        String title,              // 지문 제목
+        String content,            // 지문 본문
+        Integer contentVersion,    // 본문 버전
+        Integer isFavorite,        // 즐겨찾기
+        LocalDateTime date         // 작업 날짜 (다음 묶음 조회 기준)
+) {}
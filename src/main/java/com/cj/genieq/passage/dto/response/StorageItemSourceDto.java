@@ -0,0 +1,19 @@
+package com.cj.genieq.passage.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * 자료실 읽기 모델 재계산용 지문 DTO (Record 기반)
+ * 엔티티 대신 DB 값을 직접 읽음 (벌크 UPDATE 후 영속성 컨텍스트의 값이 오래됐을 수 있음)
+ */
+public record StorageItemSourceDto(
+        Long pasCode,              // 지문 코드
+        Long memCode,              // 소유 회원
+        String title,              // 지문 제목
+        Integer isGenerated,       // 생성 여부
+        Integer isUserEntered,     // 사용자 입력 여부
+        LocalDateTime date,        // 작업 날짜
+        Integer isFavorite,        // 즐겨찾기
+        Integer isDeleted,         // 삭제 여부
+        Long refPasCode            // 부모 지문 (최상위면 null)
+) {}
@@ -1,12 +1,13 @@
 package com.cj.genieq.passage.entity;
 
+import com.cj.genieq.common.converter.CompressedTextConverter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
@@ -14,13 +15,14 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @Builder
+@DynamicUpdate // Description 병합 시 변경된 컬럼만 UPDATE (바뀌지 않은 LONGTEXT gist 는 다시 쓰지 않음)
 @Entity
-@DynamicInsert
-@Table(name = "description")
+@Table(name = "description") // @DynamicInsert 는 null 컬럼 조합마다 SQL 이 달라져 배치가 끊기므로 사용하지 않음
 public class DescriptionEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // MariaDB는 IDENTITY
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "description_seq_generator") // IDENTITY 는 JDBC 배치 INSERT 불가 → pooled 시퀀스
+    @SequenceGenerator(name = "description_seq_generator", sequenceName = "description_seq", allocationSize = 50)
     @Column(name = "des_code") // 소문자
     private Long desCode;
 
@@ -31,6 +33,7 @@ public class DescriptionEntity {
     private String keyword;     // 키워드 (사용자가 직접 입력한 키워드)
 
     @Lob
+    @Convert(converter = CompressedTextConverter.class) // genieq.compression.enabled 시 압축 저장
     @Column(name = "pas_gist", columnDefinition = "LONGTEXT")
     private String gist;        // generated_core_point
 
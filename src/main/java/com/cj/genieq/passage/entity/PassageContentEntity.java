@@ -0,0 +1,45 @@
+package com.cj.genieq.passage.entity;
+
+import com.cj.genieq.common.converter.CompressedTextConverter;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 지문 본문 (내용 주소 기반 저장)
+ * 본문의 SHA-256 해시를 키로 한 번만 저장하고, 같은 본문을 쓰는 지문(부모/자식 지문)은 해시로 참조한다.
+ * 엔티티로는 수정하지 않는다. 본문 수정 시 다른 지문과 공유 중인 행은 그대로 두고 새 행을 참조하며(copy-on-write),
+ * 한 지문만 참조하는 행은 PassageContentStore.replace 가 새 본문/해시로 고쳐 쓴다.
+ */
+@AllArgsConstructor
+@Data
+@NoArgsConstructor
+@Builder
+@Entity
+@Immutable
+@Table(name = "passage_content")
+public class PassageContentEntity {
+
+    @Id
+    @Column(name = "pct_hash", columnDefinition = "CHAR(64)")
+    private String hash;        // SHA-256(UTF-8 본문) 16진수 소문자
+
+    @ToString.Exclude
+    @Lob
+    @Convert(converter = CompressedTextConverter.class) // genieq.compression.enabled 시 압축 저장 (해시는 평문 기준)
+    @Column(name = "pct_content", columnDefinition = "LONGTEXT")
+    private String content;
+
+    // 미리보기용 평문 발췌 (태그 제거, 공백 정리 후 앞부분, 저장 시 계산 - PassageContentStore.snippet)
+    @Column(name = "pct_snippet", length = 200)
+    private String snippet;
+
+    @Column(name = "pct_last_used")
+    private LocalDateTime lastUsed; // 마지막으로 저장/참조된 시각 (고아 정리 유예 기준)
+}
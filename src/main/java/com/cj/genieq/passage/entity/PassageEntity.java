@@ -7,8 +7,11 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.DynamicInsert;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -18,22 +21,55 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 @Entity
-@DynamicInsert
-@Table(name = "passage")
+// 연관관계는 모두 LAZY, 필요한 조회에서만 엔티티 그래프로 함께 로딩
+@NamedEntityGraph(name = "PassageEntity.withContent", attributeNodes = @NamedAttributeNode("passageContent"))
+@NamedEntityGraph(name = "PassageEntity.withContentAndQuestions", attributeNodes = {
+        @NamedAttributeNode("passageContent"),
+        @NamedAttributeNode("questions")
+})
+@DynamicUpdate // 자동 저장 시 변경된 컬럼만 UPDATE (본문이 그대로면 LONGTEXT 를 다시 쓰지 않음)
+// 자료실 목록 키셋 페이지네이션 (회원별 날짜순 + pasCode) 용 인덱스
+@Table(name = "passage", indexes = @Index(name = "idx_passage_member_date", columnList = "mem_code, pas_date, pas_code"))
 public class PassageEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // MariaDB는 IDENTITY
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "passage_seq_generator") // IDENTITY 는 JDBC 배치 INSERT 불가 → pooled 시퀀스
+    @SequenceGenerator(name = "passage_seq_generator", sequenceName = "passage_seq", allocationSize = 50)
     @Column(name = "pas_code") // 소문자
     private Long pasCode;
 
     @Column(name = "pas_title", columnDefinition = "LONGTEXT")
     private String title;
 
-    @Lob
-    @Column(name = "pas_content", columnDefinition = "LONGTEXT")
+    // 본문은 passage_content 에 해시 기준으로 한 번만 저장 (부모/자식 지문이 같은 행을 참조)
+    // 기존 pas_content 컬럼은 PassageContentMaintenance 가 기동 시 이전 후 비움
+    @Column(name = "pct_hash", columnDefinition = "CHAR(64)")
+    private String contentHash;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pct_hash", insertable = false, updatable = false)
+    private PassageContentEntity passageContent;
+
+    // 본문 값 (DB 컬럼 아님: 저장 시 서비스가 채우고, 조회 시 passageContent 에서 지연 로딩)
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String content;
 
+    @Column(name = "pas_content_version", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer contentVersion = 0;  // 본문 버전 (본문이 바뀔 때마다 +1, 델타 수정의 기준)
+
+    // 문항 수 (문항 저장/병합/추가 시 UPDATE ... + n 으로 원자적 갱신, 엔티티에서는 수정하지 않음)
+    @Column(name = "pas_question_count", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer questionCount = 0;
+
     @Column(name = "pas_date")
     private LocalDateTime date;
 
@@ -53,15 +89,25 @@ public class PassageEntity {
     private Long refPasCode;  // 부모 지문 참조 (NULL 가능)
 
     @JsonIgnore
-    @ManyToOne
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mem_code") // FK도 소문자
     private MemberEntity member;
 
     @JsonIgnore
     @OneToMany(mappedBy = "passage", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("queOrder ASC, queCode ASC")
     private List<QuestionEntity> questions;
 
     @JsonIgnore
     @OneToMany(mappedBy = "passage", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<DescriptionEntity> descriptions;
+
+    public String getContent() {
+        if (content == null && passageContent != null) {
+            content = passageContent.getContent();
+        }
+        return content;
+    }
 }
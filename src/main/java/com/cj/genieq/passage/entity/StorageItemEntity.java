@@ -0,0 +1,95 @@
+package com.cj.genieq.passage.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 자료실 목록 읽기 모델 (최상위 지문 1개당 1행)
+ * passage / description / 하위 지문 / question 을 조인하지 않고 이 테이블만 읽어 목록을 그린다.
+ * StorageItemProjector 가 지문·문항 변경 트랜잭션 커밋 직전에 원본 테이블 기준으로 다시 계산해 저장한다.
+ *
+ * 목록 종류(삭제 여부) + 정렬/필터 별 인덱스:
+ * - 날짜순, 즐겨찾기 목록/즐겨찾기순, 분야 필터, 제목순
+ */
+@AllArgsConstructor
+@Data
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "storage_item", indexes = {
+        @Index(name = "idx_storage_item_date", columnList = "mem_code, sti_is_deleted, sti_date, pas_code"),
+        @Index(name = "idx_storage_item_favorite", columnList = "mem_code, sti_is_deleted, sti_is_favorite, sti_date, pas_code"),
+        @Index(name = "idx_storage_item_field", columnList = "mem_code, sti_is_deleted, sti_pas_type, sti_date, pas_code"),
+        @Index(name = "idx_storage_item_title", columnList = "mem_code, sti_is_deleted, sti_title_sort, pas_code")
+})
+public class StorageItemEntity {
+
+    // 제목순 정렬/커서 키 길이 (인덱스 가능한 앞부분만 사용)
+    public static final int TITLE_SORT_LENGTH = 100;
+
+    @Id
+    @Column(name = "pas_code")
+    private Long pasCode;           // 최상위 지문 코드 (passage.pas_code)
+
+    @Column(name = "mem_code", nullable = false)
+    private Long memCode;
+
+    @Column(name = "sti_title", columnDefinition = "LONGTEXT")
+    private String title;
+
+    @Column(name = "sti_title_sort", length = TITLE_SORT_LENGTH)
+    private String titleSort;       // 제목 앞 100자 (제목순 정렬용)
+
+    @Column(name = "sti_is_generated")
+    private Integer isGenerated;
+
+    @Column(name = "sti_is_user_entered")
+    private Integer isUserEntered;
+
+    @Column(name = "sti_date")
+    private LocalDateTime date;
+
+    @Column(name = "sti_is_favorite")
+    private Integer isFavorite;
+
+    @Column(name = "sti_is_deleted")
+    private Integer isDeleted;
+
+    @Column(name = "sti_pas_type", length = 50)
+    private String pasType;         // 대표(order = 1) 분야
+
+    @Column(name = "sti_keyword")
+    private String keyword;         // 대표(order = 1) 제재 키워드
+
+    @Column(name = "sti_child_count")
+    private Integer childCount;     // 삭제되지 않은 하위 지문(지문+문항) 수
+
+    @Column(name = "sti_question_count")
+    private Integer questionCount;  // 하위 지문 문항 수 합계
+
+    @ToString.Exclude
+    @Column(name = "sti_descriptions", columnDefinition = "LONGTEXT")
+    private String descriptionsJson; // 전체 description 요약 (JSON 배열, SimpleDescriptionInfo)
+
+    @ToString.Exclude
+    @Column(name = "sti_children", columnDefinition = "LONGTEXT")
+    private String childrenJson;     // 하위 지문 요약 (JSON 배열, ChildPassageInfo)
+
+    public static String titleSortKey(String title) {
+        if (title == null) {
+            return "";
+        }
+        if (title.length() <= TITLE_SORT_LENGTH) {
+            return title;
+        }
+        // 서로게이트 쌍(이모지 등)이 잘리지 않도록
+        int end = Character.isHighSurrogate(title.charAt(TITLE_SORT_LENGTH - 1)) ? TITLE_SORT_LENGTH - 1 : TITLE_SORT_LENGTH;
+        return title.substring(0, end);
+    }
+}
@@ -0,0 +1,36 @@
+package com.cj.genieq.passage.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 회원별 지문 제목 중복 카운터
+ * 제목 원문(LONGTEXT) 대신 SHA-256 해시로 인덱싱하고, 마지막으로 발급한 "(n)" 접미사 번호를 보관
+ * (mem_code, tit_hash) 유니크 인덱스로 행 잠금 기반 원자적 증가가 가능하다
+ */
+@AllArgsConstructor
+@Data
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "title_counter",
+        uniqueConstraints = @UniqueConstraint(name = "uk_title_counter_member_hash", columnNames = {"mem_code", "tit_hash"}))
+public class TitleCounterEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "tit_code")
+    private Long titCode;
+
+    @Column(name = "mem_code", nullable = false)
+    private Long memCode;
+
+    @Column(name = "tit_hash", nullable = false, length = 64, columnDefinition = "CHAR(64)")
+    private String hash;            // 원본 제목의 SHA-256 (hex)
+
+    @Column(name = "tit_last_suffix", nullable = false)
+    private int lastSuffix;         // 마지막으로 발급한 접미사 번호 (0이면 원본 제목 그대로)
+}
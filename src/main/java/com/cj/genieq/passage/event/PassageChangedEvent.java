@@ -0,0 +1,17 @@
+package com.cj.genieq.passage.event;
+
+import java.util.List;
+
+/**
+ * 지문 변경 이벤트 (저장, 제목/본문/분류 수정, 즐겨찾기, 삭제, 문항 추가/삭제)
+ * 검색 색인, 목록 개수 캐시, 자료실 읽기 모델 등 지문 목록에서 파생된 데이터와 회원 데이터 버전을 갱신하는 리스너가 구독한다.
+ * memCode 는 호출 측에서 알 수 없으면 null (리스너가 pasCode 로 조회)
+ */
+public record PassageChangedEvent(
+        Long memCode,
+        List<Long> pasCodes
+) {
+    public static PassageChangedEvent of(Long memCode, Long pasCode) {
+        return new PassageChangedEvent(memCode, List.of(pasCode));
+    }
+}
@@ -0,0 +1,11 @@
+package com.cj.genieq.passage.event;
+
+/**
+ * 지문 본문/문항 내용만 바뀐 이벤트 (델타 본문 수정, 문항 부분 수정)
+ * 목록 파생 데이터(검색 색인, 읽기 모델 등)에는 영향이 없어 PassageChangedEvent 와 구분한다.
+ * 회원 데이터 버전(응답 캐시/ETag 기준)만 이 이벤트로도 올라간다.
+ */
+public record PassageContentChangedEvent(
+        Long memCode,
+        Long pasCode
+) {}
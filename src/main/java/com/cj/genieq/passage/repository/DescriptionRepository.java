@@ -2,6 +2,9 @@ package com.cj.genieq.passage.repository;
 
 import com.cj.genieq.passage.entity.DescriptionEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +14,13 @@ public interface DescriptionRepository extends JpaRepository<DescriptionEntity,
     
     // pasCode로 Description 리스트를 순서대로 조회
     List<DescriptionEntity> findByPassage_PasCodeOrderByOrderAsc(Long pasCode);
+
+    // 여러 지문의 Description 배치 조회 (지문별 그룹핑은 서비스에서)
+    List<DescriptionEntity> findByPassage_PasCodeInOrderByOrderAsc(List<Long> pasCodeList);
+
+    // Description 병합 시 빠진 행 일괄 삭제 (DELETE 1회, 대기 중인 변경은 먼저 flush)
+    // 영속성 컨텍스트를 거치지 않으므로 호출 측에서 삭제된 엔티티를 분리해야 함
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM DescriptionEntity d WHERE d.passage.pasCode = :pasCode AND d.desCode IN :desCodeList")
+    int deleteByPasCodeAndDesCodeList(@Param("pasCode") Long pasCode, @Param("desCodeList") List<Long> desCodeList);
 }
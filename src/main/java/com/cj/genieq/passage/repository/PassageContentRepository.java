@@ -0,0 +1,42 @@
+package com.cj.genieq.passage.repository;
+
+import com.cj.genieq.passage.entity.PassageContentEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PassageContentRepository extends JpaRepository<PassageContentEntity, String> {
+
+    // 이미 저장된 본문이면 사용 시각만 갱신 (본문을 다시 전송하지 않음)
+    @Modifying
+    @Query(value = "UPDATE passage_content SET pct_last_used = NOW() WHERE pct_hash = :hash", nativeQuery = true)
+    int touch(@Param("hash") String hash);
+
+    // 처음 보는 본문 저장 (동시에 같은 본문이 들어와도 중복 키 오류 없이 1행만 남음)
+    @Modifying
+    @Query(value = """
+        INSERT INTO passage_content (pct_hash, pct_content, pct_snippet, pct_last_used)
+        VALUES (:hash, :content, :snippet, NOW())
+        ON DUPLICATE KEY UPDATE pct_last_used = NOW()
+        """, nativeQuery = true)
+    int insertOrTouch(@Param("hash") String hash, @Param("content") String content, @Param("snippet") String snippet);
+
+    // 본문 고쳐 쓰기 전 지문의 참조 해제 (FK 때문에 참조 중인 행의 키는 바꿀 수 없음, 같은 트랜잭션에서 새 해시로 다시 연결)
+    @Modifying
+    @Query(value = "UPDATE passage SET pct_hash = NULL WHERE pas_code = :pasCode AND pct_hash = :hash", nativeQuery = true)
+    int release(@Param("pasCode") Long pasCode, @Param("hash") String hash);
+
+    // 아무도 참조하지 않는 본문 행을 새 본문/해시로 고쳐 쓰기 (다른 지문이 참조 중이면 0 → 새 행 저장)
+    @Modifying
+    @Query(value = """
+        UPDATE passage_content
+        SET pct_hash = :newHash, pct_content = :content, pct_snippet = :snippet, pct_last_used = NOW()
+        WHERE pct_hash = :oldHash
+        AND NOT EXISTS (SELECT 1 FROM passage p WHERE p.pct_hash = :oldHash)
+        """, nativeQuery = true)
+    int rewrite(@Param("oldHash") String oldHash, @Param("newHash") String newHash,
+                @Param("content") String content, @Param("snippet") String snippet);
+}
@@ -2,20 +2,29 @@ package com.cj.genieq.passage.repository;
 
 import com.cj.genieq.member.entity.MemberEntity;
 import com.cj.genieq.passage.dto.response.ChildPassageDto;
+import com.cj.genieq.passage.dto.response.DescriptionStreamRowDto;
 import com.cj.genieq.passage.dto.response.PassagePreviewListDto;
+import com.cj.genieq.passage.dto.response.PassagePreviewSnippetDto;
+import com.cj.genieq.passage.dto.response.PassageSearchDocumentDto;
 import com.cj.genieq.passage.dto.response.PassageStorageEachResponseDto;
+import com.cj.genieq.passage.dto.response.PassageStreamRowDto;
 import com.cj.genieq.passage.dto.response.SimpleDescriptionDto;
+import com.cj.genieq.passage.dto.response.StorageItemSourceDto;
 import com.cj.genieq.passage.entity.DescriptionEntity;
 import com.cj.genieq.passage.entity.PassageEntity;
 import com.itextpdf.commons.utils.JsonUtil;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,9 +33,20 @@ public interface PassageRepository extends JpaRepository<PassageEntity, Long> {
 
     // 권한 및 Entity 확인용 메서드
     Optional<PassageEntity> findByPasCodeAndMember_MemCode(Long pasCode, Long memCode);
+    // 권한 확인 + 본문 조회용 (본문을 같은 쿼리로 로딩)
+    @EntityGraph("PassageEntity.withContent")
+    Optional<PassageEntity> findWithContentByPasCodeAndMember_MemCode(Long pasCode, Long memCode);
+    // 지문 + 본문 + 문항 조회용 (조회/파일 추출)
+    @EntityGraph("PassageEntity.withContentAndQuestions")
+    Optional<PassageEntity> findWithContentAndQuestionsByPasCode(Long pasCode);
     // 권한 확인용 메서드
     boolean existsByPasCodeAndMember_MemCode(Long pasCode, Long memCode);
 
+    // 본문 델타 수정용 (버전 확인 ~ 반영 사이에 다른 수정이 끼어들지 않도록 행 잠금)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM PassageEntity p WHERE p.pasCode = :pasCode AND p.member.memCode = :memCode")
+    Optional<PassageEntity> findByPasCodeAndMemCodeForUpdate(@Param("pasCode") Long pasCode, @Param("memCode") Long memCode);
+
     @Query(value = """
         SELECT * FROM passage p
         WHERE p.mem_code = :memCode
@@ -42,50 +62,75 @@ public interface PassageRepository extends JpaRepository<PassageEntity, Long> {
             @Param("count") int count
     );
 
-    @Query("SELECT CASE WHEN COUNT(p) > 0 THEN TRUE ELSE FALSE END FROM PassageEntity p WHERE p.title = :title")
-    boolean existsByTitle(@Param("title") String title);
+    // 제목 카운터 최초 생성 시 시드 계산용 (회원의 기존 "제목", "제목(n)" 목록, 카운터당 1회만 실행)
+    @Query("SELECT p.title FROM PassageEntity p " +
+            "WHERE p.member.memCode = :memCode " +
+            "AND (p.title = :title OR LOCATE(:prefix, p.title) = 1)")
+    List<String> findTitlesForSuffixSeed(@Param("memCode") Long memCode,
+                                         @Param("title") String title,
+                                         @Param("prefix") String prefix);
 
-    @Query("SELECT p FROM PassageEntity p WHERE p.member.memCode = :memCode AND p.isGenerated = 1 AND p.isDeleted = 0 ORDER BY p.date DESC")
-    List<PassageEntity> findGeneratedPassagesByMember(@Param("memCode") Long memCode);
+    // 목록/권한 조회는 엔티티 대신 필요한 컬럼만 DTO 로 조회 (본문·회원 로딩 없음)
+    @Query("""
+        SELECT new com.cj.genieq.passage.dto.response.PassageStorageEachResponseDto(
+            p.pasCode, p.title, p.isGenerated, p.isUserEntered, p.date, p.isFavorite
+        )
+        FROM PassageEntity p
+        WHERE p.member.memCode = :memCode AND p.isGenerated = 1 AND p.isDeleted = 0
+        ORDER BY p.date DESC
+        """)
+    List<PassageStorageEachResponseDto> findGeneratedPassagesByMember(@Param("memCode") Long memCode);
 
-    @Query(value = """
-        SELECT p.* FROM passage p
-        WHERE p.mem_code = :memCode
-        AND (:isFavorite = 0 OR p.pas_is_favorite = :isFavorite)
-        AND p.pas_is_deleted = 0
-        ORDER BY p.pas_date DESC
-        LIMIT :rn
-        """, nativeQuery = true)
-    List<PassageEntity> selectPassageListInStorage(
+    // 개수 제한은 Pageable (PageRequest.of(0, rn)) 로 전달
+    @Query("""
+        SELECT new com.cj.genieq.passage.dto.response.PassageStorageEachResponseDto(
+            p.pasCode, p.title, p.isGenerated, p.isUserEntered, p.date, p.isFavorite
+        )
+        FROM PassageEntity p
+        WHERE p.member.memCode = :memCode
+        AND (:isFavorite = 0 OR p.isFavorite = :isFavorite)
+        AND p.isDeleted = 0
+        ORDER BY p.date DESC
+        """)
+    List<PassageStorageEachResponseDto> selectPassageListInStorage(
             @Param("memCode") Long memCode,
             @Param("isFavorite") Integer isFavorite,
-            @Param("rn") Integer rn
+            Pageable pageable
     );
 
-    @Query(value = """
-        SELECT p.* FROM passage p
-        WHERE p.mem_code = :memCode
-        AND p.pas_is_favorite = 1
-        AND p.pas_is_deleted = 0
-        ORDER BY p.pas_date DESC
-        LIMIT 150
-        """, nativeQuery = true)
-    List<PassageEntity> selectTop150FavoritePassages(@Param("memCode") Long memCode);
+    @Query("""
+        SELECT new com.cj.genieq.passage.dto.response.PassageStorageEachResponseDto(
+            p.pasCode, p.title, p.isGenerated, p.isUserEntered, p.date, p.isFavorite
+        )
+        FROM PassageEntity p
+        WHERE p.member.memCode = :memCode
+        AND p.isFavorite = 1
+        AND p.isDeleted = 0
+        ORDER BY p.date DESC
+        """)
+    List<PassageStorageEachResponseDto> selectTop150FavoritePassages(@Param("memCode") Long memCode, Pageable pageable);
 
     // (구 버전의 Storage, WorkListMain 에서 사용하는 api)
-    @Query(value = """
-        SELECT p.* FROM passage p
-        WHERE p.mem_code = :memCode
-        AND p.pas_is_deleted = 0
-        ORDER BY p.pas_date DESC
-        LIMIT 150
-        """, nativeQuery = true)
-    List<PassageEntity> selectTop150RecentPassages(@Param("memCode") Long memCode);
+    @Query("""
+        SELECT new com.cj.genieq.passage.dto.response.PassageStorageEachResponseDto(
+            p.pasCode, p.title, p.isGenerated, p.isUserEntered, p.date, p.isFavorite
+        )
+        FROM PassageEntity p
+        WHERE p.member.memCode = :memCode
+        AND p.isDeleted = 0
+        ORDER BY p.date DESC
+        """)
+    List<PassageStorageEachResponseDto> selectTop150RecentPassages(@Param("memCode") Long memCode, Pageable pageable);
 
     @Modifying
     @Query("UPDATE PassageEntity p SET p.isDeleted = 1 WHERE p.pasCode IN :pasCodeList")
     int updateIsDeletedByPasCodeList(@Param("pasCodeList") List<Long> pasCodeList);
 
+    // 문항 수 증감 (동시 수정에도 누락 없도록 DB 에서 더함)
+    @Modifying
+    @Query("UPDATE PassageEntity p SET p.questionCount = p.questionCount + :delta WHERE p.pasCode = :pasCode")
+    int addQuestionCount(@Param("pasCode") Long pasCode, @Param("delta") int delta);
+
     @Modifying
     @Query("UPDATE PassageEntity p SET p.title = :title WHERE p.pasCode = :pasCode")
     int updateTitleByPasCode(@Param("pasCode") Long pasCode, @Param("title") String title);
@@ -93,15 +138,18 @@ public interface PassageRepository extends JpaRepository<PassageEntity, Long> {
     @Query("SELECT COUNT(p) FROM PassageEntity p WHERE p.member.memCode = :memCode AND p.isDeleted = :isDeleted")
     int countByMemberAndIsDeleted(@Param("memCode") Long memCode, @Param("isDeleted") Integer isDeleted);
 
-    @Query("SELECT p FROM PassageEntity p " +
+    @Query("SELECT new com.cj.genieq.passage.dto.response.PassageStorageEachResponseDto(" +
+            "p.pasCode, p.title, p.isGenerated, p.isUserEntered, p.date, p.isFavorite) " +
+            "FROM PassageEntity p " +
             " WHERE p.member.memCode = :memCode " +
             "   AND p.isDeleted = 1")
-    List<PassageEntity> findDeletedByMember(@Param("memCode") Long memCode);
+    List<PassageStorageEachResponseDto> findDeletedByMember(@Param("memCode") Long memCode);
 
     // 1. 기본 정보만 조회 (기존 쿼리 수정)
     @Query("SELECT new com.cj.genieq.passage.dto.response.PassagePreviewListDto(" +
-            "p.pasCode, p.title, p.content,p.isFavorite,null) " +
+            "p.pasCode, p.title, pc.content,p.isFavorite,null) " +
             "FROM PassageEntity p " +
+            "LEFT JOIN p.passageContent pc " +
             "WHERE p.member.memCode = :memCode " +
             "AND (p.isGenerated = 1 OR p.isUserEntered = 1) " +
             "AND p.isDeleted = 0 " +
@@ -110,51 +158,167 @@ public interface PassageRepository extends JpaRepository<PassageEntity, Long> {
     List<PassagePreviewListDto> findPassagePreviewsByMember(@Param("memCode") Long memCode,
                                                             @Param("isFavorite") Integer isFavorite);
 
+    // 지문 미리보기 페이지 (본문 대신 평문 발췌만 조회, description 은 findSimpleDescriptionsByPassageCodes 로 따로)
+    @Query(value = """
+    SELECT new com.cj.genieq.passage.dto.response.PassagePreviewSnippetDto(
+        p.pasCode, p.title, pc.snippet, p.isFavorite, p.date, null
+    )
+    FROM PassageEntity p
+    LEFT JOIN p.passageContent pc
+    WHERE p.member.memCode = :memCode
+    AND (p.isGenerated = 1 OR p.isUserEntered = 1)
+    AND p.isDeleted = 0
+    AND (:isFavorite IS NULL OR p.isFavorite = :isFavorite)
+    ORDER BY p.date DESC, p.pasCode DESC
+    """,
+    countQuery = """
+    SELECT COUNT(p)
+    FROM PassageEntity p
+    WHERE p.member.memCode = :memCode
+    AND (p.isGenerated = 1 OR p.isUserEntered = 1)
+    AND p.isDeleted = 0
+    AND (:isFavorite IS NULL OR p.isFavorite = :isFavorite)
+    """)
+    Page<PassagePreviewSnippetDto> findPreviewSnippetsByMember(@Param("memCode") Long memCode,
+                                                               @Param("isFavorite") Integer isFavorite,
+                                                               Pageable pageable);
+
     // 2. Description 조회용 메소드
     @Query("SELECT d FROM DescriptionEntity d " +
             "WHERE d.passage.pasCode IN :pasCodes " +
             "ORDER BY d.passage.pasCode, d.order")
     List<DescriptionEntity> findDescriptionsByPassageCodes(@Param("pasCodes") List<Long> pasCodes);
 
+    /**
+     * 지문 미리보기 스트리밍 - (date, pasCode) 기준 다음 묶음 조회 (첫 묶음은 afterPasCode = null)
+     * pas_date 가 없는 기존 행은 DESC 정렬에서 맨 뒤(MariaDB NULL 정렬)에 pasCode 순으로 오고, 커서 날짜가 null 이면 그 구간만 이어서 읽는다
+     */
+    @Query("""
+    SELECT new com.cj.genieq.passage.dto.response.PassageStreamRowDto(
+        p.pasCode, p.title, pc.content, p.contentVersion, p.isFavorite, p.date
+    )
+    FROM PassageEntity p
+    LEFT JOIN p.passageContent pc
+    WHERE p.member.memCode = :memCode
+    AND (p.isGenerated = 1 OR p.isUserEntered = 1)
+    AND p.isDeleted = 0
+    AND (:afterPasCode IS NULL
+         OR p.date < :afterDate OR (p.date = :afterDate AND p.pasCode < :afterPasCode)
+         OR (p.date IS NULL AND (:afterDate IS NOT NULL OR p.pasCode < :afterPasCode)))
+    ORDER BY p.date DESC, p.pasCode DESC
+    """)
+    List<PassageStreamRowDto> findPreviewRowsAfter(@Param("memCode") Long memCode,
+                                                   @Param("afterDate") LocalDateTime afterDate,
+                                                   @Param("afterPasCode") Long afterPasCode,
+                                                   Pageable pageable);
 
+    /**
+     * 문항이 있는 지문 스트리밍 - (date, pasCode) 기준 다음 묶음 조회 (첫 묶음은 afterPasCode = null)
+     * pas_date 가 없는 기존 행은 DESC 정렬에서 맨 뒤(MariaDB NULL 정렬)에 pasCode 순으로 오고, 커서 날짜가 null 이면 그 구간만 이어서 읽는다
+     */
+    @Query("""
+    SELECT new com.cj.genieq.passage.dto.response.PassageStreamRowDto(
+        p.pasCode, p.title, pc.content, p.contentVersion, p.isFavorite, p.date
+    )
+    FROM PassageEntity p
+    LEFT JOIN p.passageContent pc
+    WHERE p.member.memCode = :memCode
+    AND p.isDeleted = 0
+    AND p.refPasCode IS NOT NULL
+    AND p.questionCount > 0
+    AND (:afterPasCode IS NULL
+         OR p.date < :afterDate OR (p.date = :afterDate AND p.pasCode < :afterPasCode)
+         OR (p.date IS NULL AND (:afterDate IS NOT NULL OR p.pasCode < :afterPasCode)))
+    ORDER BY p.date DESC, p.pasCode DESC
+    """)
+    List<PassageStreamRowDto> findRowsWithQuestionsAfter(@Param("memCode") Long memCode,
+                                                         @Param("afterDate") LocalDateTime afterDate,
+                                                         @Param("afterPasCode") Long afterPasCode,
+                                                         Pageable pageable);
 
     /**
-     * 통합 Storage 리스트 조회 (DTO 직접 반환) (새 버전의 storage 컴포넌트에서 사용하는 api)
-     * @param listType: "recent", "favorite", "deleted"
-     * @param field: 분야 필터 (인문, 사회, 예술, 과학, 기술, 독서론)
-     * @param search: 검색어 (제목, 키워드 대상)
+     * 지문 목록 스트리밍 - 묶음 단위 Description 조회 (엔티티 로딩 없음)
      */
     @Query("""
-    SELECT new com.cj.genieq.passage.dto.response.PassageStorageEachResponseDto(
+    SELECT new com.cj.genieq.passage.dto.response.DescriptionStreamRowDto(
+        d.passage.pasCode, d.pasType, d.keyword, d.gist, d.order
+    )
+    FROM DescriptionEntity d
+    WHERE d.passage.pasCode IN :pasCodeList
+    ORDER BY d.passage.pasCode, d.order
+    """)
+    List<DescriptionStreamRowDto> findDescriptionRowsByPasCodes(@Param("pasCodeList") List<Long> pasCodeList);
+
+
+
+    /**
+     * 자료실 읽기 모델(storage_item) 재계산용 - 지문 코드를 최상위 지문 코드로 변환 (하위 지문이면 부모)하고 최상위 지문 행 잠금
+     * 같은 부모를 재계산하는 트랜잭션은 순서대로 실행되고, 잠금 읽기는 스냅샷을 만들지 않으므로
+     * 트랜잭션의 첫 조회로 실행하면 이후 조회는 앞선 재계산이 커밋한 내용까지 본다 (pas_code 순으로 잠가 교착 방지)
+     */
+    @Query(value = """
+        SELECT p.pas_code FROM passage p
+        WHERE p.pas_code IN (SELECT COALESCE(c.ref_pas_code, c.pas_code) FROM passage c WHERE c.pas_code IN (:pasCodeList))
+        ORDER BY p.pas_code
+        FOR UPDATE
+        """, nativeQuery = true)
+    List<Long> lockTopLevelPasCodes(@Param("pasCodeList") List<Long> pasCodeList);
+
+    /**
+     * 자료실 읽기 모델(storage_item) 재계산용 지문 정보
+     */
+    @Query("""
+    SELECT new com.cj.genieq.passage.dto.response.StorageItemSourceDto(
         p.pasCode,
-        p.title, 
+        p.member.memCode,
+        p.title,
         p.isGenerated,
         p.isUserEntered,
         p.date,
-        p.isFavorite
+        p.isFavorite,
+        p.isDeleted,
+        p.refPasCode
     )
-    FROM PassageEntity p 
+    FROM PassageEntity p
+    WHERE p.pasCode IN :pasCodeList
+    """)
+    List<StorageItemSourceDto> findStorageItemSources(@Param("pasCodeList") List<Long> pasCodeList);
+
+    /**
+     * 검색 색인 생성용 (회원의 자료실 최상위 지문 전체, 삭제된 지문 포함)
+     */
+    @Query("""
+    SELECT new com.cj.genieq.passage.dto.response.PassageSearchDocumentDto(
+        p.pasCode,
+        p.member.memCode,
+        p.title,
+        d.keyword
+    )
+    FROM PassageEntity p
     LEFT JOIN p.descriptions d ON d.order = 1
-    WHERE p.member.memCode = :memCode 
+    WHERE p.member.memCode = :memCode
     AND p.refPasCode IS NULL
-    AND (
-        (:listType = 'recent' AND p.isDeleted = 0) OR
-        (:listType = 'favorite' AND p.isDeleted = 0 AND p.isFavorite = 1) OR
-        (:listType = 'deleted' AND p.isDeleted = 1)
+    AND (p.isGenerated = 1 OR p.isUserEntered = 1)
+    """)
+    List<PassageSearchDocumentDto> findSearchDocumentsByMember(@Param("memCode") Long memCode);
+
+    /**
+     * 검색 색인 갱신용 (변경된 지문만)
+     */
+    @Query("""
+    SELECT new com.cj.genieq.passage.dto.response.PassageSearchDocumentDto(
+        p.pasCode,
+        p.member.memCode,
+        p.title,
+        d.keyword
     )
+    FROM PassageEntity p
+    LEFT JOIN p.descriptions d ON d.order = 1
+    WHERE p.pasCode IN :pasCodeList
+    AND p.refPasCode IS NULL
     AND (p.isGenerated = 1 OR p.isUserEntered = 1)
-    AND (:field IS NULL OR :field = '' OR d.pasType = :field)
-    AND (:search IS NULL OR :search = '' OR 
-         LOWER(p.title) LIKE LOWER(CONCAT('%', :search, '%')) OR
-         LOWER(d.keyword) LIKE LOWER(CONCAT('%', :search, '%')))
     """)
-    Page<PassageStorageEachResponseDto> findPassagesWithFilters(
-            @Param("memCode") Long memCode,
-            @Param("listType") String listType,
-            @Param("field") String field,
-            @Param("search") String search,
-            Pageable pageable
-    );
+    List<PassageSearchDocumentDto> findSearchDocumentsByPasCodes(@Param("pasCodeList") List<Long> pasCodeList);
 
     /**
      * 특정 지문들의 모든 descriptions 배치 조회
@@ -183,7 +347,7 @@ public interface PassageRepository extends JpaRepository<PassageEntity, Long> {
         p.isFavorite,
         p.date,
         p.refPasCode,
-        SIZE(p.questions)
+        p.questionCount
     )
     FROM PassageEntity p 
     WHERE p.refPasCode IN :parentPasCodeList 
@@ -193,16 +357,32 @@ public interface PassageRepository extends JpaRepository<PassageEntity, Long> {
     List<ChildPassageDto> findChildPassagesByParentCodes(@Param("parentPasCodeList") List<Long> parentPasCodeList);
 
     /**
-     * 문항이 있는 지문 목록 조회 (문항 정보 포함)
-     * refPasCode가 NULL이 아닌 지문들이 문항을 포함하는 지문들
+     * 문항이 있는 지문 목록 조회 (본문 함께 로딩, 문항/description 은 IN 조회로 따로 배치 조회)
+     * 개수 제한/페이지는 Pageable 로 전달 (전체 조회는 Pageable.unpaged())
      */
+    @EntityGraph("PassageEntity.withContent")
     @Query("""
-    SELECT p 
-    FROM PassageEntity p 
-    WHERE p.member.memCode = :memCode 
+    SELECT p
+    FROM PassageEntity p
+    WHERE p.member.memCode = :memCode
     AND p.isDeleted = 0
     AND p.refPasCode IS NOT NULL
-    ORDER BY p.date DESC
+    AND p.questionCount > 0
+    ORDER BY p.date DESC, p.pasCode DESC
+    """)
+    List<PassageEntity> findPassagesWithQuestionsByMember(@Param("memCode") Long memCode, Pageable pageable);
+
+    /**
+     * 여러 지문 + 본문 조회 (본인 지문, 삭제되지 않은 것만, 묶음 추출용)
+     * 순서는 보장하지 않으므로 호출 측에서 요청 순서로 정렬
+     */
+    @EntityGraph("PassageEntity.withContent")
+    @Query("""
+    SELECT p
+    FROM PassageEntity p
+    WHERE p.pasCode IN :pasCodeList
+    AND p.member.memCode = :memCode
+    AND p.isDeleted = 0
     """)
-    List<PassageEntity> findPassagesWithQuestionsByMember(@Param("memCode") Long memCode);
+    List<PassageEntity> findWithContentByPasCodeListAndMember(@Param("pasCodeList") List<Long> pasCodeList, @Param("memCode") Long memCode);
 }
@@ -0,0 +1,176 @@
+package com.cj.genieq.passage.repository;
+
+import com.cj.genieq.passage.entity.StorageItemEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 자료실 목록 읽기 모델 조회
+ * 공통 조건
+ * - isDeleted: 목록 종류 (recent, favorite = 0 / deleted = 1)
+ * - favoriteOnly: 즐겨찾기 목록 여부
+ * - field: 대표 분야 필터 (null 이면 전체)
+ * - searching: 검색 여부 (true 면 검색 색인 결과 pasCodeList 로 제한, false 면 pasCodeList 는 더미)
+ * 정렬/개수는 Pageable 로 전달 (목록은 COUNT 를 실행하지 않음)
+ */
+@Repository
+public interface StorageItemRepository extends JpaRepository<StorageItemEntity, Long> {
+
+    @Query("""
+    SELECT s FROM StorageItemEntity s
+    WHERE s.memCode = :memCode
+    AND s.isDeleted = :isDeleted
+    AND (:favoriteOnly = false OR s.isFavorite = 1)
+    AND (:field IS NULL OR s.pasType = :field)
+    AND (:searching = false OR s.pasCode IN :pasCodeList)
+    """)
+    List<StorageItemEntity> findItems(
+            @Param("memCode") Long memCode,
+            @Param("isDeleted") Integer isDeleted,
+            @Param("favoriteOnly") boolean favoriteOnly,
+            @Param("field") String field,
+            @Param("searching") boolean searching,
+            @Param("pasCodeList") List<Long> pasCodeList,
+            Pageable pageable
+    );
+
+    // 개수 추정용: 최대 (상한 + 1) 건의 pasCode 만 조회
+    @Query("""
+    SELECT s.pasCode FROM StorageItemEntity s
+    WHERE s.memCode = :memCode
+    AND s.isDeleted = :isDeleted
+    AND (:favoriteOnly = false OR s.isFavorite = 1)
+    AND (:field IS NULL OR s.pasType = :field)
+    AND (:searching = false OR s.pasCode IN :pasCodeList)
+    """)
+    List<Long> findItemPasCodes(
+            @Param("memCode") Long memCode,
+            @Param("isDeleted") Integer isDeleted,
+            @Param("favoriteOnly") boolean favoriteOnly,
+            @Param("field") String field,
+            @Param("searching") boolean searching,
+            @Param("pasCodeList") List<Long> pasCodeList,
+            Pageable pageable
+    );
+
+    // 목록 전체 개수 (StorageServiceImpl 에서 PassageCountCache 로 캐시)
+    @Query("""
+    SELECT COUNT(s) FROM StorageItemEntity s
+    WHERE s.memCode = :memCode
+    AND s.isDeleted = :isDeleted
+    AND (:favoriteOnly = false OR s.isFavorite = 1)
+    AND (:field IS NULL OR s.pasType = :field)
+    AND (:searching = false OR s.pasCode IN :pasCodeList)
+    """)
+    long countItems(
+            @Param("memCode") Long memCode,
+            @Param("isDeleted") Integer isDeleted,
+            @Param("favoriteOnly") boolean favoriteOnly,
+            @Param("field") String field,
+            @Param("searching") boolean searching,
+            @Param("pasCodeList") List<Long> pasCodeList
+    );
+
+    /**
+     * 키셋(커서) 조회 - (정렬 키, pasCode) 다음 행부터 조회
+     * 정렬은 Pageable 로 (정렬 키, pasCode) 같은 방향 전달, 개수는 size + 1 (다음 페이지 존재 확인용)
+     */
+    @Query("""
+    SELECT s FROM StorageItemEntity s
+    WHERE s.memCode = :memCode
+    AND s.isDeleted = :isDeleted
+    AND (:favoriteOnly = false OR s.isFavorite = 1)
+    AND (:field IS NULL OR s.pasType = :field)
+    AND (:searching = false OR s.pasCode IN :pasCodeList)
+    AND (:cursorPasCode IS NULL
+         OR (:desc = true AND (s.date < :cursorDate OR (s.date = :cursorDate AND s.pasCode < :cursorPasCode)))
+         OR (:desc = false AND (s.date > :cursorDate OR (s.date = :cursorDate AND s.pasCode > :cursorPasCode))))
+    """)
+    List<StorageItemEntity> findItemsAfterDate(
+            @Param("memCode") Long memCode,
+            @Param("isDeleted") Integer isDeleted,
+            @Param("favoriteOnly") boolean favoriteOnly,
+            @Param("field") String field,
+            @Param("searching") boolean searching,
+            @Param("pasCodeList") List<Long> pasCodeList,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorPasCode") Long cursorPasCode,
+            @Param("desc") boolean desc,
+            Pageable pageable
+    );
+
+    // 제목순 (제목 앞 100자 기준)
+    @Query("""
+    SELECT s FROM StorageItemEntity s
+    WHERE s.memCode = :memCode
+    AND s.isDeleted = :isDeleted
+    AND (:favoriteOnly = false OR s.isFavorite = 1)
+    AND (:field IS NULL OR s.pasType = :field)
+    AND (:searching = false OR s.pasCode IN :pasCodeList)
+    AND (:cursorPasCode IS NULL
+         OR (:desc = true AND (s.titleSort < :cursorTitle OR (s.titleSort = :cursorTitle AND s.pasCode < :cursorPasCode)))
+         OR (:desc = false AND (s.titleSort > :cursorTitle OR (s.titleSort = :cursorTitle AND s.pasCode > :cursorPasCode))))
+    """)
+    List<StorageItemEntity> findItemsAfterTitle(
+            @Param("memCode") Long memCode,
+            @Param("isDeleted") Integer isDeleted,
+            @Param("favoriteOnly") boolean favoriteOnly,
+            @Param("field") String field,
+            @Param("searching") boolean searching,
+            @Param("pasCodeList") List<Long> pasCodeList,
+            @Param("cursorTitle") String cursorTitle,
+            @Param("cursorPasCode") Long cursorPasCode,
+            @Param("desc") boolean desc,
+            Pageable pageable
+    );
+
+    // 즐겨찾기순
+    @Query("""
+    SELECT s FROM StorageItemEntity s
+    WHERE s.memCode = :memCode
+    AND s.isDeleted = :isDeleted
+    AND (:favoriteOnly = false OR s.isFavorite = 1)
+    AND (:field IS NULL OR s.pasType = :field)
+    AND (:searching = false OR s.pasCode IN :pasCodeList)
+    AND (:cursorPasCode IS NULL
+         OR (:desc = true AND (s.isFavorite < :cursorFavorite OR (s.isFavorite = :cursorFavorite AND s.pasCode < :cursorPasCode)))
+         OR (:desc = false AND (s.isFavorite > :cursorFavorite OR (s.isFavorite = :cursorFavorite AND s.pasCode > :cursorPasCode))))
+    """)
+    List<StorageItemEntity> findItemsAfterFavorite(
+            @Param("memCode") Long memCode,
+            @Param("isDeleted") Integer isDeleted,
+            @Param("favoriteOnly") boolean favoriteOnly,
+            @Param("field") String field,
+            @Param("searching") boolean searching,
+            @Param("pasCodeList") List<Long> pasCodeList,
+            @Param("cursorFavorite") Integer cursorFavorite,
+            @Param("cursorPasCode") Long cursorPasCode,
+            @Param("desc") boolean desc,
+            Pageable pageable
+    );
+
+    // 읽기 모델이 없는 최상위 지문 (기동 시 보충용, 개수 제한은 Pageable)
+    @Query("""
+    SELECT p.pasCode FROM PassageEntity p
+    WHERE p.refPasCode IS NULL
+    AND (p.isGenerated = 1 OR p.isUserEntered = 1)
+    AND NOT EXISTS (SELECT 1 FROM StorageItemEntity s WHERE s.pasCode = p.pasCode)
+    ORDER BY p.pasCode
+    """)
+    List<Long> findMissingPasCodes(Pageable pageable);
+
+    // 전체 재계산용 (pasCode 순 키셋)
+    @Query("""
+    SELECT p.pasCode FROM PassageEntity p
+    WHERE p.refPasCode IS NULL
+    AND p.pasCode > :afterPasCode
+    ORDER BY p.pasCode
+    """)
+    List<Long> findTopLevelPasCodesAfter(@Param("afterPasCode") Long afterPasCode, Pageable pageable);
+}
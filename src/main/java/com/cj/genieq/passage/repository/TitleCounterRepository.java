@@ -0,0 +1,47 @@
+package com.cj.genieq.passage.repository;
+
+import com.cj.genieq.passage.entity.TitleCounterEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TitleCounterRepository extends JpaRepository<TitleCounterEntity, Long> {
+
+    // 기존 카운터 증가 (행 잠금은 트랜잭션 종료까지 유지되므로 동시 저장은 순차적으로 번호를 받음)
+    @Modifying
+    @Query(value = """
+        UPDATE title_counter
+        SET tit_last_suffix = tit_last_suffix + 1
+        WHERE mem_code = :memCode AND tit_hash = :hash
+        """, nativeQuery = true)
+    int incrementSuffix(@Param("memCode") Long memCode, @Param("hash") String hash);
+
+    // 카운터 최초 생성 (동시에 생성된 경우 유니크 키 충돌 → 증가로 처리)
+    @Modifying
+    @Query(value = """
+        INSERT INTO title_counter (mem_code, tit_hash, tit_last_suffix)
+        VALUES (:memCode, :hash, :seed)
+        ON DUPLICATE KEY UPDATE tit_last_suffix = tit_last_suffix + 1
+        """, nativeQuery = true)
+    int insertOrIncrement(@Param("memCode") Long memCode, @Param("hash") String hash, @Param("seed") int seed);
+
+    // 직접 입력한 "제목(n)" 저장 시 카운터를 n 이상으로 (카운터가 없으면 첫 발급 때 시드 계산에서 반영되므로 건너뜀)
+    @Modifying
+    @Query(value = """
+        UPDATE title_counter
+        SET tit_last_suffix = GREATEST(tit_last_suffix, :suffix)
+        WHERE mem_code = :memCode AND tit_hash = :hash
+        """, nativeQuery = true)
+    int raiseSuffix(@Param("memCode") Long memCode, @Param("hash") String hash, @Param("suffix") int suffix);
+
+    @Query(value = """
+        SELECT tit_last_suffix FROM title_counter
+        WHERE mem_code = :memCode AND tit_hash = :hash
+        """, nativeQuery = true)
+    Optional<Integer> findLastSuffix(@Param("memCode") Long memCode, @Param("hash") String hash);
+}
@@ -0,0 +1,382 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.passage.dto.request.PassagePartialUpdateRequestDto;
+import com.cj.genieq.passage.dto.response.PassageSelectResponseDto;
+import com.cj.genieq.passage.dto.response.PassageWithQuestionsResponseDto;
+import com.cj.genieq.passage.repository.PassageRepository;
+import com.cj.genieq.question.dto.request.QuestionPartialUpdateRequestDto;
+import com.cj.genieq.question.dto.response.QuestionSelectResponseDto;
+import com.cj.genieq.question.repository.QuestionRepository;
+import com.cj.genieq.question.service.QuestionService;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 자동 저장 쓰기 병합 버퍼 (genieq.autosave.enabled=true 일 때만 동작)
+ *
+ * 에디터 자동 저장으로 들어오는 지문/문항 PATCH 를 pasCode/queCode 별로 메모리에 모아 두고
+ * (null 이 아닌 필드만 덮어써서 병합) 아래 조건 중 하나를 만족하면 한 번에 DB 에 반영한다.
+ * - 마지막 수정 후 quiet-period-ms 동안 추가 수정이 없을 때
+ * - 첫 수정 후 max-delay-ms 가 지났을 때
+ * - 대기 중인 항목 수가 max-pending 이상일 때 (전체 반영)
+ *
+ * 반영 전 조회(GET)는 같은 회원의 대기 값을 덮어써서 돌려주고(read-your-writes),
+ * 델타 수정/파일 추출처럼 DB 본문이 기준이 되는 요청은 먼저 해당 지문을 반영한다.
+ * 서버 종료 시 남은 항목은 모두 반영한다.
+ *
+ * 반영에 실패한 항목은 버리지 않고(클라이언트는 이미 저장 성공 응답을 받음) 점점 긴 간격으로 다시 시도하며,
+ * max-attempts 번 연속 실패하면 오류 로그를 남기고 버린다.
+ */
+@Slf4j
+@Component
+public class AutosaveBuffer {
+
+    private final PassageService passageService;
+    private final QuestionService questionService;
+    private final PassageRepository passageRepository;
+    private final QuestionRepository questionRepository;
+
+    private final boolean enabled;
+    private final long quietPeriodMs;
+    private final long maxDelayMs;
+    private final int maxPending;
+    private final int maxAttempts;
+
+    // 재시도 간격 상한 (quiet-period-ms 부터 실패할 때마다 2배)
+    private static final long MAX_RETRY_BACKOFF_MS = 60_000L;
+
+    // 대기 항목은 불변 스냅샷으로 교체 (반영 중 들어온 수정은 새 스냅샷으로 남아 다음 반영 대상이 됨)
+    private final Map<Long, PendingPassage> pendingPassages = new ConcurrentHashMap<>();
+    private final Map<Long, PendingQuestion> pendingQuestions = new ConcurrentHashMap<>();
+
+    // 반영 직렬화용 잠금 (키 해시로 나눈 줄무늬 잠금: 같은 키는 항상 같은 잠금, 다른 지문/문항의 반영은 기다리지 않음)
+    private static final int LOCK_STRIPES = 64;
+    private final Object[] passageLocks = newLocks();
+    private final Object[] questionLocks = newLocks();
+
+    public AutosaveBuffer(PassageService passageService,
+                          QuestionService questionService,
+                          PassageRepository passageRepository,
+                          QuestionRepository questionRepository,
+                          @Value("${genieq.autosave.enabled:false}") boolean enabled,
+                          @Value("${genieq.autosave.quiet-period-ms:3000}") long quietPeriodMs,
+                          @Value("${genieq.autosave.max-delay-ms:15000}") long maxDelayMs,
+                          @Value("${genieq.autosave.max-pending:500}") int maxPending,
+                          @Value("${genieq.autosave.max-attempts:5}") int maxAttempts) {
+        this.passageService = passageService;
+        this.questionService = questionService;
+        this.passageRepository = passageRepository;
+        this.questionRepository = questionRepository;
+        this.enabled = enabled;
+        this.quietPeriodMs = quietPeriodMs;
+        this.maxDelayMs = maxDelayMs;
+        this.maxPending = maxPending;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 지문 부분 수정 버퍼링
+     * @return 버퍼에 담았으면 true, 비활성화 상태면 false (호출 측에서 바로 DB 반영)
+     * @throws EntityNotFoundException 지문이 없거나 권한이 없는 경우 (회원별 첫 수정 시 1회 확인)
+     */
+    public boolean submitPassage(Long memCode, Long pasCode, PassagePartialUpdateRequestDto updateDto) {
+        if (!enabled) {
+            return false;
+        }
+
+        PendingPassage current = pendingPassages.get(pasCode);
+        if (current == null || !current.memCode().equals(memCode)) {
+            if (!passageRepository.existsByPasCodeAndMember_MemCode(pasCode, memCode)) {
+                throw new EntityNotFoundException("지문을 찾을 수 없거나 권한이 없습니다.");
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        pendingPassages.merge(pasCode,
+                new PendingPassage(memCode, copy(updateDto), now, now, 0, 0L),
+                (before, after) -> new PendingPassage(memCode, merge(before.update(), after.update()), before.firstAt(), now,
+                        before.attempts(), before.retryAt()));
+        return true;
+    }
+
+    /**
+     * 문항 부분 수정 버퍼링
+     * @return 버퍼에 담았으면 true, 비활성화 상태면 false (호출 측에서 바로 DB 반영)
+     * @throws EntityNotFoundException 지문/문항이 없거나 권한이 없는 경우 (회원별 첫 수정 시 1회 확인)
+     */
+    public boolean submitQuestion(Long memCode, Long pasCode, Long queCode, QuestionPartialUpdateRequestDto updateDto) {
+        if (!enabled) {
+            return false;
+        }
+
+        PendingQuestion current = pendingQuestions.get(queCode);
+        if (current == null || !current.memCode().equals(memCode) || !current.pasCode().equals(pasCode)) {
+            if (!passageRepository.existsByPasCodeAndMember_MemCode(pasCode, memCode)
+                    || !questionRepository.existsByQueCodeAndPassage_PasCode(queCode, pasCode)) {
+                throw new EntityNotFoundException("문항을 찾을 수 없거나 권한이 없습니다.");
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        pendingQuestions.merge(queCode,
+                new PendingQuestion(memCode, pasCode, copy(updateDto), now, now, 0, 0L),
+                (before, after) -> new PendingQuestion(memCode, pasCode, merge(before.update(), after.update()), before.firstAt(), now,
+                        before.attempts(), before.retryAt()));
+        return true;
+    }
+
+    // 조회 결과에 같은 회원의 대기 중인 지문 수정 반영
+    public void overlay(Long memCode, PassageSelectResponseDto dto) {
+        PendingPassage pending = (dto != null) ? pendingPassages.get(dto.getPasCode()) : null;
+        if (pending == null || !pending.memCode().equals(memCode)) {
+            return;
+        }
+        PassagePartialUpdateRequestDto update = pending.update();
+        if (update.getTitle() != null) {
+            dto.setTitle(update.getTitle());
+        }
+        if (update.getContent() != null && !update.getContent().equals(dto.getContent())) {
+            dto.setContent(update.getContent());
+            dto.setContentVersion(nextVersion(dto.getContentVersion())); // 반영 시 올라갈 버전
+        }
+    }
+
+    // 조회 결과에 같은 회원의 대기 중인 지문/문항 수정 반영
+    public void overlay(Long memCode, PassageWithQuestionsResponseDto dto) {
+        if (dto == null) {
+            return;
+        }
+
+        PendingPassage pending = pendingPassages.get(dto.getPasCode());
+        if (pending != null && pending.memCode().equals(memCode)) {
+            PassagePartialUpdateRequestDto update = pending.update();
+            if (update.getTitle() != null) {
+                dto.setTitle(update.getTitle());
+            }
+            if (update.getContent() != null && !update.getContent().equals(dto.getContent())) {
+                dto.setContent(update.getContent());
+                dto.setContentVersion(nextVersion(dto.getContentVersion()));
+            }
+        }
+
+        if (dto.getQuestions() == null || pendingQuestions.isEmpty()) {
+            return;
+        }
+        for (QuestionSelectResponseDto question : dto.getQuestions()) {
+            PendingQuestion pendingQuestion = pendingQuestions.get(question.getQueCode());
+            if (pendingQuestion == null || !pendingQuestion.memCode().equals(memCode)
+                    || !pendingQuestion.pasCode().equals(dto.getPasCode())) {
+                continue;
+            }
+            QuestionPartialUpdateRequestDto update = pendingQuestion.update();
+            if (update.getQueQuery() != null) question.setQueQuery(update.getQueQuery());
+            if (update.getQueOption() != null) question.setQueOption(update.getQueOption());
+            if (update.getQueAnswer() != null) question.setQueAnswer(update.getQueAnswer());
+            if (update.getQueSubpassage() != null) question.setQueSubpassage(update.getQueSubpassage());
+            if (update.getQueDescription() != null) question.setQueDescription(update.getQueDescription());
+        }
+    }
+
+    // 같은 회원의 대기 중인 지문/문항 수정 시각 (없으면 0, 조회 ETag 에 포함 - overlay 결과가 바뀌면 ETag 도 바뀜)
+    public long pendingStamp(Long memCode, Long pasCode) {
+        if (pendingPassages.isEmpty() && pendingQuestions.isEmpty()) {
+            return 0L;
+        }
+        long stamp = 0L;
+        PendingPassage pending = pendingPassages.get(pasCode);
+        if (pending != null && pending.memCode().equals(memCode)) {
+            stamp = pending.lastAt();
+        }
+        for (PendingQuestion pendingQuestion : pendingQuestions.values()) {
+            if (pendingQuestion.pasCode().equals(pasCode) && pendingQuestion.memCode().equals(memCode)) {
+                stamp = Math.max(stamp, pendingQuestion.lastAt());
+            }
+        }
+        return stamp;
+    }
+
+    // 특정 지문(및 소속 문항)의 대기 수정 즉시 반영 (델타 수정, 파일 추출 전 호출)
+    public void flushPassage(Long pasCode) {
+        if (pendingPassages.isEmpty() && pendingQuestions.isEmpty()) {
+            return;
+        }
+        PendingPassage pending = pendingPassages.get(pasCode);
+        if (pending != null) {
+            flush(pasCode, pending);
+        }
+        pendingQuestions.forEach((queCode, pendingQuestion) -> {
+            if (pendingQuestion.pasCode().equals(pasCode)) {
+                flush(queCode, pendingQuestion);
+            }
+        });
+    }
+
+    // 조용한 구간/최대 지연/최대 대기 수 기준 주기적 반영
+    @Scheduled(fixedDelayString = "${genieq.autosave.sweep-interval-ms:1000}")
+    public void sweep() {
+        if (pendingPassages.isEmpty() && pendingQuestions.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        boolean overflow = pendingPassages.size() + pendingQuestions.size() >= maxPending;
+
+        new ArrayList<>(pendingPassages.entrySet()).forEach(e -> {
+            if (now >= e.getValue().retryAt() && (overflow || isDue(e.getValue().firstAt(), e.getValue().lastAt(), now))) {
+                flush(e.getKey(), e.getValue());
+            }
+        });
+        new ArrayList<>(pendingQuestions.entrySet()).forEach(e -> {
+            if (now >= e.getValue().retryAt() && (overflow || isDue(e.getValue().firstAt(), e.getValue().lastAt(), now))) {
+                flush(e.getKey(), e.getValue());
+            }
+        });
+    }
+
+    // 서버 종료 시 남은 수정 모두 반영
+    @PreDestroy
+    public void flushAll() {
+        new ArrayList<>(pendingPassages.entrySet()).forEach(e -> flush(e.getKey(), e.getValue()));
+        new ArrayList<>(pendingQuestions.entrySet()).forEach(e -> flush(e.getKey(), e.getValue()));
+        log.info("자동 저장 버퍼 종료 시 반영 완료 - 남은 항목: {}", pendingPassages.size() + pendingQuestions.size());
+    }
+
+    private boolean isDue(long firstAt, long lastAt, long now) {
+        return now - lastAt >= quietPeriodMs || now - firstAt >= maxDelayMs;
+    }
+
+    // 같은 키의 반영이 겹쳐 오래된 스냅샷이 나중에 쓰이지 않도록 키별로 직렬화
+    // (진행 중인 반영이 있으면 끝날 때까지 기다리므로 flushPassage 이후에는 DB 에 반영된 상태)
+    private void flush(Long pasCode, PendingPassage pending) {
+        synchronized (lockFor(passageLocks, pasCode)) {
+            if (pendingPassages.get(pasCode) != pending) {
+                return; // 이미 반영됨 (또는 더 최신 스냅샷으로 교체됨 → 그쪽이 반영 대상)
+            }
+            boolean saved;
+            try {
+                saved = passageService.updatePassagePartial(pending.memCode(), pasCode, pending.update());
+            } catch (Exception e) {
+                log.warn("자동 저장 반영 실패 - pasCode: {}, error: {}", pasCode, e.getMessage(), e);
+                saved = false;
+            }
+
+            // 반영 중 새 수정이 들어왔다면 스냅샷이 교체되어 있으므로 제거/재시도 표시 모두 건너뜀 (새 스냅샷에 이전 수정도 병합되어 있음)
+            if (saved) {
+                pendingPassages.remove(pasCode, pending);
+            } else if (pending.attempts() + 1 >= maxAttempts) {
+                if (pendingPassages.remove(pasCode, pending)) {
+                    log.error("자동 저장 반영 {}회 실패로 버림 - pasCode: {}, memCode: {}", maxAttempts, pasCode, pending.memCode());
+                }
+            } else {
+                int attempts = pending.attempts() + 1;
+                long retryAt = System.currentTimeMillis() + backoff(attempts);
+                pendingPassages.replace(pasCode, pending, new PendingPassage(pending.memCode(), pending.update(),
+                        pending.firstAt(), pending.lastAt(), attempts, retryAt));
+                log.warn("자동 저장 반영 실패, 재시도 예정 - pasCode: {}, 시도: {}/{}", pasCode, attempts, maxAttempts);
+            }
+        }
+    }
+
+    private void flush(Long queCode, PendingQuestion pending) {
+        synchronized (lockFor(questionLocks, queCode)) {
+            if (pendingQuestions.get(queCode) != pending) {
+                return;
+            }
+            boolean saved;
+            try {
+                saved = questionService.updateQuestionPartial(pending.memCode(), pending.pasCode(), queCode, pending.update());
+            } catch (Exception e) {
+                log.warn("자동 저장 반영 실패 - queCode: {}, error: {}", queCode, e.getMessage(), e);
+                saved = false;
+            }
+
+            if (saved) {
+                pendingQuestions.remove(queCode, pending);
+            } else if (pending.attempts() + 1 >= maxAttempts) {
+                if (pendingQuestions.remove(queCode, pending)) {
+                    log.error("자동 저장 반영 {}회 실패로 버림 - queCode: {}, memCode: {}", maxAttempts, queCode, pending.memCode());
+                }
+            } else {
+                int attempts = pending.attempts() + 1;
+                long retryAt = System.currentTimeMillis() + backoff(attempts);
+                pendingQuestions.replace(queCode, pending, new PendingQuestion(pending.memCode(), pending.pasCode(), pending.update(),
+                        pending.firstAt(), pending.lastAt(), attempts, retryAt));
+                log.warn("자동 저장 반영 실패, 재시도 예정 - queCode: {}, 시도: {}/{}", queCode, attempts, maxAttempts);
+            }
+        }
+    }
+
+    // 실패 횟수별 재시도 간격 (quiet-period-ms × 2^(n-1), 상한 MAX_RETRY_BACKOFF_MS)
+    private long backoff(int attempts) {
+        return Math.min(Math.max(quietPeriodMs, 1L) << Math.min(attempts - 1, 16), MAX_RETRY_BACKOFF_MS);
+    }
+
+    private static Object[] newLocks() {
+        Object[] locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    private static Object lockFor(Object[] locks, Long key) {
+        return locks[Math.floorMod(Long.hashCode(key) * 0x9E3779B9, locks.length)];
+    }
+
+    private static int nextVersion(Integer version) {
+        return (version != null ? version : 0) + 1;
+    }
+
+    private static PassagePartialUpdateRequestDto copy(PassagePartialUpdateRequestDto dto) {
+        return new PassagePartialUpdateRequestDto(dto.getTitle(), dto.getContent(), dto.getIsFavorite());
+    }
+
+    private static PassagePartialUpdateRequestDto merge(PassagePartialUpdateRequestDto before, PassagePartialUpdateRequestDto after) {
+        return new PassagePartialUpdateRequestDto(
+                after.getTitle() != null ? after.getTitle() : before.getTitle(),
+                after.getContent() != null ? after.getContent() : before.getContent(),
+                after.getIsFavorite() != null ? after.getIsFavorite() : before.getIsFavorite());
+    }
+
+    private static QuestionPartialUpdateRequestDto copy(QuestionPartialUpdateRequestDto dto) {
+        return QuestionPartialUpdateRequestDto.builder()
+                .queQuery(dto.getQueQuery())
+                .queOption(dto.getQueOption())
+                .queAnswer(dto.getQueAnswer())
+                .queSubpassage(dto.getQueSubpassage())
+                .queDescription(dto.getQueDescription())
+                .build();
+    }
+
+    private static QuestionPartialUpdateRequestDto merge(QuestionPartialUpdateRequestDto before, QuestionPartialUpdateRequestDto after) {
+        return QuestionPartialUpdateRequestDto.builder()
+                .queQuery(after.getQueQuery() != null ? after.getQueQuery() : before.getQueQuery())
+                .queOption(after.getQueOption() != null ? after.getQueOption() : before.getQueOption())
+                .queAnswer(after.getQueAnswer() != null ? after.getQueAnswer() : before.getQueAnswer())
+                .queSubpassage(after.getQueSubpassage() != null ? after.getQueSubpassage() : before.getQueSubpassage())
+                .queDescription(after.getQueDescription() != null ? after.getQueDescription() : before.getQueDescription())
+                .build();
+    }
+
+    // attempts: 연속 반영 실패 횟수, retryAt: 다음 재시도 가능 시각 (주기 반영만 따르고, flushPassage/종료 시 반영은 바로 시도)
+    private record PendingPassage(Long memCode, PassagePartialUpdateRequestDto update, long firstAt, long lastAt,
+                                  int attempts, long retryAt) {
+    }
+
+    private record PendingQuestion(Long memCode, Long pasCode, QuestionPartialUpdateRequestDto update, long firstAt, long lastAt,
+                                   int attempts, long retryAt) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.passage.dto.request.ContentDeltaOpDto;
+
+import java.util.List;
+
+/**
+ * 지문 본문 텍스트 델타 적용기
+ * 연산은 순서대로, 직전 연산이 적용된 결과 문자열 기준으로 적용된다
+ */
+final class ContentDeltaApplier {
+
+    private ContentDeltaApplier() {
+    }
+
+    /**
+     * @return 델타가 적용된 본문
+     * @throws IllegalArgumentException 범위를 벗어난 연산이 있는 경우
+     */
+    static String apply(String content, List<ContentDeltaOpDto> ops) {
+        StringBuilder sb = new StringBuilder(content != null ? content : "");
+        if (ops == null) {
+            return sb.toString();
+        }
+
+        for (int i = 0; i < ops.size(); i++) {
+            ContentDeltaOpDto op = ops.get(i);
+            if (op == null || op.getPos() == null) {
+                throw new IllegalArgumentException("델타 연산 " + i + ": pos 가 없습니다.");
+            }
+
+            int pos = op.getPos();
+            int del = op.getDel() != null ? op.getDel() : 0;
+
+            if (pos < 0 || del < 0 || pos > sb.length() || del > sb.length() - pos) {
+                throw new IllegalArgumentException("델타 연산 " + i + ": 범위를 벗어났습니다. (pos: " + pos + ", del: " + del + ", length: " + sb.length() + ")");
+            }
+
+            if (del > 0) {
+                sb.delete(pos, pos + del);
+            }
+            if (op.getIns() != null && !op.getIns().isEmpty()) {
+                sb.insert(pos, op.getIns());
+            }
+        }
+        return sb.toString();
+    }
+}
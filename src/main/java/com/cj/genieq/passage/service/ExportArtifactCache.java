@@ -0,0 +1,290 @@
+package com.cj.genieq.passage.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 파일 추출 결과(PDF/Word/TXT) 로컬 디스크 캐시
+ *
+ * 키: sha256(pasCode + 형식 + 렌더러 버전 + 지문/문항 내용 JSON) → 같은 내용이면 같은 파일, 내용이 바뀌면 새 키
+ * - 키가 내용에서 나오므로 무효화가 필요 없고, 키를 그대로 ETag 로 쓴다
+ * - 총 용량(max-bytes) 기준 LRU 로 오래 안 쓴 파일부터 삭제 (재시작 시 파일 수정 시각 순으로 복원)
+ * - 임시 파일에 다 쓴 뒤 원자적 이동으로 등록하므로 쓰다 만 파일이 캐시로 보이지 않는다
+ * - 같은 키를 동시에 요청하면 한 번만 생성하고 나머지는 결과를 기다린다
+ * - 캐시 디렉터리를 준비하지 못하면 캐시를 끄고 추출 파일을 바로 전송한다
+ * 지표: genieq.export.cache.requests{result=hit|miss}
+ */
+@Slf4j
+@Component
+public class ExportArtifactCache {
+
+    private static final String TEMP_PREFIX = "tmp-";
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Path directory;
+    private final long maxBytes;
+    private volatile boolean enabled;
+
+    // 파일 이름 → 크기 (접근 순서, 맨 앞이 가장 오래 안 쓴 파일)
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Path>> inflight = new ConcurrentHashMap<>();
+
+    public ExportArtifactCache(ObjectMapper objectMapper,
+                               ObjectProvider<MeterRegistry> meterRegistryProvider,
+                               @Value("${genieq.export.cache.enabled:true}") boolean enabled,
+                               @Value("${genieq.export.cache.dir:${java.io.tmpdir}/genieq-export-cache}") String directory,
+                               @Value("${genieq.export.cache.max-bytes:1073741824}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        this.enabled = enabled;
+        this.directory = Paths.get(directory).toAbsolutePath();
+        this.maxBytes = maxBytes;
+    }
+
+    @FunctionalInterface
+    public interface Renderer {
+        void render(OutputStream out) throws IOException;
+    }
+
+    // 기존 파일 복원 (남은 임시 파일 삭제, 수정 시각 순으로 LRU 순서 구성)
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            List<Path> files = new ArrayList<>();
+            try (Stream<Path> stream = Files.list(directory)) {
+                stream.filter(Files::isRegularFile).forEach(files::add);
+            }
+
+            List<Map.Entry<Path, BasicFileAttributes>> cached = new ArrayList<>();
+            for (Path file : files) {
+                if (file.getFileName().toString().startsWith(TEMP_PREFIX)) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                cached.add(Map.entry(file, Files.readAttributes(file, BasicFileAttributes.class)));
+            }
+            cached.sort(Comparator.comparing(entry -> entry.getValue().lastModifiedTime()));
+
+            synchronized (this) {
+                for (Map.Entry<Path, BasicFileAttributes> entry : cached) {
+                    index.put(entry.getKey().getFileName().toString(), entry.getValue().size());
+                    totalBytes += entry.getValue().size();
+                }
+                evict();
+            }
+            log.info("추출 파일 캐시 준비 - 경로: {}, 파일 수: {}, 용량: {} bytes", directory, index.size(), totalBytes);
+        } catch (IOException e) {
+            // 캐시 없이 바로 전송 (켜 둔 채로 두면 모든 추출 요청이 실패함)
+            enabled = false;
+            log.warn("추출 파일 캐시 초기화 실패, 캐시 없이 전송 - 경로: {}, error: {}", directory, e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 캐시 키 (ETag 겸용)
+     * @param content 추출에 쓰이는 내용 전체 (지문 제목/본문, 문항 등)
+     */
+    public String key(Long pasCode, String format, String rendererVersion, Object content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((pasCode + "\u001F" + format + "\u001F" + rendererVersion + "\u001F").getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(content));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | IOException e) {
+            throw new IllegalStateException("추출 캐시 키 생성 실패", e);
+        }
+    }
+
+    /**
+     * 캐시된 파일 열기 (없으면 null)
+     * 요청 스레드에서 미리 열어 두면 전송 전에 LRU 로 삭제되더라도 열린 파일은 끝까지 읽을 수 있다.
+     */
+    public FileChannel openCached(String key, String format) throws IOException {
+        String fileName = fileName(key, format);
+        synchronized (this) {
+            if (index.get(fileName) == null) {
+                return null;
+            }
+        }
+        try {
+            FileChannel channel = FileChannel.open(directory.resolve(fileName), StandardOpenOption.READ);
+            count("hit");
+            return channel;
+        } catch (NoSuchFileException e) {
+            forget(fileName);
+            return null;
+        }
+    }
+
+    /**
+     * 캐시된 파일을 열고, 없으면 renderer 로 생성/등록 후 열기
+     */
+    public FileChannel openOrRender(String key, String format, Renderer renderer) throws IOException {
+        String fileName = fileName(key, format);
+        for (int attempt = 0; ; attempt++) {
+            Path file = getOrRender(fileName, renderer);
+            try {
+                return FileChannel.open(file, StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                // 등록 직후 다른 파일 등록으로 밀려난 경우 한 번 더 생성
+                forget(fileName);
+                if (attempt > 0) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * 파일 전체를 out 으로 전송 (FileChannel.transferTo, 힙에 파일 전체를 올리지 않음)
+     */
+    public static void transfer(FileChannel channel, OutputStream out) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        long position = 0;
+        long size = channel.size();
+        while (position < size) {
+            position += channel.transferTo(position, size - position, target);
+        }
+    }
+
+    private Path getOrRender(String fileName, Renderer renderer) throws IOException {
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> running = inflight.putIfAbsent(fileName, mine);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            Path target = directory.resolve(fileName);
+            boolean cached;
+            synchronized (this) {
+                cached = index.get(fileName) != null;
+            }
+            if (cached && Files.exists(target)) {
+                count("hit");
+                mine.complete(target);
+                return target;
+            }
+
+            count("miss");
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, TEMP_PREFIX, ".part");
+            try {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                    renderer.render(out);
+                }
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            register(fileName, Files.size(target));
+            mine.complete(target);
+            return target;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.remove(fileName, mine);
+        }
+    }
+
+    private static Path await(CompletableFuture<Path> running) throws IOException {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private synchronized void register(String fileName, long size) {
+        Long previous = index.put(fileName, size);
+        totalBytes += size - (previous != null ? previous : 0);
+        evict();
+    }
+
+    private synchronized void forget(String fileName) {
+        Long previous = index.remove(fileName);
+        if (previous != null) {
+            totalBytes -= previous;
+        }
+    }
+
+    // 총 용량을 넘으면 오래 안 쓴 파일부터 삭제 (방금 등록한 파일 하나는 남김)
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> iterator = index.entrySet().iterator();
+        while (totalBytes > maxBytes && index.size() > 1 && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            try {
+                Files.deleteIfExists(directory.resolve(eldest.getKey()));
+            } catch (IOException e) {
+                log.warn("추출 파일 캐시 삭제 실패 - file: {}, error: {}", eldest.getKey(), e.getMessage());
+            }
+            totalBytes -= eldest.getValue();
+            iterator.remove();
+        }
+    }
+
+    private static String fileName(String key, String format) {
+        return key + "." + format.toLowerCase();
+    }
+
+    private void count(String result) {
+        Counter.builder("genieq.export.cache.requests")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
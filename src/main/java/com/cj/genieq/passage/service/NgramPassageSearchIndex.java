@@ -0,0 +1,307 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.passage.dto.response.PassageSearchDocumentDto;
+import com.cj.genieq.passage.event.PassageChangedEvent;
+import com.cj.genieq.passage.repository.PassageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메모리 n-gram 검색 색인 (회원별)
+ *
+ * 제목/키워드를 소문자로 바꾼 뒤 글자 단위 1-gram, 2-gram 역색인을 만든다.
+ * 한글은 형태소 분석 없이도 2-gram 으로 부분 일치 후보를 충분히 좁힐 수 있으므로
+ * 검색어의 2-gram 교집합으로 후보를 찾고(1글자 검색어는 1-gram) 실제 포함 여부를 확인해 오탐을 제거한다.
+ *
+ * - 회원 색인은 첫 검색 시 DB 에서 한 번에 만들고, 최근 사용한 회원 max-members 명까지만 메모리에 유지 (LRU)
+ *   같은 회원의 동시 첫 검색은 한 번만 만들고, 만드는 중에 커밋된 변경이 있으면 다시 만든다 (변경 누락 방지)
+ * - 지문 변경은 커밋 후 해당 지문만 다시 읽어 색인에 반영 (다른 서버 인스턴스의 변경은 반영되지 않으므로 다중 인스턴스 환경에서는
+ *   MariaDB FULLTEXT(ngram) 구현으로 교체)
+ */
+@Slf4j
+@Component
+public class NgramPassageSearchIndex implements PassageSearchIndex {
+
+    private static final int MAX_BUILD_ATTEMPTS = 3;
+
+    private final PassageRepository passageRepository;
+    private final Map<Long, MemberIndex> indexes;
+
+    // 색인 생성 중인 회원 (동시 첫 검색은 같은 결과를 기다림)
+    private final ConcurrentHashMap<Long, CompletableFuture<MemberIndex>> building = new ConcurrentHashMap<>();
+    // 생성 중에 변경이 커밋된 회원 (DB 를 읽은 뒤의 변경일 수 있으므로 다시 생성)
+    private final Set<Long> changedDuringBuild = ConcurrentHashMap.newKeySet();
+
+    public NgramPassageSearchIndex(PassageRepository passageRepository,
+                                   @Value("${genieq.search.max-members:1000}") int maxMembers) {
+        this.passageRepository = passageRepository;
+        this.indexes = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, MemberIndex> eldest) {
+                return size() > maxMembers;
+            }
+        });
+    }
+
+    @Override
+    public List<Hit> search(Long memCode, String query) {
+        String q = normalize(query);
+        if (q == null || q.isEmpty()) {
+            return List.of();
+        }
+
+        MemberIndex index = indexes.get(memCode);
+        if (index == null) {
+            index = build(memCode);
+        }
+        return index.search(q);
+    }
+
+    // 지문 변경 반영 (커밋된 데이터 기준)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPassageChanged(PassageChangedEvent event) {
+        if (event.pasCodes() == null || event.pasCodes().isEmpty()) {
+            return;
+        }
+        // 색인을 만드는 중이면 표시 (색인 등록 전에 표시되면 생성 측이 다시 만들고, 등록 후면 아래에서 바로 반영됨)
+        if (event.memCode() == null) {
+            changedDuringBuild.addAll(building.keySet());
+        } else if (building.containsKey(event.memCode())) {
+            changedDuringBuild.add(event.memCode());
+        }
+        // 아직 색인이 없는 회원이면 첫 검색 때 새로 만들어지므로 건너뜀
+        if (event.memCode() != null && !indexes.containsKey(event.memCode())) {
+            return;
+        }
+
+        try {
+            Map<Long, PassageSearchDocumentDto> documents = new HashMap<>();
+            for (PassageSearchDocumentDto document : passageRepository.findSearchDocumentsByPasCodes(event.pasCodes())) {
+                documents.merge(document.pasCode(), document, NgramPassageSearchIndex::preferKeyword);
+            }
+
+            for (Long pasCode : event.pasCodes()) {
+                PassageSearchDocumentDto document = documents.get(pasCode);
+                if (document != null) {
+                    MemberIndex index = indexes.get(document.memCode());
+                    if (index != null) {
+                        index.put(document);
+                    }
+                } else if (event.memCode() != null) {
+                    // 색인 대상이 아님 (하위 지문 등) → 있으면 제거
+                    MemberIndex index = indexes.get(event.memCode());
+                    if (index != null) {
+                        index.remove(pasCode);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // 색인 갱신 실패 시 해당 회원 색인을 버려서 다음 검색 때 다시 만들게 함
+            log.warn("검색 색인 갱신 실패 - pasCodes: {}, error: {}", event.pasCodes(), e.getMessage());
+            if (event.memCode() != null) {
+                indexes.remove(event.memCode());
+            } else {
+                indexes.clear();
+            }
+        }
+    }
+
+    // 회원 색인 생성 (회원별 1회, 생성 중 변경이 커밋되면 다시 생성)
+    private MemberIndex build(Long memCode) {
+        CompletableFuture<MemberIndex> mine = new CompletableFuture<>();
+        CompletableFuture<MemberIndex> running = building.putIfAbsent(memCode, mine);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+            }
+        }
+
+        MemberIndex index = null;
+        try {
+            for (int attempt = 1; ; attempt++) {
+                changedDuringBuild.remove(memCode);
+                index = load(memCode);
+                indexes.put(memCode, index);
+                if (!changedDuringBuild.remove(memCode)) {
+                    break;
+                }
+                // DB 를 읽은 뒤 커밋된 변경이 빠졌을 수 있음 → 버리고 다시 생성
+                indexes.remove(memCode, index);
+                if (attempt >= MAX_BUILD_ATTEMPTS) {
+                    log.debug("검색 색인 생성 중 변경이 계속되어 캐시하지 않음 - memCode: {}", memCode);
+                    break;
+                }
+            }
+            mine.complete(index);
+            return index;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            building.remove(memCode, mine);
+            // 마지막 확인 ~ 생성 표시 해제 사이에 커밋된 변경 → 다음 검색 때 다시 생성
+            if (changedDuringBuild.remove(memCode) && index != null) {
+                indexes.remove(memCode, index);
+            }
+        }
+    }
+
+    private MemberIndex load(Long memCode) {
+        Map<Long, PassageSearchDocumentDto> documents = new HashMap<>();
+        for (PassageSearchDocumentDto document : passageRepository.findSearchDocumentsByMember(memCode)) {
+            documents.merge(document.pasCode(), document, NgramPassageSearchIndex::preferKeyword);
+        }
+
+        MemberIndex index = new MemberIndex();
+        documents.values().forEach(index::put);
+        log.debug("검색 색인 생성 - memCode: {}, 지문 수: {}", memCode, index.size());
+        return index;
+    }
+
+    // 대표 키워드 행이 여러 개면 키워드가 있는 행 우선
+    private static PassageSearchDocumentDto preferKeyword(PassageSearchDocumentDto a, PassageSearchDocumentDto b) {
+        return a.keyword() != null ? a : b;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? null : text.toLowerCase(Locale.ROOT);
+    }
+
+    // 검색어 후보 조회용 n-gram (2글자 이상은 2-gram, 1글자는 1-gram)
+    private static Set<String> queryGrams(String q) {
+        Set<String> grams = new HashSet<>();
+        if (q.length() == 1) {
+            grams.add(q);
+        } else {
+            for (int i = 0; i + 2 <= q.length(); i++) {
+                grams.add(q.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    // 색인용 n-gram (1-gram + 2-gram)
+    private static Set<String> documentGrams(String text) {
+        Set<String> grams = new HashSet<>();
+        if (text == null) {
+            return grams;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            grams.add(text.substring(i, i + 1));
+            if (i + 2 <= text.length()) {
+                grams.add(text.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * 회원 1명의 색인 (동시 접근은 인스턴스 단위로 동기화)
+     */
+    private static class MemberIndex {
+
+        private final Map<Long, Document> documents = new HashMap<>();
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+
+        synchronized int size() {
+            return documents.size();
+        }
+
+        synchronized void put(PassageSearchDocumentDto dto) {
+            remove(dto.pasCode());
+
+            Document document = new Document(normalize(dto.title()), normalize(dto.keyword()));
+            documents.put(dto.pasCode(), document);
+
+            Set<String> grams = documentGrams(document.title());
+            grams.addAll(documentGrams(document.keyword()));
+            for (String gram : grams) {
+                postings.computeIfAbsent(gram, k -> new HashSet<>()).add(dto.pasCode());
+            }
+        }
+
+        synchronized void remove(Long pasCode) {
+            Document document = documents.remove(pasCode);
+            if (document == null) {
+                return;
+            }
+            Set<String> grams = documentGrams(document.title());
+            grams.addAll(documentGrams(document.keyword()));
+            for (String gram : grams) {
+                Set<Long> codes = postings.get(gram);
+                if (codes != null) {
+                    codes.remove(pasCode);
+                    if (codes.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+        synchronized List<Hit> search(String q) {
+            // 1. 가장 짧은 posting 부터 교집합
+            List<Set<Long>> lists = new ArrayList<>();
+            for (String gram : queryGrams(q)) {
+                Set<Long> codes = postings.get(gram);
+                if (codes == null) {
+                    return List.of();
+                }
+                lists.add(codes);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+
+            Set<Long> candidates = new HashSet<>(lists.get(0));
+            for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+                candidates.retainAll(lists.get(i));
+            }
+
+            // 2. 실제 부분 일치 확인 + 점수
+            List<Hit> hits = new ArrayList<>();
+            for (Long pasCode : candidates) {
+                int score = documents.get(pasCode).score(q);
+                if (score > 0) {
+                    hits.add(new Hit(pasCode, score));
+                }
+            }
+
+            // 점수 높은 순, 같으면 최근 지문(코드 큰 순)
+            hits.sort(Comparator.comparingInt(Hit::score).reversed()
+                    .thenComparing(Hit::pasCode, Comparator.reverseOrder()));
+            return hits;
+        }
+    }
+
+    private record Document(String title, String keyword) {
+
+        // 제목 일치가 키워드 일치보다 항상 높음
+        int score(String q) {
+            int score = 0;
+            if (title != null && title.contains(q)) {
+                score += title.equals(q) ? 100 : title.startsWith(q) ? 70 : 50;
+            }
+            if (keyword != null && keyword.contains(q)) {
+                score += keyword.equals(q) ? 30 : 20;
+            }
+            return score;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.passage.dto.response.PassageWithQuestionsResponseDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 여러 지문 묶음 추출 (시험지 형태, 문항 번호는 지문을 넘어 이어서 매김)
+ *
+ * - pdf : 지문별 PDF 를 전용 스레드 풀에서 동시에 임시 파일로 만든 뒤 PDFMergerUtility 로 요청 순서대로 합침
+ *         (지문마다 폰트 서브셋이 따로 들어가므로 지문 1개짜리 PDF 를 이어 붙인 크기와 비슷함)
+ * - word: XWPFDocument 는 스레드 안전하지 않고 문서끼리 합칠 수 없어 한 문서에 순서대로 작성 (지문마다 새 페이지)
+ * - zip : 지문별 파일(fileType: pdf/word/txt)을 동시에 만든 뒤 요청 순서대로 ZIP 항목으로 기록
+ *
+ * 스레드 풀은 크기와 대기열이 모두 제한되어 있고, 대기열이 차면 요청 스레드가 직접 생성한다(CallerRunsPolicy).
+ * 지문별 결과는 힙이 아닌 요청마다 만든 임시 디렉터리에 두고, 전송이 끝나면 삭제한다.
+ */
+@Slf4j
+@Component
+public class PassageBookletExporter {
+
+    // 출력 모양(합치는 방식, 파일 이름 등)이 바뀌면 올림 (추출 파일 캐시 키에 포함)
+    public static final String RENDERER_VERSION = "1";
+
+    private final PdfService pdfService;
+    private final WordService wordService;
+    private final TxtService txtService;
+    private final ThreadPoolExecutor executor;
+    private final int maxPassages;
+
+    public PassageBookletExporter(PdfService pdfService,
+                                  WordService wordService,
+                                  TxtService txtService,
+                                  @Value("${genieq.export.booklet.threads:0}") int threads,
+                                  @Value("${genieq.export.booklet.queue-capacity:200}") int queueCapacity,
+                                  @Value("${genieq.export.booklet.max-passages:100}") int maxPassages) {
+        this.pdfService = pdfService;
+        this.wordService = wordService;
+        this.txtService = txtService;
+        this.maxPassages = maxPassages;
+
+        // 0 이하면 코어 수 (PDF 생성은 CPU 작업이고 폰트 보관소 크기 기본값도 코어 수)
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "booklet-export-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public int getMaxPassages() {
+        return maxPassages;
+    }
+
+    /**
+     * 묶음 파일을 out 에 기록 (out 은 닫지 않음)
+     * @param type     pdf / word / zip
+     * @param fileType zip 일 때 항목 형식 (pdf / word / txt)
+     */
+    public void write(List<PassageWithQuestionsResponseDto> passages, String type, String fileType, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        switch (type.toLowerCase()) {
+            case "pdf" -> writePdf(passages, out);
+            case "word" -> wordService.writeWord(passages, 1, out);
+            case "zip" -> writeZip(passages, fileType.toLowerCase(), out);
+            default -> throw new IllegalArgumentException("Unsupported file type: " + type);
+        }
+        log.debug("묶음 추출 완료 - type: {}, 지문 수: {}, {} ms", type, passages.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // 지문별 시작 문항 번호 (앞 지문들의 문항 수 누적)
+    static int[] startNumbers(List<PassageWithQuestionsResponseDto> passages) {
+        int[] startNumbers = new int[passages.size()];
+        int next = 1;
+        for (int i = 0; i < passages.size(); i++) {
+            startNumbers[i] = next;
+            List<?> questions = passages.get(i).getQuestions();
+            next += questions != null ? questions.size() : 0;
+        }
+        return startNumbers;
+    }
+
+    // ZIP 항목 이름 (순번_제목.확장자, 파일 이름에 쓸 수 없는 문자는 '_')
+    static String entryName(int index, String title, String extension) {
+        String name = title == null ? "" : title.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").trim();
+        if (name.isEmpty()) {
+            name = "passage";
+        }
+        return String.format("%02d_%s.%s", index + 1, name, extension);
+    }
+
+    private void writePdf(List<PassageWithQuestionsResponseDto> passages, OutputStream out) throws IOException {
+        Path workDirectory = Files.createTempDirectory("genieq-booklet-");
+        try {
+            List<Path> sections = renderSections(workDirectory, passages, "pdf");
+
+            PDFMergerUtility merger = new PDFMergerUtility();
+            for (Path section : sections) {
+                merger.addSource(section.toFile());
+            }
+            // 합치는 동안 생기는 중간 데이터도 힙 대신 임시 파일로, 저장 후 스트림을 닫으므로 호출자 스트림 보호
+            merger.setDestinationStream(CloseShieldOutputStream.wrap(out));
+            merger.mergeDocuments(MemoryUsageSetting.setupTempFileOnly());
+        } finally {
+            deleteDirectory(workDirectory);
+        }
+    }
+
+    private void writeZip(List<PassageWithQuestionsResponseDto> passages, String fileType, OutputStream out) throws IOException {
+        String extension = extension(fileType);
+        Path workDirectory = Files.createTempDirectory("genieq-booklet-");
+        try {
+            List<Path> sections = renderSections(workDirectory, passages, fileType);
+
+            // finish 만 하고 호출자 스트림은 닫지 않음
+            try (ZipOutputStream zip = new ZipOutputStream(CloseShieldOutputStream.wrap(out))) {
+                for (int i = 0; i < sections.size(); i++) {
+                    zip.putNextEntry(new ZipEntry(entryName(i, passages.get(i).getTitle(), extension)));
+                    Files.copy(sections.get(i), zip);
+                    zip.closeEntry();
+                }
+            }
+        } finally {
+            deleteDirectory(workDirectory);
+        }
+    }
+
+    // 지문별 파일을 스레드 풀에서 동시에 생성 (반환 순서 = 요청 순서)
+    private List<Path> renderSections(Path workDirectory, List<PassageWithQuestionsResponseDto> passages, String fileType) throws IOException {
+        int[] startNumbers = startNumbers(passages);
+        String extension = extension(fileType);
+
+        List<Future<Path>> futures = new ArrayList<>(passages.size());
+        try {
+            for (int i = 0; i < passages.size(); i++) {
+                PassageWithQuestionsResponseDto passage = passages.get(i);
+                int startNumber = startNumbers[i];
+                Path section = workDirectory.resolve(i + "." + extension);
+                futures.add(executor.submit(() -> {
+                    try (OutputStream sectionOut = new BufferedOutputStream(Files.newOutputStream(section))) {
+                        renderSection(passage, fileType, startNumber, sectionOut);
+                    }
+                    return section;
+                }));
+            }
+
+            List<Path> sections = new ArrayList<>(futures.size());
+            for (Future<Path> future : futures) {
+                sections.add(future.get());
+            }
+            return sections;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("묶음 추출 중단");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("묶음 추출 실패", e.getCause());
+        } finally {
+            // 하나라도 실패하면 남은 작업은 취소 (이미 끝난 작업에는 영향 없음)
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private void renderSection(PassageWithQuestionsResponseDto passage, String fileType, int startNumber, OutputStream out) {
+        switch (fileType) {
+            case "pdf" -> pdfService.writePdf(passage, startNumber, out);
+            case "word" -> wordService.writeWord(List.of(passage), startNumber, out);
+            case "txt" -> txtService.writeTxt(passage, startNumber, out);
+            default -> throw new IllegalArgumentException("Unsupported file type: " + fileType);
+        }
+    }
+
+    private static String extension(String fileType) {
+        return switch (fileType) {
+            case "pdf" -> "pdf";
+            case "word" -> "docx";
+            case "txt" -> "txt";
+            default -> throw new IllegalArgumentException("Unsupported file type: " + fileType);
+        };
+    }
+
+    private static void deleteDirectory(Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("묶음 추출 임시 파일 삭제 실패 - file: {}, error: {}", file, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            log.warn("묶음 추출 임시 디렉터리 삭제 실패 - dir: {}, error: {}", directory, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.common.converter.CompressedTextConverter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 지문 본문 저장소(passage_content) 유지 작업
+ *
+ * 1. 기동 시 이전: 기존 passage.pas_content 본문을 passage_content 로 옮기고 pct_hash 로 연결한 뒤 원본 컬럼을 비운다.
+ *    웹 서버가 요청을 받기 전(싱글톤 초기화 단계)에 끝나므로 조회 시 본문이 비어 보이는 구간이 없다.
+ *    원본 컬럼은 같은 해시의 passage_content 행이 있는 지문만 비우고, 이전에 실패하면 기동을 중단한다
+ *    (PassageEntity 는 pas_content 를 읽지 않으므로 이전되지 않은 지문은 본문이 없는 것처럼 보이게 됨).
+ *    해시는 MariaDB SHA2(.., 256) 로 계산하며 utf8mb4 컬럼 기준 PassageContentStore.hash 와 같은 값이다.
+ * 2. 기동 시 발췌 보충: pct_snippet 이 비어 있는 본문(컬럼 추가 전 행, SQL 로 이전된 행)의 미리보기 발췌를 채운다.
+ * 3. 고아 정리: 어떤 지문도 참조하지 않는 본문 행을 유예 기간(1일) 이후 주기적으로 삭제한다.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory") // passage_content 테이블/pct_hash 컬럼 생성(ddl-auto) 이후 실행
+@RequiredArgsConstructor
+public class PassageContentMaintenance {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CompressedTextConverter compressedTextConverter;
+
+    @PostConstruct
+    public void initialize() {
+        migrateLegacyContent();
+        backfillSnippets();
+    }
+
+    public void migrateLegacyContent() {
+        try {
+            Integer legacyColumn = jdbcTemplate.queryForObject("""
+                    SELECT COUNT(*) FROM information_schema.COLUMNS
+                    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'passage' AND COLUMN_NAME = 'pas_content'
+                    """, Integer.class);
+            if (legacyColumn == null || legacyColumn == 0) {
+                return; // 신규 설치 (이전할 컬럼 없음)
+            }
+
+            int migrated = 0;
+            while (true) {
+                List<Long> pasCodes = jdbcTemplate.queryForList(
+                        "SELECT pas_code FROM passage WHERE pct_hash IS NULL AND pas_content IS NOT NULL LIMIT " + BATCH_SIZE,
+                        Long.class);
+                if (pasCodes.isEmpty()) {
+                    break;
+                }
+
+                String inClause = String.join(",", pasCodes.stream().map(String::valueOf).toList());
+                // 본문 먼저 저장 (중간에 중단돼도 다시 실행하면 이어서 처리됨)
+                jdbcTemplate.update("INSERT IGNORE INTO passage_content (pct_hash, pct_content, pct_last_used) " +
+                        "SELECT SHA2(pas_content, 256), pas_content, NOW() FROM passage WHERE pas_code IN (" + inClause + ")");
+                // 본문 행이 실제로 있는 지문만 연결하고 원본 컬럼 비움
+                int linked = jdbcTemplate.update("UPDATE passage p " +
+                        "JOIN passage_content c ON c.pct_hash = SHA2(p.pas_content, 256) " +
+                        "SET p.pct_hash = c.pct_hash, p.pas_content = NULL " +
+                        "WHERE p.pas_code IN (" + inClause + ") AND p.pct_hash IS NULL");
+                if (linked < pasCodes.size()) {
+                    // 같은 지문을 계속 다시 읽지 않도록 중단 (남은 지문의 pas_content 는 그대로 보존됨)
+                    throw new IllegalStateException("본문 행이 없어 연결하지 못한 지문 " + (pasCodes.size() - linked) + "건 - pasCodes: " + inClause);
+                }
+                migrated += linked;
+            }
+
+            if (migrated > 0) {
+                log.info("지문 본문 이전 완료 - 지문 수: {}", migrated);
+            }
+        } catch (Exception e) {
+            // 이전되지 않은 지문은 본문이 비어 보이므로 기동 중단 (원본 컬럼은 남아 있어 다음 기동 때 이어서 처리)
+            log.error("지문 본문 이전 실패 - error: {}", e.getMessage(), e);
+            throw new IllegalStateException("지문 본문 이전 실패", e);
+        }
+    }
+
+    // 미리보기 발췌 보충 (본문은 압축 저장됐을 수 있으므로 애플리케이션에서 복원 후 계산)
+    public void backfillSnippets() {
+        try {
+            int filled = 0;
+            while (true) {
+                List<Object[]> rows = jdbcTemplate.query(
+                        "SELECT pct_hash, pct_content FROM passage_content WHERE pct_snippet IS NULL AND pct_content IS NOT NULL LIMIT " + BATCH_SIZE,
+                        (rs, rowNum) -> new Object[]{
+                                PassageContentStore.snippet(compressedTextConverter.convertToEntityAttribute(rs.getString("pct_content"))),
+                                rs.getString("pct_hash")});
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                jdbcTemplate.batchUpdate("UPDATE passage_content SET pct_snippet = ? WHERE pct_hash = ?", rows);
+                filled += rows.size();
+            }
+
+            if (filled > 0) {
+                log.info("지문 본문 발췌 보충 완료 - 본문 수: {}", filled);
+            }
+        } catch (Exception e) {
+            log.warn("지문 본문 발췌 보충 실패 - error: {}", e.getMessage());
+        }
+    }
+
+    // 참조가 없는 본문 정리 (매일 새벽)
+    @Scheduled(cron = "${genieq.passage-content.cleanup-cron:0 30 4 * * *}")
+    public void deleteOrphans() {
+        try {
+            int deleted = 0;
+            int affected;
+            do {
+                // 유예 기간: 저장 직후 아직 커밋 전인 지문이 참조할 본문은 지우지 않음
+                affected = jdbcTemplate.update("""
+                        DELETE FROM passage_content
+                        WHERE pct_last_used < NOW() - INTERVAL 1 DAY
+                        AND NOT EXISTS (SELECT 1 FROM passage p WHERE p.pct_hash = passage_content.pct_hash)
+                        LIMIT 1000
+                        """);
+                deleted += affected;
+            } while (affected > 0);
+
+            log.info("고아 지문 본문 정리 완료 - 삭제 수: {}", deleted);
+        } catch (Exception e) {
+            log.warn("고아 지문 본문 정리 실패 - error: {}", e.getMessage());
+        }
+    }
+}
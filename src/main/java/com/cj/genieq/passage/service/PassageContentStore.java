@@ -0,0 +1,189 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.common.converter.CompressedTextConverter;
+import com.cj.genieq.passage.entity.PassageContentEntity;
+import com.cj.genieq.passage.repository.PassageContentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * 지문 본문 저장소 (passage_content)
+ * 같은 본문은 해시 1행만 저장하고 지문은 해시로 참조한다
+ * 본문 수정 시 이 지문만 쓰는 행은 고쳐 쓰고, 공유 중인 행만 새로 저장한다 (copy-on-write)
+ */
+@Component
+@RequiredArgsConstructor
+public class PassageContentStore {
+
+    public static final int SNIPPET_LENGTH = 150;
+
+    private static final Set<String> BLOCK_TAGS = Set.of(
+            "p", "br", "div", "li", "ul", "ol", "tr", "td", "th", "table", "blockquote",
+            "h1", "h2", "h3", "h4", "h5", "h6");
+
+    private final PassageContentRepository passageContentRepository;
+    private final CompressedTextConverter compressedTextConverter;
+
+    /**
+     * 본문 저장 후 참조 반환
+     * 이미 있는 본문이면 UPDATE 1회(사용 시각 갱신)만 실행하고 본문은 다시 쓰지 않는다
+     * @return 본문 참조 (프록시, 본문이 null 이면 null)
+     */
+    @Transactional
+    public PassageContentEntity store(String content) {
+        if (content == null) {
+            return null;
+        }
+
+        String hash = hash(content);
+        if (passageContentRepository.touch(hash) == 0) {
+            // 네이티브 쿼리는 @Convert 가 적용되지 않으므로 직접 인코딩
+            passageContentRepository.insertOrTouch(hash, compressedTextConverter.convertToDatabaseColumn(content), snippet(content));
+        }
+        return passageContentRepository.getReferenceById(hash);
+    }
+
+    /**
+     * 지문 본문 교체 후 새 참조 반환
+     * - 새 본문이 이미 있으면 그 행을 참조
+     * - 기존 행을 이 지문만 참조하면 같은 행을 새 본문/해시로 고쳐 써서 고아 행을 남기지 않음
+     * - 다른 지문과 공유 중인 행이면 그대로 두고 새 행 저장 (copy-on-write)
+     * 호출 측은 반환된 해시로 지문의 참조를 바꿔야 한다 (고쳐 쓴 경우 DB 의 참조가 해제된 상태)
+     */
+    @Transactional
+    public PassageContentEntity replace(Long pasCode, String oldHash, String content) {
+        if (content == null) {
+            return null;
+        }
+
+        String hash = hash(content);
+        if (passageContentRepository.touch(hash) > 0) {
+            return passageContentRepository.getReferenceById(hash);
+        }
+
+        String encoded = compressedTextConverter.convertToDatabaseColumn(content);
+        if (oldHash != null && passageContentRepository.release(pasCode, oldHash) > 0
+                && passageContentRepository.rewrite(oldHash, hash, encoded, snippet(content)) > 0) {
+            return passageContentRepository.getReferenceById(hash);
+        }
+        passageContentRepository.insertOrTouch(hash, encoded, snippet(content));
+        return passageContentRepository.getReferenceById(hash);
+    }
+
+    /**
+     * 미리보기용 평문 발췌
+     * 태그를 제거하고(블록 태그는 공백으로) 엔티티/공백을 정리한 앞부분 SNIPPET_LENGTH 글자, 넘치면 "…" 를 붙인다.
+     * 발췌에 필요한 만큼만 읽으므로 본문 길이(이미지 data URI 등)와 무관하게 비용이 일정하다.
+     */
+    public static String snippet(String html) {
+        if (html == null) {
+            return null;
+        }
+
+        StringBuilder text = new StringBuilder(SNIPPET_LENGTH + 1);
+        boolean pendingSpace = false;
+        int i = 0;
+        int length = html.length();
+        // 한 글자 더 모아서 잘림 여부 판단
+        while (i < length && text.length() <= SNIPPET_LENGTH) {
+            char c = html.charAt(i);
+
+            if (c == '<') {
+                int end = html.indexOf('>', i);
+                if (end < 0) {
+                    break; // 닫히지 않은 태그 이후는 버림
+                }
+                if (isBlockTag(html, i + 1, end)) {
+                    pendingSpace = true;
+                }
+                i = end + 1;
+                continue;
+            }
+
+            String decoded = null;
+            if (c == '&') {
+                int end = html.indexOf(';', i);
+                if (end > i + 1 && end - i <= 10) {
+                    decoded = decodeEntity(html.substring(i + 1, end));
+                    if (decoded != null) {
+                        i = end + 1;
+                    }
+                }
+            }
+            if (decoded == null) {
+                decoded = String.valueOf(c);
+                i++;
+            }
+
+            for (int k = 0; k < decoded.length(); k++) {
+                char ch = decoded.charAt(k);
+                if (Character.isWhitespace(ch) || ch == '\u00A0') {
+                    pendingSpace = true;
+                    continue;
+                }
+                if (pendingSpace && !text.isEmpty()) {
+                    text.append(' ');
+                }
+                pendingSpace = false;
+                text.append(ch);
+            }
+        }
+
+        if (text.length() <= SNIPPET_LENGTH) {
+            return text.toString();
+        }
+        int cut = Character.isHighSurrogate(text.charAt(SNIPPET_LENGTH - 1)) ? SNIPPET_LENGTH - 1 : SNIPPET_LENGTH;
+        return text.substring(0, cut).stripTrailing() + "…";
+    }
+
+    private static boolean isBlockTag(String html, int start, int end) {
+        int i = start;
+        if (i < end && html.charAt(i) == '/') {
+            i++;
+        }
+        int nameStart = i;
+        while (i < end && Character.isLetterOrDigit(html.charAt(i))) {
+            i++;
+        }
+        return BLOCK_TAGS.contains(html.substring(nameStart, i).toLowerCase());
+    }
+
+    static String decodeEntity(String entity) {
+        switch (entity) {
+            case "nbsp": return " ";
+            case "lt": return "<";
+            case "gt": return ">";
+            case "amp": return "&";
+            case "quot": return "\"";
+            case "apos": return "'";
+        }
+        try {
+            if (entity.startsWith("#x") || entity.startsWith("#X")) {
+                return Character.toString(Integer.parseInt(entity.substring(2), 16));
+            }
+            if (entity.startsWith("#")) {
+                return Character.toString(Integer.parseInt(entity.substring(1)));
+            }
+        } catch (IllegalArgumentException e) {
+            // 잘못된 숫자 엔티티는 원문 그대로
+        }
+        return null;
+    }
+
+    // MariaDB SHA2(pas_content, 256) 과 같은 값 (utf8mb4 컬럼 기준)
+    public static String hash(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
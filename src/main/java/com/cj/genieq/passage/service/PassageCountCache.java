@@ -0,0 +1,86 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.passage.event.PassageChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 자료실 목록 전체 개수 캐시 (회원별, (listType, field, search) 기준)
+ *
+ * - 지문 변경 이벤트(PassageChangedEvent) 커밋 후 해당 회원의 개수를 모두 버림 (회원을 모르는 이벤트는 전체)
+ * - 다른 서버 인스턴스의 변경은 TTL 이 지나야 반영
+ * - 무효화와 동시에 진행 중이던 COUNT 결과는 이미 버려진 회원 캐시에 저장되므로 오래된 값이 남지 않음
+ */
+@Component
+public class PassageCountCache {
+
+    private static final int MAX_KEYS_PER_MEMBER = 100;
+
+    private final long ttlMillis;
+    private final Map<Long, MemberCounts> members;
+
+    public PassageCountCache(@Value("${genieq.storage.count-cache.ttl-ms:300000}") long ttlMillis,
+                             @Value("${genieq.storage.count-cache.max-members:5000}") int maxMembers) {
+        this.ttlMillis = ttlMillis;
+        this.members = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, MemberCounts> eldest) {
+                return size() > maxMembers;
+            }
+        });
+    }
+
+    /**
+     * 캐시된 개수를 반환하고, 없으면 loader 결과를 저장 후 반환
+     * loader 가 null 을 반환하면(정확한 값이 아님) 저장하지 않고 null 반환
+     */
+    public Long getOrLoad(Long memCode, String listType, String field, String search, Supplier<Long> loader) {
+        MemberCounts counts = members.computeIfAbsent(memCode, k -> new MemberCounts());
+
+        String key = key(listType, field, search);
+        CachedCount cached = counts.values.get(key);
+        long now = System.currentTimeMillis();
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.count();
+        }
+
+        Long count = loader.get();
+        if (count != null) {
+            if (counts.values.size() >= MAX_KEYS_PER_MEMBER) {
+                counts.values.clear();
+            }
+            counts.values.put(key, new CachedCount(count, now + ttlMillis));
+        }
+        return count;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPassageChanged(PassageChangedEvent event) {
+        if (event.memCode() == null) {
+            members.clear();
+        } else {
+            members.remove(event.memCode());
+        }
+    }
+
+    private static String key(String listType, String field, String search) {
+        String normalizedSearch = search == null ? "" : search.trim().toLowerCase(Locale.ROOT);
+        return listType + "\u0000" + (field == null ? "" : field) + "\u0000" + normalizedSearch;
+    }
+
+    private static class MemberCounts {
+        private final Map<String, CachedCount> values = new ConcurrentHashMap<>();
+    }
+
+    private record CachedCount(long count, long expiresAt) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.passage.dto.DescriptionDto;
+import com.cj.genieq.passage.dto.response.DescriptionStreamRowDto;
+import com.cj.genieq.passage.dto.response.PassagePreviewListDto;
+import com.cj.genieq.passage.dto.response.PassageStreamRowDto;
+import com.cj.genieq.passage.dto.response.PassageWithQuestionsResponseDto;
+import com.cj.genieq.passage.repository.PassageRepository;
+import com.cj.genieq.question.dto.response.QuestionSelectResponseDto;
+import com.cj.genieq.question.dto.response.QuestionStreamRowDto;
+import com.cj.genieq.question.repository.QuestionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 지문 목록 스트리밍 (NDJSON 응답용)
+ *
+ * 전체 목록을 List 로 만들지 않고 (date, pasCode) 기준으로 chunk-size 개씩 끊어 읽고,
+ * 한 묶음을 매핑하는 즉시 consumer 로 넘긴다. 메모리에는 한 묶음만 올라가므로 자료 수와 무관하게 일정하다.
+ * - 지문/문항/description 모두 DTO 로 조회 (OSIV 영속성 컨텍스트에 엔티티가 쌓이지 않음)
+ * - 묶음마다 짧은 읽기 전용 트랜잭션으로 조회하고, 응답 쓰기 중에는 커넥션을 잡고 있지 않음
+ * 하나의 커서를 끝까지 열어 두는 방식은 같은 커넥션에서 문항/description 을 조회하는 순간
+ * 드라이버가 남은 결과를 모두 메모리로 읽어 버리므로 사용하지 않는다.
+ */
+@Slf4j
+@Component
+public class PassageListStreamer {
+
+    private final PassageRepository passageRepository;
+    private final QuestionRepository questionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+
+    public PassageListStreamer(PassageRepository passageRepository,
+                               QuestionRepository questionRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${genieq.stream.chunk-size:200}") int chunkSize) {
+        this.passageRepository = passageRepository;
+        this.questionRepository = questionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    // 지문 미리보기 목록 (/select/prevlist)
+    public int streamPreviewList(Long memCode, Consumer<? super PassagePreviewListDto> consumer) {
+        return stream(
+                (afterDate, afterPasCode) -> passageRepository.findPreviewRowsAfter(memCode, afterDate, afterPasCode, PageRequest.of(0, chunkSize)),
+                rows -> {
+                    Map<Long, List<DescriptionDto>> descriptionMap = loadDescriptions(rows);
+                    return rows.stream()
+                            .map(row -> PassagePreviewListDto.builder()
+                                    .pasCode(row.pasCode())
+                                    .title(row.title())
+                                    .content(row.content())
+                                    .isFavorite(row.isFavorite())
+                                    .descriptions(descriptionMap.getOrDefault(row.pasCode(), new ArrayList<>()))
+                                    .build())
+                            .toList();
+                },
+                consumer);
+    }
+
+    // 문항이 있는 지문 목록 (/list/withquestions)
+    public int streamPassagesWithQuestions(Long memCode, Consumer<? super PassageWithQuestionsResponseDto> consumer) {
+        return stream(
+                (afterDate, afterPasCode) -> passageRepository.findRowsWithQuestionsAfter(memCode, afterDate, afterPasCode, PageRequest.of(0, chunkSize)),
+                rows -> {
+                    Map<Long, List<DescriptionDto>> descriptionMap = loadDescriptions(rows);
+                    Map<Long, List<QuestionSelectResponseDto>> questionMap = questionRepository.findRowsByPasCodeList(pasCodes(rows)).stream()
+                            .collect(Collectors.groupingBy(QuestionStreamRowDto::pasCode,
+                                    Collectors.mapping(QuestionStreamRowDto::toDto, Collectors.toList())));
+                    return rows.stream()
+                            .filter(row -> questionMap.containsKey(row.pasCode()))
+                            .map(row -> PassageWithQuestionsResponseDto.builder()
+                                    .pasCode(row.pasCode())
+                                    .title(row.title())
+                                    .content(row.content())
+                                    .contentVersion(row.contentVersion())
+                                    .descriptions(descriptionMap.getOrDefault(row.pasCode(), new ArrayList<>()))
+                                    .questions(questionMap.get(row.pasCode()))
+                                    .build())
+                            .toList();
+                },
+                consumer);
+    }
+
+    @FunctionalInterface
+    private interface ChunkLoader {
+        List<PassageStreamRowDto> load(LocalDateTime afterDate, Long afterPasCode);
+    }
+
+    // 묶음 조회 → 매핑 → consumer 전달을 마지막 묶음까지 반복 (전달한 항목 수 반환)
+    private <T> int stream(ChunkLoader loader, Function<List<PassageStreamRowDto>, List<T>> mapper, Consumer<? super T> consumer) {
+        LocalDateTime afterDate = null;
+        Long afterPasCode = null;
+        int written = 0;
+        while (true) {
+            LocalDateTime date = afterDate;
+            Long pasCode = afterPasCode;
+            Chunk<T> chunk = readOnlyTransaction.execute(status -> {
+                List<PassageStreamRowDto> rows = loader.load(date, pasCode);
+                if (rows.isEmpty()) {
+                    return new Chunk<T>(null, 0, List.of());
+                }
+                return new Chunk<>(rows.get(rows.size() - 1), rows.size(), mapper.apply(rows));
+            });
+
+            // 트랜잭션 밖에서 쓰기 (느린 클라이언트가 커넥션을 붙잡지 않도록)
+            chunk.items().forEach(consumer);
+            written += chunk.items().size();
+
+            if (chunk.last() == null || chunk.size() < chunkSize) {
+                break;
+            }
+            // 날짜가 없는 행이 마지막이어도 afterPasCode 가 있으므로 첫 묶음으로 돌아가지 않음
+            afterDate = chunk.last().date();
+            afterPasCode = chunk.last().pasCode();
+        }
+        log.debug("지문 목록 스트리밍 완료 - 항목 수: {}", written);
+        return written;
+    }
+
+    private Map<Long, List<DescriptionDto>> loadDescriptions(List<PassageStreamRowDto> rows) {
+        return passageRepository.findDescriptionRowsByPasCodes(pasCodes(rows)).stream()
+                .collect(Collectors.groupingBy(DescriptionStreamRowDto::pasCode,
+                        Collectors.mapping(DescriptionStreamRowDto::toDto, Collectors.toList())));
+    }
+
+    private static List<Long> pasCodes(List<PassageStreamRowDto> rows) {
+        return rows.stream().map(PassageStreamRowDto::pasCode).toList();
+    }
+
+    private record Chunk<T>(PassageStreamRowDto last, int size, List<T> items) {}
+}
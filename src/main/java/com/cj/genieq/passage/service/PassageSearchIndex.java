@@ -0,0 +1,19 @@
+package com.cj.genieq.passage.service;
+
+import java.util.List;
+
+/**
+ * 자료실 지문 검색 색인 (제목, 대표 키워드 대상)
+ * 구현체는 지문 변경 이벤트(PassageChangedEvent)로 갱신된다
+ */
+public interface PassageSearchIndex {
+
+    /**
+     * 검색어를 제목 또는 키워드에 포함하는 지문 조회 (기존 LIKE '%검색어%' 와 같은 대소문자 무시 부분 일치)
+     * @return 점수 높은 순 정렬된 결과 (제목 일치 > 키워드 일치)
+     */
+    List<Hit> search(Long memCode, String query);
+
+    record Hit(Long pasCode, int score) {
+    }
+}
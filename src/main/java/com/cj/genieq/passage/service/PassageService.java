@@ -24,12 +24,14 @@ public interface PassageService {
     PassageFavoriteResponseDto favoritePassage(PassageFavoriteRequestDto requestDto);
     List<PassagePreviewListDto> getPreviewList(Long memCode);
     List<PassagePreviewListDto> getPreviewFavoriteList(Long memCode);
+    PassagePreviewPageResponseDto getPreviewPage(Long memCode, Integer isFavorite, int page, int size);
     PassageSelectResponseDto selectPassage(Long memCode, Long pasCode);
 
     PassageWithQuestionsResponseDto savePassageWithQuestions(Long memCode, PassageWithQuestionsRequestDto requestDto);
     PassageWithQuestionsResponseDto getPassageWithQuestions(Long pasCode);
     PassageWithQuestionsResponseDto updatePassage(Long memCode, Long pasCode, PassageWithQuestionsRequestDto requestDto);
     boolean updatePassagePartial(Long memCode, Long pasCode, PassagePartialUpdateRequestDto updateDto);
+    int updatePassageContentDelta(Long memCode, Long pasCode, PassageContentDeltaRequestDto deltaDto);
 
     List<PassageStorageEachResponseDto> selectPassageListInStorage(Long memCode, Integer isFavorite, Integer rownum);
     List<PassageStorageEachResponseDto> selectFavoriteList(Long memCode);
@@ -39,4 +41,6 @@ public interface PassageService {
     boolean updatePassageTitle(PassageUpdateTitleRequestDto requestDto);
     
     List<PassageWithQuestionsResponseDto> getPassagesWithQuestionsList(Long memCode);
+    List<PassageWithQuestionsResponseDto> getPassagesWithQuestionsList(Long memCode, Pageable pageable);
+    List<PassageWithQuestionsResponseDto> getPassagesWithQuestions(Long memCode, List<Long> pasCodeList);
 }
@@ -1,12 +1,16 @@
 package com.cj.genieq.passage.service;
 
+import com.cj.genieq.common.exception.ContentVersionConflictException;
 import com.cj.genieq.member.entity.MemberEntity;
 import com.cj.genieq.member.repository.MemberRepository;
 import com.cj.genieq.passage.dto.DescriptionDto;
 import com.cj.genieq.passage.dto.request.*;
 import com.cj.genieq.passage.dto.response.*;
 import com.cj.genieq.passage.entity.DescriptionEntity;
+import com.cj.genieq.passage.entity.PassageContentEntity;
 import com.cj.genieq.passage.entity.PassageEntity;
+import com.cj.genieq.passage.event.PassageChangedEvent;
+import com.cj.genieq.passage.event.PassageContentChangedEvent;
 import com.cj.genieq.passage.repository.DescriptionRepository;
 import com.cj.genieq.passage.repository.PassageRepository;
 import com.cj.genieq.question.dto.request.QuestionInsertRequestDto;
@@ -16,11 +20,15 @@ import com.cj.genieq.question.entity.QuestionEntity;
 import com.cj.genieq.question.repository.QuestionRepository;
 import com.cj.genieq.question.service.QuestionService;
 import com.cj.genieq.usage.service.UsageService;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,8 +37,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -41,8 +51,13 @@ public class PassageServiceImpl implements PassageService {
     private final PassageRepository passageRepository;
     private final MemberRepository memberRepository;
     private final DescriptionRepository descriptionRepository;
+    private final QuestionRepository questionRepository;
     private final UsageService usageService;
     private final QuestionService questionService;
+    private final TitleAllocator titleAllocator;
+    private final PassageContentStore passageContentStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
     // 지문 저장
     @Override
@@ -53,21 +68,21 @@ public class PassageServiceImpl implements PassageService {
             MemberEntity member = memberRepository.findById(memCode)
                     .orElseThrow(() -> new EntityNotFoundException("Member not found"));
             
-             // 제목 중복 처리
-            String title = generateTitle(passageDto.getTitle());
+             // 제목 중복 처리 (회원별 카운터)
+            String title = titleAllocator.allocate(memCode, passageDto.getTitle());
 
             // Passage 엔티티 생성 및 저장
             PassageEntity passage = PassageEntity.builder()
                     .isDeleted(0)
                     .isFavorite(0)
                     .title(title)
-                    .content(passageDto.getContent())
                     .date(LocalDateTime.now())
                     .isGenerated(passageDto.getIsGenerated())
                     .isUserEntered(passageDto.getIsUserEntered())
                     .refPasCode(null) // 기본 지문은 refPasCode가 null
                     .member(member)
                     .build();
+            assignContent(passage, passageDto.getContent());
 
             // Passage 먼저 저장
             PassageEntity savedPassage = passageRepository.save(passage);
@@ -88,6 +103,7 @@ public class PassageServiceImpl implements PassageService {
 
             // 6. 사용량 업데이트 (기존과 동일)
             usageService.updateUsage(memCode, -1, "지문 생성");
+            eventPublisher.publishEvent(PassageChangedEvent.of(memCode, savedPassage.getPasCode()));
 
 
             // 7. 응답 DTO 생성 (Description 리스트 포함)
@@ -104,6 +120,7 @@ public class PassageServiceImpl implements PassageService {
                     .pasCode(savedPassage.getPasCode())
                     .title(savedPassage.getTitle())
                     .content(savedPassage.getContent())
+                    .contentVersion(savedPassage.getContentVersion())
                     .descriptions(descriptionDtos)
                     .build();
 
@@ -132,15 +149,17 @@ public class PassageServiceImpl implements PassageService {
             // null이 아닌 필드만 업데이트 (JPA Dirty Checking 활용)
             if (updateDto.getTitle() != null) {
                 passage.setTitle(updateDto.getTitle());
+                titleAllocator.register(memCode, updateDto.getTitle());
             }
 
             if (updateDto.getContent() != null) {
-                passage.setContent(updateDto.getContent());
+                changeContent(passage, updateDto.getContent());
             }
 
             if (updateDto.getIsFavorite() != null) {
                 passage.setIsFavorite(updateDto.getIsFavorite());
             }
+            eventPublisher.publishEvent(PassageChangedEvent.of(memCode, pasCode));
 
             // JPA가 자동으로 변경된 필드만 UPDATE 쿼리 실행
             // repository.save() 호출 불필요 (@Transactional + Dirty Checking)
@@ -152,6 +171,61 @@ public class PassageServiceImpl implements PassageService {
         }
     }
 
+    // 지문 본문 델타 수정 (PATCH /{pasCode}/content)
+    // 전체 본문 대신 삽입/삭제 범위만 받아 서버에서 적용, 변경된 컬럼(pas_content, pas_content_version)만 UPDATE
+    @Override
+    @Transactional
+    public int updatePassageContentDelta(Long memCode, Long pasCode, PassageContentDeltaRequestDto deltaDto) {
+        if (deltaDto.getBaseVersion() == null) {
+            throw new IllegalArgumentException("baseVersion 이 없습니다.");
+        }
+
+        // 지문 조회 및 권한 확인 (행 잠금)
+        PassageEntity passage = passageRepository.findByPasCodeAndMemCodeForUpdate(pasCode, memCode)
+                .orElseThrow(() -> new EntityNotFoundException("지문을 찾을 수 없거나 권한이 없습니다."));
+
+        int currentVersion = passage.getContentVersion() != null ? passage.getContentVersion() : 0;
+        if (deltaDto.getBaseVersion() != currentVersion) {
+            throw new ContentVersionConflictException(deltaDto.getBaseVersion(), currentVersion);
+        }
+
+        String updatedContent = ContentDeltaApplier.apply(passage.getContent(), deltaDto.getOps());
+        changeContent(passage, updatedContent);
+        eventPublisher.publishEvent(new PassageContentChangedEvent(memCode, pasCode));
+
+        return passage.getContentVersion();
+    }
+
+    // 본문 변경 (값이 바뀐 경우에만 반영 + 버전 증가)
+    // 해시로 비교하므로 기존 본문을 읽지 않는다. 이 지문만 쓰는 본문 행은 그 자리에서 고쳐 쓰고,
+    // 다른 지문이 함께 참조하는 행만 그대로 두고 새 행을 만든다 (copy-on-write)
+    private void changeContent(PassageEntity passage, String content) {
+        String hash = (content != null) ? PassageContentStore.hash(content) : null;
+        if (Objects.equals(passage.getContentHash(), hash)) {
+            return;
+        }
+        PassageContentEntity stored = passageContentStore.replace(passage.getPasCode(), passage.getContentHash(), content);
+        passage.setContentHash(stored != null ? stored.getHash() : null);
+        passage.setPassageContent(stored);
+        passage.setContent(content);
+        passage.setContentVersion((passage.getContentVersion() != null ? passage.getContentVersion() : 0) + 1);
+    }
+
+    // 본문 저장 후 지문에 연결 (passage_content 에 같은 본문이 있으면 재사용)
+    private void assignContent(PassageEntity passage, String content) {
+        PassageContentEntity stored = passageContentStore.store(content);
+        passage.setContentHash(stored != null ? stored.getHash() : null);
+        passage.setPassageContent(stored);
+        passage.setContent(content);
+    }
+
+    // 다른 지문과 같은 본문 참조
+    private void shareContent(PassageEntity source, PassageEntity target) {
+        target.setContentHash(source.getContentHash());
+        target.setPassageContent(source.getPassageContent());
+        target.setContent(source.getContent());
+    }
+
     // 지문 미리보기 리스트
     @Override
     public List<PassagePreviewListDto> getPreviewList(Long memCode) {
@@ -208,14 +282,51 @@ public class PassageServiceImpl implements PassageService {
         return previews;
     }
 
+    // 지문 미리보기 페이지 (평문 발췌 + 분야/키워드, 본문/gist 는 조회하지 않음)
+    @Override
+    @Transactional(readOnly = true)
+    public PassagePreviewPageResponseDto getPreviewPage(Long memCode, Integer isFavorite, int page, int size) {
+        int pageIndex = Math.max(page, 1) - 1;
+        int pageSize = Math.min(Math.max(size, 1), 100);
+
+        // 1. 발췌 포함 지문 페이지 조회
+        Page<PassagePreviewSnippetDto> previews = passageRepository.findPreviewSnippetsByMember(memCode, isFavorite, PageRequest.of(pageIndex, pageSize));
+
+        // 2. 분야/키워드 배치 조회 후 매핑
+        List<Long> pasCodes = previews.getContent().stream()
+                .map(PassagePreviewSnippetDto::getPasCode)
+                .toList();
+        if (!pasCodes.isEmpty()) {
+            Map<Long, List<PassageStorageEachResponseDto.SimpleDescriptionInfo>> descriptionMap =
+                    passageRepository.findSimpleDescriptionsByPassageCodes(pasCodes).stream()
+                            .collect(Collectors.groupingBy(SimpleDescriptionDto::pasCode,
+                                    Collectors.mapping(d -> PassageStorageEachResponseDto.SimpleDescriptionInfo.builder()
+                                            .pasType(d.pasType())
+                                            .keyword(d.keyword())
+                                            .order(d.order())
+                                            .build(), Collectors.toList())));
+            previews.getContent().forEach(preview ->
+                    preview.setDescriptions(descriptionMap.getOrDefault(preview.getPasCode(), new ArrayList<>())));
+        }
+
+        return PassagePreviewPageResponseDto.builder()
+                .items(previews.getContent())
+                .totalCount(previews.getTotalElements())
+                .totalPages(previews.getTotalPages())
+                .currentPage(pageIndex + 1)
+                .pageSize(pageSize)
+                .hasMore(previews.hasNext())
+                .build();
+    }
+
     // 지문 개별 조회
     @Override
     public PassageSelectResponseDto selectPassage(Long memCode, Long pasCode) {
 //        PassageEntity passageEntity = passageRepository.findById(pasCode)
 //                .orElseThrow(() -> new IllegalArgumentException("지문이 존재하지 않습니다."));
         try {
-            // 지문 조회 및 권한 확인
-            PassageEntity passageEntity = passageRepository.findByPasCodeAndMember_MemCode(pasCode, memCode)
+            // 지문 조회 및 권한 확인 (본문 포함)
+            PassageEntity passageEntity = passageRepository.findWithContentByPasCodeAndMember_MemCode(pasCode, memCode)
                     .orElseThrow(() -> new EntityNotFoundException("지문을 찾을 수 없거나 권한이 없습니다."));
 
             // 2. 연관된 Description들 조회 (순서대로)
@@ -236,6 +347,7 @@ public class PassageServiceImpl implements PassageService {
                     .pasCode(passageEntity.getPasCode())
                     .title(passageEntity.getTitle())
                     .content(passageEntity.getContent())
+                    .contentVersion(passageEntity.getContentVersion())
                     .descriptions(descriptionDtos)  // Description 리스트 포함
                     .build();
 
@@ -256,6 +368,7 @@ public class PassageServiceImpl implements PassageService {
         //상태
         passage.setIsFavorite(passage.getIsFavorite() == 1 ? 0 : 1); //현재 값이 1이면 0(즐겨찾기 해제) / 0이면 1(즐겨찾기 추가)
         passageRepository.save(passage);
+        eventPublisher.publishEvent(PassageChangedEvent.of(passage.getMember().getMemCode(), passage.getPasCode()));
 
         return  PassageFavoriteResponseDto.builder()
                 .pasCode(passage.getPasCode())
@@ -263,22 +376,6 @@ public class PassageServiceImpl implements PassageService {
                 .build();
     }
     
-    // 제목 중복 처리 메소드
-    private String generateTitle(String title){
-        // 제목 중복 처리
-        String originalTitle = title;
-        int counter = 1;
-
-        // 제목 중복 체크
-        while (passageRepository.existsByTitle(title)) {
-            // 제목이 이미 존재하면 (1), (2), (3)... 형식으로 수정
-            title = originalTitle + "(" + counter + ")";
-            counter++;
-        }
-
-        return title;
-    }
-
     // 지문 + 문항 저장 (트랜잭션 적용)
     @Transactional
     public PassageWithQuestionsResponseDto savePassageWithQuestions(Long memCode, PassageWithQuestionsRequestDto requestDto) {
@@ -287,16 +384,14 @@ public class PassageServiceImpl implements PassageService {
             MemberEntity member = memberRepository.findById(memCode)
                     .orElseThrow(() -> new EntityNotFoundException("Member not found"));
     
-            // 2. 제목 중복 처리
-            String title = generateTitle(requestDto.getTitle());
-            
+            // 2. 제목 중복 처리는 분기별로 발급 (사용자 입력 지문은 savePassage 에서 발급)
             PassageEntity savedPassage;
             
             // 3. refPasCode 분기 처리
             if (requestDto.getRefPasCode() == null) {
-                // 3-1. 사용자 입력 지문: 먼저 기본 지문 저장
+                // 3-1. 사용자 입력 지문: 먼저 기본 지문 저장 (제목은 savePassage 에서 발급)
                 PassageInsertRequestDto passageDto = PassageInsertRequestDto.builder()
-                        .title(title)
+                        .title(requestDto.getTitle())
                         .content(requestDto.getContent())
                         .isGenerated(requestDto.getIsGenerated())
                         .isUserEntered(requestDto.getIsUserEntered())
@@ -305,10 +400,9 @@ public class PassageServiceImpl implements PassageService {
 
                 PassageSelectResponseDto basicPassage = savePassage(memCode, passageDto);
                 
-                // 3-2. 저장된 pasCode를 refPasCode로 사용하여 지문+문항 저장
+                // 3-2. 저장된 pasCode를 refPasCode로 사용하여 지문+문항 저장 (기본 지문과 같은 제목 사용)
                 PassageEntity passage = PassageEntity.builder()
-                        .title(title)
-                        .content(requestDto.getContent())
+                        .title(basicPassage.getTitle())
                         .date(LocalDateTime.now())
                         .isDeleted(0)
                         .isFavorite(0)
@@ -316,13 +410,16 @@ public class PassageServiceImpl implements PassageService {
                         .refPasCode(basicPassage.getPasCode()) // 생성된 pasCode를 refPasCode로 설정
                         .member(member)
                         .build();
+                // 본문은 기본 지문과 같은 passage_content 행을 참조 (영속성 컨텍스트에서 조회, 쿼리 없음)
+                shareContent(passageRepository.getReferenceById(basicPassage.getPasCode()), passage);
                         
                 savedPassage = passageRepository.save(passage);
             } else {
                 // 3-3. 자료실 지문: refPasCode가 이미 있는 경우
+                String title = titleAllocator.allocate(memCode, requestDto.getTitle());
+
                 PassageEntity passage = PassageEntity.builder()
                         .title(title)
-                        .content(requestDto.getContent())
                         .date(LocalDateTime.now())
                         .isDeleted(0)
                         .isFavorite(0)
@@ -330,6 +427,8 @@ public class PassageServiceImpl implements PassageService {
                         .refPasCode(requestDto.getRefPasCode())
                         .member(member)
                         .build();
+                // 자료실 지문과 본문이 같으면 기존 passage_content 행을 그대로 참조
+                assignContent(passage, requestDto.getContent());
                         
                 savedPassage = passageRepository.save(passage);
             }
@@ -358,6 +457,7 @@ public class PassageServiceImpl implements PassageService {
     
             // 6. 사용량 처리
             usageService.updateUsage(memCode, -1, "문항 생성");
+            eventPublisher.publishEvent(PassageChangedEvent.of(memCode, savedPassage.getPasCode()));
     
             // 7. Description 엔티티를 DTO로 변환
             List<DescriptionDto> descriptionDtos = savedDescriptions.stream()
@@ -374,6 +474,7 @@ public class PassageServiceImpl implements PassageService {
                     .pasCode(savedPassage.getPasCode())
                     .title(savedPassage.getTitle())
                     .content(savedPassage.getContent())
+                    .contentVersion(savedPassage.getContentVersion())
                     .descriptions(descriptionDtos)
                     .questions(questions)
                     .build();
@@ -393,34 +494,22 @@ public class PassageServiceImpl implements PassageService {
     // 지문 + 문항 조회
     @Transactional(readOnly = true)
     public PassageWithQuestionsResponseDto getPassageWithQuestions(Long pasCode) {
-        // 1. 지문 + 문항 조회 (JOIN 처리)
-        PassageEntity passage = passageRepository.findById(pasCode)
+        // 1. 지문 + 본문 + 문항 조회 (엔티티 그래프로 JOIN 처리)
+        PassageEntity passage = passageRepository.findWithContentAndQuestionsByPasCode(pasCode)
                 .orElseThrow(() -> new IllegalArgumentException("지문이 존재하지 않습니다."));
 
         // 2. 엔티티 → DTO 변환
         // 지문+문항 조회하는 작업은 지문엔티티에 의존하므로 지문 서비스의 책임에 해당해서 문항 서비스에 메서드를 추가하지 않은 것이다.
         List<QuestionSelectResponseDto> questions = (passage.getQuestions() != null)
                 ? passage.getQuestions().stream()
-                .map(q -> QuestionSelectResponseDto.builder()
-                        .queCode(q.getQueCode())
-                        .queQuery(q.getQueQuery())
-                        .queOption(q.getQueOption())
-                        .queAnswer(q.getQueAnswer())
-                        .queDescription(q.getQueDescription())
-                        .queSubpassage(q.getQueSubpassage())
-                        .build())
+                .map(this::toQuestionDto)
                 .collect(Collectors.toList())
                 : new ArrayList<>();
 
         // 3. DescriptionEntity -> DescriptionDto 변환
         List<DescriptionEntity> descriptions = descriptionRepository.findByPassage_PasCodeOrderByOrderAsc(pasCode);
         List<DescriptionDto> descriptionDtos = descriptions.stream()
-                .map(desc -> DescriptionDto.builder()
-                        .pasType(desc.getPasType())
-                        .keyword(desc.getKeyword())
-                        .gist(desc.getGist())
-                        .order(desc.getOrder())
-                        .build())
+                .map(this::toDescriptionDto)
                 .collect(Collectors.toList());
 
         // 4. 응답 DTO 생성 후 반환 값 변수에 저장
@@ -428,6 +517,7 @@ public class PassageServiceImpl implements PassageService {
                 .pasCode(passage.getPasCode())
                 .title(passage.getTitle())
                 .content(passage.getContent())
+                .contentVersion(passage.getContentVersion())
                 .descriptions(descriptionDtos)
                 .questions(questions) // 문항이 없을 경우 빈 리스트 반환
                 .build();
@@ -437,6 +527,71 @@ public class PassageServiceImpl implements PassageService {
     }
 
 
+    // Description 병합 (order 기준)
+    // - 같은 order 의 기존 행: 값이 바뀐 컬럼만 UPDATE (Dirty Checking + @DynamicUpdate, 같은 값이면 쿼리 없음)
+    // - 새 order (또는 요청 내 중복 order): INSERT
+    // - 요청에 없는 order 의 기존 행: DELETE 1회로 일괄 삭제
+    // - order 가 없으면 요청 내 위치(1부터)를 order 로 사용
+    // 전체 삭제 후 재등록하지 않으므로 des_code 가 유지된다
+    private List<DescriptionEntity> mergeDescriptions(PassageEntity passage, List<DescriptionDto> descriptions) {
+        // 1. 기존 Description 조회 (order → 엔티티)
+        Map<Integer, DescriptionEntity> existingDescriptions = new HashMap<>();
+        List<DescriptionEntity> removedDescriptions = new ArrayList<>();
+        for (DescriptionEntity existing : descriptionRepository.findByPassage_PasCodeOrderByOrderAsc(passage.getPasCode())) {
+            // 같은 order 가 여러 행이면 첫 행만 남기고 정리
+            if (existingDescriptions.putIfAbsent(existing.getOrder(), existing) != null) {
+                removedDescriptions.add(existing);
+            }
+        }
+
+        List<DescriptionEntity> mergedDescriptions = new ArrayList<>();
+        List<DescriptionEntity> newDescriptions = new ArrayList<>();
+
+        for (DescriptionDto desc : descriptions) {
+            int order = desc.getOrder() != null ? desc.getOrder() : mergedDescriptions.size() + 1;
+            DescriptionEntity existing = existingDescriptions.remove(order);
+
+            if (existing != null) {
+                // 2. 기존 행 수정
+                existing.setPasType(desc.getPasType());
+                existing.setKeyword(desc.getKeyword());
+                existing.setGist(desc.getGist());
+                mergedDescriptions.add(existing);
+            } else {
+                // 3. 새 행
+                DescriptionEntity created = DescriptionEntity.builder()
+                        .pasType(desc.getPasType())
+                        .keyword(desc.getKeyword())
+                        .gist(desc.getGist())
+                        .order(order)
+                        .passage(passage)
+                        .build();
+                newDescriptions.add(created);
+                mergedDescriptions.add(created);
+            }
+        }
+
+        if (!newDescriptions.isEmpty()) {
+            descriptionRepository.saveAll(newDescriptions);
+        }
+
+        // 4. 요청에 없는 order 의 기존 행 삭제
+        removedDescriptions.addAll(existingDescriptions.values());
+        if (passage.getDescriptions() != null && Hibernate.isInitialized(passage.getDescriptions())) {
+            // 이미 로딩된 passage.descriptions 는 병합 결과로 맞추고 orphanRemoval 로 삭제
+            // (일괄 DELETE 후 컬렉션에 남은 행이 cascade 로 다시 반영되거나 조회되지 않도록)
+            passage.getDescriptions().clear();
+            passage.getDescriptions().addAll(mergedDescriptions);
+        } else if (!removedDescriptions.isEmpty()) {
+            // 컬렉션이 로딩되지 않았으면 DELETE 1회 후 삭제된 엔티티를 영속성 컨텍스트에서 분리
+            descriptionRepository.deleteByPasCodeAndDesCodeList(passage.getPasCode(),
+                    removedDescriptions.stream().map(DescriptionEntity::getDesCode).toList());
+            removedDescriptions.forEach(entityManager::detach);
+        }
+
+        return mergedDescriptions;
+    }
+
     //지문 수정 + 문항 수정
     @Transactional
     public PassageWithQuestionsResponseDto updatePassage(Long memCode, Long pasCode, PassageWithQuestionsRequestDto requestDto) {
@@ -452,9 +607,10 @@ public class PassageServiceImpl implements PassageService {
             // 3. 지문 기본 필드 수정 (null 값 무시)
             if (requestDto.getTitle() != null) {
                 passage.setTitle(requestDto.getTitle());
+                titleAllocator.register(memCode, requestDto.getTitle());
             }
             if (requestDto.getContent() != null) {
-                passage.setContent(requestDto.getContent());
+                changeContent(passage, requestDto.getContent());
             }
             if (requestDto.getIsGenerated() != null) {
                 passage.setIsGenerated(requestDto.getIsGenerated());
@@ -464,27 +620,10 @@ public class PassageServiceImpl implements PassageService {
             // 4. 지문 저장
             passageRepository.save(passage);
     
-            // 5. Description 업데이트 (기존 삭제 후 새로 생성)
+            // 5. Description 업데이트 (order 기준 병합: 바뀐 행만 UPDATE, 새 order 는 INSERT, 빠진 order 는 일괄 DELETE)
             List<DescriptionEntity> savedDescriptions = new ArrayList<>();
             if (requestDto.getDescriptions() != null && !requestDto.getDescriptions().isEmpty()) {
-                // 기존 Description 삭제
-                List<DescriptionEntity> existingDescriptions = descriptionRepository.findByPassage_PasCodeOrderByOrderAsc(pasCode);
-                if (!existingDescriptions.isEmpty()) {
-                    descriptionRepository.deleteAll(existingDescriptions);
-                }
-    
-                // 새로운 Description 생성 및 저장
-                List<DescriptionEntity> newDescriptions = requestDto.getDescriptions().stream()
-                        .map(desc -> DescriptionEntity.builder()
-                                .pasType(desc.getPasType())
-                                .keyword(desc.getKeyword())
-                                .gist(desc.getGist())
-                                .order(desc.getOrder() != null ? desc.getOrder() : 1)
-                                .passage(passage)
-                                .build())
-                        .collect(Collectors.toList());
-    
-                savedDescriptions = descriptionRepository.saveAll(newDescriptions);
+                savedDescriptions = mergeDescriptions(passage, requestDto.getDescriptions());
             }
     
             // 6. 문항 수정 (Questions가 있는 경우에만)
@@ -498,13 +637,16 @@ public class PassageServiceImpl implements PassageService {
                                 .queOption(q.getQueOption())
                                 .queAnswer(q.getQueAnswer())
                                 .queDescription(q.getQueDescription())
+                                .queSubpassage(q.getQueSubpassage())
                                 .build())
                         .collect(Collectors.toList());
     
-                // 문항 수정 후 반환된 값 받아서 사용
+                // 문항 병합(queCode 기준 UPDATE/INSERT/DELETE) 후 반환된 값 받아서 사용
                 updatedQuestions = questionService.updateQuestions(passage, questionDtos);
             }
     
+            eventPublisher.publishEvent(PassageChangedEvent.of(memCode, pasCode));
+
             // 7. 사용량 처리 (mode가 "generate" 또는 "recreate"일 때만 차감)
             if ("generate".equals(requestDto.getMode()) || "recreate".equals(requestDto.getMode())) {
                 usageService.updateUsage(memCode, -1, "문항 생성");
@@ -525,6 +667,7 @@ public class PassageServiceImpl implements PassageService {
                     .pasCode(passage.getPasCode())
                     .title(passage.getTitle())
                     .content(passage.getContent())
+                    .contentVersion(passage.getContentVersion())
                     .descriptions(descriptionDtos)
                     .questions(updatedQuestions)
                     .build();
@@ -546,71 +689,42 @@ public class PassageServiceImpl implements PassageService {
     // 자료실 메인화면 리스트(즐겨찾기+최근 작업)
     @Override
     public List<PassageStorageEachResponseDto> selectPassageListInStorage(Long memCode, Integer isFavorite, Integer rownum) {
-        List<PassageEntity> passageEntities = passageRepository.selectPassageListInStorage(memCode, isFavorite, rownum);
+        // 필요한 컬럼만 DTO 로 조회 (본문 로딩 없음)
+        List<PassageStorageEachResponseDto> passages = passageRepository.selectPassageListInStorage(memCode, isFavorite, PageRequest.of(0, rownum));
 
         // 조회 결과가 없으면 빈 리스트 반환
-        if (passageEntities == null || passageEntities.isEmpty()) {
+        if (passages == null || passages.isEmpty()) {
             return Collections.emptyList();
         }
 
-        List<PassageStorageEachResponseDto> passages = passageEntities.stream()
-                .map(p -> PassageStorageEachResponseDto.builder()
-                        .title(p.getTitle())
-                        .isGenerated(p.getIsGenerated())
-                        .date(p.getDate())
-                        .isFavorite(p.getIsFavorite())
-                        .build())
-                .collect(Collectors.toList());
-
         return passages;
     }
 
     // 즐겨찾기 리스트
     @Override
     public List<PassageStorageEachResponseDto> selectFavoriteList(Long memCode) {
-        List<PassageEntity> passageEntities = passageRepository.selectTop150FavoritePassages(memCode);
+        // isDeleted = 0 필터링은 쿼리에서 처리
+        List<PassageStorageEachResponseDto> passages = passageRepository.selectTop150FavoritePassages(memCode, PageRequest.of(0, 150));
 
         // 조회 결과가 없으면 빈 리스트 반환
-        if (passageEntities == null || passageEntities.isEmpty()) {
+        if (passages == null || passages.isEmpty()) {
             return Collections.emptyList();
         }
 
-        List<PassageStorageEachResponseDto> passages = passageEntities.stream()
-                .filter(p -> p.getIsDeleted() == 0) // isDeleted = 0 필터링
-                .map(p -> PassageStorageEachResponseDto.builder()
-                        .pasCode(p.getPasCode())
-                        .title(p.getTitle())
-                        .isGenerated(p.getIsGenerated())
-                        .date(p.getDate())
-                        .isFavorite(p.getIsFavorite())
-                        .build())
-                .collect(Collectors.toList());
-
         return passages;
     }
 
     // 최근 작업 내역 리스트 (구 버전의 Storage, WorkListMain 에서 사용하는 api)
     @Override
     public List<PassageStorageEachResponseDto> selectRecentList(Long memCode) {
-        List<PassageEntity> passageEntities = passageRepository.selectTop150RecentPassages(memCode);
-        System.out.println("받아온 데이터 크기:"+passageEntities.toArray().length);
+        // isDeleted = 0 필터링은 쿼리에서 처리
+        List<PassageStorageEachResponseDto> passages = passageRepository.selectTop150RecentPassages(memCode, PageRequest.of(0, 150));
 
         // 조회 결과가 없으면 빈 리스트 반환
-        if (passageEntities == null || passageEntities.isEmpty()) {
+        if (passages == null || passages.isEmpty()) {
             return Collections.emptyList();
         }
 
-        List<PassageStorageEachResponseDto> passages = passageEntities.stream()
-                .filter(p -> p.getIsDeleted() == 0) // isDeleted = 0 필터링
-                .map(p -> PassageStorageEachResponseDto.builder()
-                        .pasCode(p.getPasCode())
-                        .title(p.getTitle())
-                        .isGenerated(p.getIsGenerated())
-                        .date(p.getDate())
-                        .isFavorite(p.getIsFavorite())
-                        .build())
-                .collect(Collectors.toList());
-
         return passages;
     }
 
@@ -630,6 +744,7 @@ public class PassageServiceImpl implements PassageService {
 
         try {
             int updatedCount = passageRepository.updateIsDeletedByPasCodeList(pasCodeList);
+            eventPublisher.publishEvent(new PassageChangedEvent(null, pasCodeList));
             // 업데이트된 개수가 전달받은 리스트 크기와 같으면 성공
             return updatedCount == pasCodeList.size();
         } catch (Exception e) {
@@ -656,8 +771,8 @@ public class PassageServiceImpl implements PassageService {
             return false;
         }
 
-        // 제목 중복 처리
-        String title = generateTitle(requestDto.getTitle());
+        // 제목 중복 처리 (지문 소유 회원 기준)
+        String title = titleAllocator.allocate(passage.getMember().getMemCode(), requestDto.getTitle());
 
         // 수정 실행
         int updatedCount = passageRepository.updateTitleByPasCode(requestDto.getPasCode(),title);
@@ -666,6 +781,7 @@ public class PassageServiceImpl implements PassageService {
         if (updatedCount == 0) {
             throw new IllegalStateException("지문 제목 수정에 실패했습니다.");
         }
+        eventPublisher.publishEvent(PassageChangedEvent.of(passage.getMember().getMemCode(), passage.getPasCode()));
 
         return true;
     }
@@ -673,27 +789,93 @@ public class PassageServiceImpl implements PassageService {
     @Override
     @Transactional(readOnly = true)
     public List<PassageWithQuestionsResponseDto> getPassagesWithQuestionsList(Long memCode) {
-        // 1. Repository에서 문항이 있는 지문들 조회 (기본 정보만)
-        List<PassageEntity> passages = passageRepository.findPassagesWithQuestionsByMember(memCode);
-        System.out.println("조회한 지문 목록: "+passages.size());
-        if (passages == null || passages.isEmpty()) {
+        return getPassagesWithQuestionsList(memCode, Pageable.unpaged());
+    }
+
+    // 문항이 있는 지문 목록 (지문 1회 + 문항 IN 1회 + description IN 1회, 지문별 그룹핑은 메모리에서)
+    @Override
+    @Transactional(readOnly = true)
+    public List<PassageWithQuestionsResponseDto> getPassagesWithQuestionsList(Long memCode, Pageable pageable) {
+        // 1. 문항이 있는 지문 + 본문 조회 (pas_question_count 기준, 페이지 적용)
+        List<PassageEntity> passages = passageRepository.findPassagesWithQuestionsByMember(memCode, pageable);
+        if (passages.isEmpty()) {
             return Collections.emptyList();
         }
+        List<Long> pasCodes = passages.stream().map(PassageEntity::getPasCode).toList();
+
+        // 2. 문항, description 배치 조회 후 지문 코드별로 묶기
+        Map<Long, List<QuestionSelectResponseDto>> questionMap = questionRepository.findByPasCodeList(pasCodes).stream()
+                .collect(Collectors.groupingBy(q -> q.getPassage().getPasCode(),
+                        Collectors.mapping(this::toQuestionDto, Collectors.toList())));
+        Map<Long, List<DescriptionDto>> descriptionMap = descriptionRepository.findByPassage_PasCodeInOrderByOrderAsc(pasCodes).stream()
+                .collect(Collectors.groupingBy(d -> d.getPassage().getPasCode(),
+                        Collectors.mapping(this::toDescriptionDto, Collectors.toList())));
+
+        // 3. 지문 순서대로 응답 생성 (문항 수 컬럼과 실제 문항이 어긋나 문항이 없는 지문은 제외)
+        return passages.stream()
+                .filter(passage -> questionMap.containsKey(passage.getPasCode()))
+                .map(passage -> PassageWithQuestionsResponseDto.builder()
+                        .pasCode(passage.getPasCode())
+                        .title(passage.getTitle())
+                        .content(passage.getContent())
+                        .contentVersion(passage.getContentVersion())
+                        .descriptions(descriptionMap.getOrDefault(passage.getPasCode(), new ArrayList<>()))
+                        .questions(questionMap.get(passage.getPasCode()))
+                        .build())
+                .collect(Collectors.toList());
+    }
 
-        // 2. 각 지문에 대해 상세 정보 조회 (기존 메서드 재사용)
-        List<PassageWithQuestionsResponseDto> result = passages.stream()
-                .map(passage -> {
-                    try {
-                        // 기존 getPassageWithQuestions 메서드 재사용하여 상세 정보 조회
-                        return getPassageWithQuestions(passage.getPasCode());
-                    } catch (Exception e) {
-                        log.warn("지문 {}의 상세 정보 조회 실패: {}", passage.getPasCode(), e.getMessage());
-                        return null;
-                    }
-                })
-                .filter(dto -> dto != null && dto.getQuestions() != null && !dto.getQuestions().isEmpty())
+    // 지정한 지문들 + 문항 (요청 순서 유지, 문항이 없는 지문도 포함, 하나라도 없거나 남의 지문이면 예외)
+    @Override
+    @Transactional(readOnly = true)
+    public List<PassageWithQuestionsResponseDto> getPassagesWithQuestions(Long memCode, List<Long> pasCodeList) {
+        // 1. 지문 + 본문 조회 (본인 지문만)
+        List<Long> pasCodes = pasCodeList.stream().distinct().toList();
+        Map<Long, PassageEntity> passageMap = passageRepository.findWithContentByPasCodeListAndMember(pasCodes, memCode).stream()
+                .collect(Collectors.toMap(PassageEntity::getPasCode, passage -> passage));
+        if (passageMap.size() != pasCodes.size()) {
+            throw new EntityNotFoundException("지문을 찾을 수 없거나 권한이 없습니다.");
+        }
+
+        // 2. 문항, description 배치 조회 후 지문 코드별로 묶기
+        Map<Long, List<QuestionSelectResponseDto>> questionMap = questionRepository.findByPasCodeList(pasCodes).stream()
+                .collect(Collectors.groupingBy(q -> q.getPassage().getPasCode(),
+                        Collectors.mapping(this::toQuestionDto, Collectors.toList())));
+        Map<Long, List<DescriptionDto>> descriptionMap = descriptionRepository.findByPassage_PasCodeInOrderByOrderAsc(pasCodes).stream()
+                .collect(Collectors.groupingBy(d -> d.getPassage().getPasCode(),
+                        Collectors.mapping(this::toDescriptionDto, Collectors.toList())));
+
+        // 3. 요청 순서대로 응답 생성
+        return pasCodes.stream()
+                .map(passageMap::get)
+                .map(passage -> PassageWithQuestionsResponseDto.builder()
+                        .pasCode(passage.getPasCode())
+                        .title(passage.getTitle())
+                        .content(passage.getContent())
+                        .contentVersion(passage.getContentVersion())
+                        .descriptions(descriptionMap.getOrDefault(passage.getPasCode(), new ArrayList<>()))
+                        .questions(questionMap.getOrDefault(passage.getPasCode(), new ArrayList<>()))
+                        .build())
                 .collect(Collectors.toList());
+    }
 
-        return result;
+    private QuestionSelectResponseDto toQuestionDto(QuestionEntity q) {
+        return QuestionSelectResponseDto.builder()
+                .queCode(q.getQueCode())
+                .queQuery(q.getQueQuery())
+                .queOption(q.getQueOption())
+                .queAnswer(q.getQueAnswer())
+                .queDescription(q.getQueDescription())
+                .queSubpassage(q.getQueSubpassage())
+                .build();
+    }
+
+    private DescriptionDto toDescriptionDto(DescriptionEntity desc) {
+        return DescriptionDto.builder()
+                .pasType(desc.getPasType())
+                .keyword(desc.getKeyword())
+                .gist(desc.getGist())
+                .order(desc.getOrder())
+                .build();
     }
 }
@@ -0,0 +1,175 @@
+package com.cj.genieq.passage.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF 추출용 폰트 보관소
+ *
+ * 폰트 파일은 처음 한 번만 클래스패스에서 읽고, 파싱된 TrueTypeFont(본문/굵게 한 쌍)와 글리프 너비 캐시를 재사용한다.
+ * PDFBox 의 TrueTypeFont 는 글리프를 읽을 때 내부 상태를 바꾸므로 스레드 간에 동시에 쓰지 않는다.
+ * - 한 쌍은 한 번에 한 요청만 빌려 쓰고(lease), 문서 저장(서브셋 임베딩)까지 끝난 뒤 반납한다.
+ * - 쌍은 필요할 때만 새로 파싱하며 최대 pool-size 개까지 만든다. 모두 사용 중이면 반납될 때까지 기다린다.
+ */
+@Slf4j
+@Component
+public class PdfFontRegistry {
+
+    private static final String REGULAR_FONT = "fonts/BookkMyungjo_Light.ttf";
+    private static final String BOLD_FONT = "fonts/BookkMyungjo_Bold.ttf";
+
+    private final ConcurrentLinkedQueue<FontSet> idle = new ConcurrentLinkedQueue<>();
+    private final Semaphore permits;
+    private final long borrowTimeoutMillis;
+
+    // 폰트 파일 원본 (최초 사용 시 한 번 읽음)
+    private volatile byte[] regularBytes;
+    private volatile byte[] boldBytes;
+
+    public PdfFontRegistry(@Value("${genieq.pdf.font-pool-size:0}") int poolSize,
+                           @Value("${genieq.pdf.font-borrow-timeout-ms:30000}") long borrowTimeoutMillis) {
+        // 0 이하면 CPU 코어 수만큼
+        int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.permits = new Semaphore(size, true);
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+    }
+
+    // 첫 추출 요청이 폰트 파싱 비용을 떠안지 않도록 한 쌍을 미리 준비
+    @PostConstruct
+    public void warmUp() {
+        try {
+            idle.offer(parse());
+        } catch (IOException e) {
+            log.warn("PDF 폰트 사전 로드 실패 (추출 시 다시 시도) - error: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 폰트 한 쌍 대여 (반드시 close 로 반납)
+     */
+    public Lease borrow() throws IOException {
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("PDF 폰트 대기 시간 초과");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("PDF 폰트 대기 중 인터럽트", e);
+        }
+
+        FontSet fontSet = idle.poll();
+        if (fontSet == null) {
+            try {
+                fontSet = parse();
+            } catch (IOException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+        return new Lease(fontSet);
+    }
+
+    @PreDestroy
+    public void close() {
+        FontSet fontSet;
+        while ((fontSet = idle.poll()) != null) {
+            fontSet.close();
+        }
+    }
+
+    private FontSet parse() throws IOException {
+        TrueTypeFont regular = new TTFParser().parse(new ByteArrayInputStream(regularBytes()));
+        try {
+            TrueTypeFont bold = new TTFParser().parse(new ByteArrayInputStream(boldBytes()));
+            log.debug("PDF 폰트 파싱 완료");
+            return new FontSet(regular, bold, new PdfGlyphWidths(regular), new PdfGlyphWidths(bold));
+        } catch (IOException | RuntimeException e) {
+            regular.close();
+            throw e;
+        }
+    }
+
+    private byte[] regularBytes() throws IOException {
+        byte[] bytes = regularBytes;
+        if (bytes == null) {
+            bytes = read(REGULAR_FONT);
+            regularBytes = bytes;
+        }
+        return bytes;
+    }
+
+    private byte[] boldBytes() throws IOException {
+        byte[] bytes = boldBytes;
+        if (bytes == null) {
+            bytes = read(BOLD_FONT);
+            boldBytes = bytes;
+        }
+        return bytes;
+    }
+
+    private static byte[] read(String path) throws IOException {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    // 파싱된 본문/굵게 폰트 한 쌍과 각각의 너비 캐시
+    public record FontSet(TrueTypeFont regular, TrueTypeFont bold, PdfGlyphWidths regularWidths, PdfGlyphWidths boldWidths) {
+        void close() {
+            try {
+                regular.close();
+                bold.close();
+            } catch (IOException e) {
+                log.debug("PDF 폰트 해제 실패 - error: {}", e.getMessage());
+            }
+        }
+    }
+
+    // 대여한 폰트 한 쌍 (close 시 반납)
+    public final class Lease implements AutoCloseable {
+        private FontSet fontSet;
+
+        private Lease(FontSet fontSet) {
+            this.fontSet = fontSet;
+        }
+
+        public TrueTypeFont regular() {
+            return fontSet.regular();
+        }
+
+        public TrueTypeFont bold() {
+            return fontSet.bold();
+        }
+
+        public PdfGlyphWidths regularWidths() {
+            return fontSet.regularWidths();
+        }
+
+        public PdfGlyphWidths boldWidths() {
+            return fontSet.boldWidths();
+        }
+
+        @Override
+        public void close() {
+            if (fontSet == null) {
+                return;
+            }
+            idle.offer(fontSet);
+            fontSet = null;
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.cj.genieq.passage.service;
+
+import org.apache.fontbox.ttf.CmapLookup;
+import org.apache.fontbox.ttf.TrueTypeFont;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 코드 포인트별 글리프 너비 캐시 (단위: 1/1000 em, PDF 글꼴 너비 단위)
+ *
+ * 임베딩된 PDType0Font 가 쓰는 값(advance width 를 1000 단위로 반올림)과 같게 계산하므로
+ * 문서마다 새로 만든 PDType0Font 를 거치지 않고도 같은 폭이 나온다.
+ * 파싱된 TrueTypeFont 하나에 하나씩 붙어 함께 대여되므로(PdfFontRegistry) 동기화하지 않는다.
+ */
+public final class PdfGlyphWidths {
+
+    // 폰트에 글리프가 없는 문자 (그리면 PDFBox 가 예외를 던지므로 배치에서 제외)
+    public static final float MISSING = -1;
+
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    private final TrueTypeFont font;
+    private final CmapLookup cmap;
+    private final float scale;
+    // 256 코드 포인트 단위로 필요할 때만 할당 (한글 음절 영역만 써도 전체 배열을 잡지 않도록)
+    private final float[][] pages = new float[(Character.MAX_CODE_POINT + 1) >>> PAGE_BITS][];
+
+    public PdfGlyphWidths(TrueTypeFont font) throws IOException {
+        this.font = font;
+        this.cmap = font.getUnicodeCmapLookup();
+        this.scale = 1000f / font.getUnitsPerEm();
+    }
+
+    public float width(int codePoint) {
+        float[] page = pages[codePoint >>> PAGE_BITS];
+        if (page == null) {
+            page = new float[PAGE_SIZE];
+            Arrays.fill(page, Float.NaN);
+            pages[codePoint >>> PAGE_BITS] = page;
+        }
+        float width = page[codePoint & (PAGE_SIZE - 1)];
+        if (Float.isNaN(width)) {
+            width = measure(codePoint);
+            page[codePoint & (PAGE_SIZE - 1)] = width;
+        }
+        return width;
+    }
+
+    private float measure(int codePoint) {
+        int gid = cmap != null ? cmap.getGlyphId(codePoint) : 0;
+        if (gid == 0) {
+            return MISSING;
+        }
+        try {
+            return Math.round(font.getAdvanceWidth(gid) * scale);
+        } catch (IOException e) {
+            return MISSING;
+        }
+    }
+}
@@ -0,0 +1,514 @@
+package com.cj.genieq.passage.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * PDF 본문 배치 (문서 하나에 하나씩 생성, 스레드 간 공유하지 않음)
+ *
+ * - 폭 계산: 코드 포인트별 너비 캐시(PdfGlyphWidths)만 사용 (글자마다 문자열을 만들어 재지 않음)
+ * - 줄 나눔: 텍스트를 한 번만 훑으며 단어 단위로 채우고, 한 줄보다 긴 단어는 글자 단위로 끊는다
+ * - 페이지: 현재 페이지/콘텐츠 스트림/세로 위치를 상태로 들고 있다가 아래 여백에 닿으면 새 페이지에서 이어 그린다
+ * - 테두리: 테두리 영역이 페이지를 넘어가면 페이지마다 그 페이지에 걸친 부분만 그린다
+ */
+public final class PdfLayoutEngine implements Closeable {
+
+    public static final float MARGIN = 80;
+    public static final float PAGE_HEIGHT = PDRectangle.A4.getHeight();
+    public static final float CONTENT_WIDTH = PDRectangle.A4.getWidth() - (2 * MARGIN);
+    public static final float BOX_PADDING = 10;
+
+    private static final float LINE_SPACING = 1.5f;
+    private static final float LINE_WIDTH = 0.5f;
+
+    // 글자 스타일 (비트 조합)
+    public static final int BOLD = 1;
+    public static final int UNDERLINE = 2;
+    public static final int STRIKE = 4;
+
+    // 닫힐 때 줄을 바꾸는 블록 태그 (ul/ol/table 은 안쪽 li/tr 에서 이미 바뀜)
+    private static final Set<String> BREAK_TAGS = Set.of(
+            "p", "div", "li", "tr", "blockquote", "h1", "h2", "h3", "h4", "h5", "h6");
+
+    private final PDDocument document;
+    private final Fonts fonts;
+
+    private PDPageContentStream stream;
+    private float y;
+    private int pageCount;
+
+    // 진행 중인 테두리 (현재 페이지 구간의 위쪽 끝)
+    private boolean boxOpen;
+    private float boxX;
+    private float boxWidth;
+    private float boxTop;
+
+    public PdfLayoutEngine(PDDocument document, Fonts fonts) {
+        this.document = document;
+        this.fonts = fonts;
+    }
+
+    // 문서에 올린 폰트와 너비 캐시
+    public record Fonts(PDType0Font regular, PDType0Font bold,
+                        PdfGlyphWidths regularWidths, PdfGlyphWidths boldWidths) implements Measure {
+        PDType0Font font(int style) {
+            return (style & BOLD) != 0 ? bold : regular;
+        }
+
+        @Override
+        public float width(int codePoint, int style) {
+            return ((style & BOLD) != 0 ? boldWidths : regularWidths).width(codePoint);
+        }
+    }
+
+    // 글자 너비 (1/1000 em, 글리프가 없으면 음수)
+    @FunctionalInterface
+    interface Measure {
+        float width(int codePoint, int style);
+    }
+
+    // 같은 스타일의 텍스트 조각 (text 가 null 이면 강제 줄바꿈)
+    record Span(String text, int style) {
+        static final Span BREAK = new Span(null, 0);
+
+        boolean isBreak() {
+            return text == null;
+        }
+    }
+
+    // 한 줄 안의 같은 스타일 구간 (width: 1/1000 em)
+    record Segment(String text, int style, float width) {}
+
+    record Line(List<Segment> segments, float width) {}
+
+    @FunctionalInterface
+    interface LineSink {
+        void accept(Line line) throws IOException;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    // 새 페이지 시작 (진행 중인 테두리는 현재 페이지에서 닫고 새 페이지에서 이어 감)
+    public void newPage() throws IOException {
+        if (stream != null) {
+            if (boxOpen) {
+                strokeBoxSegment();
+            }
+            stream.close();
+        }
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        stream = new PDPageContentStream(document, page);
+        pageCount++;
+        y = PAGE_HEIGHT - MARGIN;
+        if (boxOpen) {
+            boxTop = y;
+            y -= BOX_PADDING;
+        }
+    }
+
+    // 세로 간격 (페이지를 넘기는 것은 다음 줄을 그릴 때 판단)
+    public void gap(float height) {
+        y -= height;
+    }
+
+    // 테두리 시작 (안쪽 텍스트는 x + BOX_PADDING 부터 width - 2 * BOX_PADDING 폭으로 배치)
+    public void beginBox(float x, float width, int fontSize) throws IOException {
+        ensure(BOX_PADDING * 2 + fontSize * LINE_SPACING);
+        boxOpen = true;
+        boxX = x;
+        boxWidth = width;
+        boxTop = y;
+        y -= BOX_PADDING;
+    }
+
+    public void endBox() throws IOException {
+        if (!boxOpen) {
+            return;
+        }
+        y = strokeBoxSegment();
+        boxOpen = false;
+    }
+
+    // HTML(b/strong, u, s/del 스타일과 블록/줄바꿈 태그) 또는 평문 배치
+    public void paragraph(String html, float x, float width, int fontSize) throws IOException {
+        labeled(null, 0, html, x, width, fontSize);
+    }
+
+    /**
+     * 첫 줄 앞에 라벨(문항 번호, 선택지 기호 등)을 붙여 배치
+     * 라벨은 labelX 에, 본문은 x 부터 width 폭으로 줄을 나눠 그린다 (둘째 줄부터 본문 위치에 맞춰 들여쓰기)
+     */
+    public void labeled(String label, float labelX, String html, float x, float width, int fontSize) throws IOException {
+        float lineHeight = fontSize * LINE_SPACING;
+        boolean[] first = {true};
+        breakLines(parse(html), fonts, width * 1000 / fontSize, line -> {
+            drawLine(line, first[0] ? label : null, labelX, x, fontSize, lineHeight);
+            first[0] = false;
+        });
+        if (first[0] && label != null) {
+            drawLine(new Line(List.of(), 0), label, labelX, x, fontSize, lineHeight);
+        }
+    }
+
+    // 라벨 등 한 줄 텍스트의 폭 (pt)
+    public float textWidth(String text, int style, int fontSize) {
+        float units = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            units += Math.max(fonts.width(codePoint, style), 0);
+        }
+        return units * fontSize / 1000;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (stream == null) {
+            return;
+        }
+        endBox();
+        stream.close();
+        stream = null;
+    }
+
+    // 남은 공간이 height 보다 적으면 새 페이지 (테두리 안이면 아래 안쪽 여백까지 고려)
+    private void ensure(float height) throws IOException {
+        if (stream == null || y - height - (boxOpen ? BOX_PADDING : 0) < MARGIN) {
+            newPage();
+        }
+    }
+
+    private void drawLine(Line line, String label, float labelX, float x, int fontSize, float lineHeight) throws IOException {
+        ensure(lineHeight);
+        float baseline = y - fontSize;
+
+        if (label != null) {
+            showText(visible(label), fonts.regular(), labelX, baseline, fontSize);
+        }
+
+        float currentX = x;
+        for (Segment segment : line.segments()) {
+            float segmentWidth = segment.width() * fontSize / 1000;
+            showText(segment.text(), fonts.font(segment.style()), currentX, baseline, fontSize);
+            if ((segment.style() & UNDERLINE) != 0) {
+                strokeLine(currentX, baseline - 1.5f, segmentWidth);
+            }
+            if ((segment.style() & STRIKE) != 0) {
+                strokeLine(currentX, baseline + fontSize / 3f, segmentWidth);
+            }
+            currentX += segmentWidth;
+        }
+        y -= lineHeight;
+    }
+
+    private void showText(String text, PDType0Font font, float x, float baseline, int fontSize) throws IOException {
+        if (text.isEmpty()) {
+            return;
+        }
+        stream.beginText();
+        stream.setFont(font, fontSize);
+        stream.newLineAtOffset(x, baseline);
+        stream.showText(text);
+        stream.endText();
+    }
+
+    private void strokeLine(float x, float lineY, float width) throws IOException {
+        stream.setLineWidth(LINE_WIDTH);
+        stream.moveTo(x, lineY);
+        stream.lineTo(x + width, lineY);
+        stream.stroke();
+    }
+
+    // 현재 페이지에 걸친 테두리 구간을 그리고 아래 끝 위치 반환
+    private float strokeBoxSegment() throws IOException {
+        float bottom = y - BOX_PADDING;
+        stream.setLineWidth(LINE_WIDTH);
+        stream.addRect(boxX, bottom, boxWidth, boxTop - bottom);
+        stream.stroke();
+        return bottom;
+    }
+
+    // 글리프가 없는 문자 제거 (라벨용)
+    private String visible(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (fonts.width(codePoint, 0) >= 0) {
+                sb.appendCodePoint(codePoint);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 에디터 HTML 을 스타일 조각 목록으로 변환
+     * - b/strong, u, s/del/strike 는 스타일로, br 과 블록 태그의 닫는 태그는 강제 줄바꿈으로 바꾸고 나머지 태그는 무시한다
+     * - 평문의 개행도 줄바꿈으로 보되, 블록 태그 직후의 개행(태그 사이 들여쓰기)은 무시한다
+     */
+    static List<Span> parse(String html) {
+        List<Span> spans = new ArrayList<>();
+        if (html == null || html.isEmpty()) {
+            return spans;
+        }
+
+        StringBuilder text = new StringBuilder();
+        int bold = 0;
+        int underline = 0;
+        int strike = 0;
+        boolean afterBlock = false;
+        int i = 0;
+        int length = html.length();
+        while (i < length) {
+            char c = html.charAt(i);
+
+            if (c == '<') {
+                int end = html.indexOf('>', i);
+                if (end < 0) {
+                    break; // 닫히지 않은 태그 이후는 버림
+                }
+                boolean closing = i + 1 < end && html.charAt(i + 1) == '/';
+                String name = tagName(html, closing ? i + 2 : i + 1, end);
+                int style = style(bold, underline, strike);
+                switch (name) {
+                    case "b", "strong" -> bold = Math.max(bold + (closing ? -1 : 1), 0);
+                    case "u" -> underline = Math.max(underline + (closing ? -1 : 1), 0);
+                    case "s", "del", "strike" -> strike = Math.max(strike + (closing ? -1 : 1), 0);
+                    default -> {
+                    }
+                }
+                if (name.equals("br") || (closing && BREAK_TAGS.contains(name))) {
+                    flush(spans, text, style);
+                    spans.add(Span.BREAK);
+                    afterBlock = !name.equals("br");
+                } else if (style(bold, underline, strike) != style) {
+                    flush(spans, text, style);
+                }
+                i = end + 1;
+                continue;
+            }
+
+            String decoded = null;
+            if (c == '&') {
+                int end = html.indexOf(';', i);
+                if (end > i + 1 && end - i <= 10) {
+                    decoded = PassageContentStore.decodeEntity(html.substring(i + 1, end));
+                    if (decoded != null) {
+                        i = end + 1;
+                    }
+                }
+            }
+            if (decoded == null) {
+                decoded = String.valueOf(c);
+                i++;
+            }
+
+            for (int k = 0; k < decoded.length(); k++) {
+                char ch = decoded.charAt(k);
+                if (ch == '\n') {
+                    if (!afterBlock) {
+                        flush(spans, text, style(bold, underline, strike));
+                        spans.add(Span.BREAK);
+                    }
+                } else if (ch == '\r') {
+                    // 무시
+                } else if (Character.isWhitespace(ch) || ch == '\u00A0') {
+                    text.append(' ');
+                } else {
+                    text.append(ch);
+                    afterBlock = false;
+                }
+            }
+        }
+        flush(spans, text, style(bold, underline, strike));
+        return spans;
+    }
+
+    /**
+     * 한 번의 순회로 줄 나눔 (maxUnits: 줄 폭, 1/1000 em)
+     * 단어는 공백 단위이며 스타일이 바뀌어도 공백이 없으면 같은 단어로 본다.
+     * 줄 끝 공백은 줄에 넣지 않고, 글리프가 없는 문자는 건너뛴다.
+     */
+    static void breakLines(List<Span> spans, Measure measure, float maxUnits, LineSink sink) throws IOException {
+        LineBreaker breaker = new LineBreaker(measure, maxUnits, sink);
+        for (Span span : spans) {
+            if (span.isBreak()) {
+                breaker.hardBreak();
+                continue;
+            }
+            String text = span.text();
+            for (int i = 0; i < text.length(); ) {
+                int codePoint = text.codePointAt(i);
+                i += Character.charCount(codePoint);
+                if (codePoint == ' ') {
+                    breaker.space(span.style());
+                } else {
+                    breaker.character(codePoint, span.style());
+                }
+            }
+        }
+        breaker.finish();
+    }
+
+    private static final class LineBreaker {
+        private final Measure measure;
+        private final float maxUnits;
+        private final LineSink sink;
+
+        // 현재 줄 (마지막 구간은 이어 붙일 수 있도록 StringBuilder 로 유지)
+        private final List<Segment> line = new ArrayList<>();
+        private final StringBuilder lineText = new StringBuilder();
+        private int lineStyle;
+        private float lineSegmentWidth;
+        private float lineWidth;
+
+        // 배치 대기 중인 단어 (스타일별 조각)
+        private final List<Segment> word = new ArrayList<>();
+        private final StringBuilder wordText = new StringBuilder();
+        private int wordStyle;
+        private float wordPieceWidth;
+        private float wordWidth;
+
+        private boolean pendingSpace;
+        private int spaceStyle;
+
+        private LineBreaker(Measure measure, float maxUnits, LineSink sink) {
+            this.measure = measure;
+            this.maxUnits = maxUnits;
+            this.sink = sink;
+        }
+
+        void character(int codePoint, int style) throws IOException {
+            float width = measure.width(codePoint, style);
+            if (width < 0) {
+                return;
+            }
+            // 한 줄보다 긴 단어는 넘치기 직전까지를 한 줄로 내보냄
+            if (wordWidth > 0 && wordWidth + width > maxUnits) {
+                placeWord();
+                emitLine();
+            }
+            if (wordText.length() > 0 && style != wordStyle) {
+                closeWordPiece();
+            }
+            wordStyle = style;
+            wordText.appendCodePoint(codePoint);
+            wordPieceWidth += width;
+            wordWidth += width;
+        }
+
+        void space(int style) throws IOException {
+            placeWord();
+            if (!isLineEmpty()) {
+                pendingSpace = true;
+                spaceStyle = style;
+            }
+        }
+
+        void hardBreak() throws IOException {
+            placeWord();
+            emitLine();
+        }
+
+        void finish() throws IOException {
+            placeWord();
+            if (!isLineEmpty()) {
+                emitLine();
+            }
+        }
+
+        private void placeWord() throws IOException {
+            closeWordPiece();
+            if (word.isEmpty()) {
+                return;
+            }
+            float spaceWidth = pendingSpace && !isLineEmpty() ? Math.max(measure.width(' ', spaceStyle), 0) : 0;
+            if (!isLineEmpty() && lineWidth + spaceWidth + wordWidth > maxUnits) {
+                emitLine();
+                spaceWidth = 0;
+            }
+            if (spaceWidth > 0) {
+                append(" ", spaceStyle, spaceWidth);
+            }
+            for (Segment piece : word) {
+                append(piece.text(), piece.style(), piece.width());
+            }
+            word.clear();
+            wordWidth = 0;
+            pendingSpace = false;
+        }
+
+        private void closeWordPiece() {
+            if (wordText.length() == 0) {
+                return;
+            }
+            word.add(new Segment(wordText.toString(), wordStyle, wordPieceWidth));
+            wordText.setLength(0);
+            wordPieceWidth = 0;
+        }
+
+        // 같은 스타일이면 마지막 구간에 이어 붙여 showText 호출 수를 줄임
+        private void append(String text, int style, float width) {
+            if (lineText.length() > 0 && style != lineStyle) {
+                closeLineSegment();
+            }
+            lineStyle = style;
+            lineText.append(text);
+            lineSegmentWidth += width;
+            lineWidth += width;
+        }
+
+        private void closeLineSegment() {
+            if (lineText.length() == 0) {
+                return;
+            }
+            line.add(new Segment(lineText.toString(), lineStyle, lineSegmentWidth));
+            lineText.setLength(0);
+            lineSegmentWidth = 0;
+        }
+
+        private boolean isLineEmpty() {
+            return line.isEmpty() && lineText.length() == 0;
+        }
+
+        private void emitLine() throws IOException {
+            closeLineSegment();
+            sink.accept(new Line(List.copyOf(line), lineWidth));
+            line.clear();
+            lineWidth = 0;
+            pendingSpace = false;
+        }
+    }
+
+    private static void flush(List<Span> spans, StringBuilder text, int style) {
+        if (text.length() == 0) {
+            return;
+        }
+        spans.add(new Span(text.toString(), style));
+        text.setLength(0);
+    }
+
+    private static int style(int bold, int underline, int strike) {
+        return (bold > 0 ? BOLD : 0) | (underline > 0 ? UNDERLINE : 0) | (strike > 0 ? STRIKE : 0);
+    }
+
+    private static String tagName(String html, int start, int end) {
+        int i = start;
+        while (i < end && Character.isLetterOrDigit(html.charAt(i))) {
+            i++;
+        }
+        return html.substring(start, i).toLowerCase();
+    }
+}
@@ -2,364 +2,70 @@ package com.cj.genieq.passage.service;
 
 import com.cj.genieq.passage.dto.response.PassageWithQuestionsResponseDto;
 import com.cj.genieq.question.dto.response.QuestionSelectResponseDto;
-import com.itextpdf.io.font.FontProgramFactory;
-import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.kernel.font.PdfFontFactory;
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.List;
-import com.itextpdf.layout.element.ListItem;
-import com.itextpdf.layout.element.Paragraph;
-import com.itextpdf.layout.element.Text;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDType0Font;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-
+import java.io.OutputStream;
+import java.util.List;
+
+import static com.cj.genieq.passage.service.PdfLayoutEngine.BOX_PADDING;
+import static com.cj.genieq.passage.service.PdfLayoutEngine.CONTENT_WIDTH;
+import static com.cj.genieq.passage.service.PdfLayoutEngine.MARGIN;
+
+/**
+ * 지문/문항 PDF 생성
+ * 싱글톤이므로 요청별 상태(문서, 문서에 올린 폰트, 페이지 배치)는 필드에 두지 않고 요청마다 만든다.
+ * 파싱된 폰트는 PdfFontRegistry 에서 빌려 쓰고 문서 저장이 끝나면 반납한다.
+ * 배치(줄 나눔, 페이지 넘김, 지문 테두리)는 PdfLayoutEngine 이 담당한다.
+ * 결과는 byte[] 로 모으지 않고 호출자가 준 OutputStream(HTTP 응답 등)에 바로 쓴다.
+ */
 @Service
+@RequiredArgsConstructor
 public class PdfService {
 
-    private static final float MARGIN = 80;
-    private static final float CONTENT_WIDTH = PDRectangle.A4.getWidth() - (2 * MARGIN);
-    private static final float PAGE_HEIGHT = PDRectangle.A4.getHeight();
+    // 출력 모양이 바뀌면 올림 (추출 파일 캐시 키에 포함되어 이전 결과를 쓰지 않게 됨)
+    public static final String RENDERER_VERSION = "2";
 
-    private String stripHtmlTags(String html) {
-        if (html == null || html.isEmpty()) {
-            return "";
-        }
-        // HTML 태그 제거 정규식
-        return html.replaceAll("<[^>]*>", "");
-    }
+    private static final int FONT_SIZE = 10;
+    private static final float INDENT = 20;
+    private static final String[] OPTION_NUMS = {"①", "②", "③", "④", "⑤"};
 
-    // 폰트 관련 필드 추가
-    private PDType0Font regularFont;
-    private PDType0Font boldFont;
+    private final PdfFontRegistry fontRegistry;
 
-    // 폰트 로드 메서드
-    private void loadFonts(PDDocument document) throws IOException {
-        regularFont = PDType0Font.load(document, new ClassPathResource("fonts/BookkMyungjo_Light.ttf").getInputStream());
-        boldFont = PDType0Font.load(document, new ClassPathResource("fonts/BookkMyungjo_Bold.ttf").getInputStream());
+    /**
+     * PDF 를 out 에 기록 (out 은 닫지 않음)
+     */
+    public void writePdf(PassageWithQuestionsResponseDto dto, OutputStream out) {
+        writePdf(dto, 1, out);
     }
 
-    // 개행 문자 처리를 위한 renderFormattedText 메서드 수정
-    private float renderFormattedText(PDDocument document, PDPageContentStream contentStream,
-                                      String html, float x, float y, int fontSize, float width, float boxStartX, float boxStartY) throws IOException {
-        if (html == null || html.isEmpty()) {
-            return y;
-        }
-
-        // 개행 문자('\n')를 <br> 태그로 변환
-        html = html.replace("\n", "<br>");
-
-        float currentX = x;
-        float currentY = y;
-        float startY = y;
-        float height = 0;
-        float lineHeight = fontSize * 1.5f;
-        float currentWidth = 0;
-        StringBuilder currentText = new StringBuilder();
-
-        // 현재 스타일 상태
-        boolean isBold = false;
-        boolean isUnderline = false;
-        boolean isStrikethrough = false;
-
-        int i = 0;
-        while (i < html.length()) {
-            if (html.charAt(i) == '<') {
-                // 현재까지 수집된 텍스트 출력
-                if (currentText.length() > 0) {
-                    drawStyledText(contentStream, currentText.toString(), currentX, currentY, fontSize,
-                            isBold, isUnderline, isStrikethrough);
-
-                    // X 위치 업데이트
-                    float textWidth = (isBold ? boldFont : regularFont).getStringWidth(currentText.toString()) / 1000 * fontSize;
-                    currentX += textWidth;
-                    currentWidth += textWidth;
-                    currentText.setLength(0); // 텍스트 버퍼 초기화
-                }
-
-                // 태그 찾기
-                int closeTagIndex = html.indexOf('>', i);
-                if (closeTagIndex == -1) break;
-
-                String tag = html.substring(i, closeTagIndex + 1).toLowerCase();
-
-                // 스타일 태그 처리
-                if (tag.equals("<b>")) {
-                    isBold = true;
-                } else if (tag.equals("</b>")) {
-                    isBold = false;
-                } else if (tag.equals("<u>")) {
-                    isUnderline = true;
-                } else if (tag.equals("</u>")) {
-                    isUnderline = false;
-                } else if (tag.equals("<s>") || tag.equals("<del>")) {
-                    isStrikethrough = true;
-                } else if (tag.equals("</s>") || tag.equals("</del>")) {
-                    isStrikethrough = false;
-                } else if (tag.equals("<br>")) {
-                    // 줄바꿈 처리
-                    currentY -= lineHeight;
-                    height += lineHeight;
-                    currentX = x;
-                    currentWidth = 0;
-                }
-
-                i = closeTagIndex + 1;
-            } else {
-                // 단어 단위 처리
-                int spaceIndex = html.indexOf(' ', i);
-                int tagIndex = html.indexOf('<', i);
-                int endIndex;
-
-                if (spaceIndex == -1) spaceIndex = html.length();
-                if (tagIndex == -1) tagIndex = html.length();
-                endIndex = Math.min(spaceIndex, tagIndex);
-
-                // 현재 위치부터 공백 또는 태그까지의 단어를 추출
-                String word = html.substring(i, endIndex);
-
-                // 단어 너비 계산
-                float wordWidth = (isBold ? boldFont : regularFont).getStringWidth(word + (spaceIndex == endIndex ? " " : "")) / 1000 * fontSize;
-
-                // 줄바꿈 처리
-                if (currentWidth + wordWidth > width && currentWidth > 0) {
-                    // 현재까지 수집된 텍스트 출력
-                    if (currentText.length() > 0) {
-                        drawStyledText(contentStream, currentText.toString(), currentX, currentY, fontSize,
-                                isBold, isUnderline, isStrikethrough);
-                        currentText.setLength(0);
-                    }
-
-                    // 줄바꿈
-                    currentY -= lineHeight;
-                    currentX = x;
-                    currentWidth = 0;
-                }
-
-                // 단어 추가
-                currentText.append(word);
-                if (spaceIndex == endIndex && endIndex < html.length()) {
-                    currentText.append(" ");
+    /**
+     * 문항 번호를 startNumber 부터 매겨 PDF 를 out 에 기록 (묶음 추출에서 지문별로 나눠 생성할 때 사용)
+     */
+    public void writePdf(PassageWithQuestionsResponseDto dto, int startNumber, OutputStream out) {
+        // 폰트 반납은 문서 저장(서브셋 임베딩) 이후여야 하므로 lease 를 먼저 열고 마지막에 닫음
+        try (PdfFontRegistry.Lease lease = fontRegistry.borrow();
+             PDDocument document = new PDDocument()) {
+
+            try (PdfLayoutEngine layout = new PdfLayoutEngine(document, loadFonts(document, lease))) {
+                writePassage(layout, dto.getContent());
+
+                List<QuestionSelectResponseDto> questions = dto.getQuestions();
+                if (questions != null && !questions.isEmpty()) {
+                    // 문항, 정답 및 해설은 각각 새 페이지부터
+                    layout.newPage();
+                    writeQuestions(layout, questions, startNumber);
+                    layout.newPage();
+                    writeAnswers(layout, questions, startNumber);
                 }
-
-                // 단어 너비 추가
-                currentWidth += wordWidth;
-                i = endIndex;
-                if (spaceIndex == endIndex) i++; // 공백 건너뛰기
             }
-        }
-
-        // 남은 텍스트 출력
-        if (currentText.length() > 0) {
-            drawStyledText(contentStream, currentText.toString(), currentX, currentY, fontSize,
-                    isBold, isUnderline, isStrikethrough);
-        }
-
-        // 지문이 있는 경우에만 테두리 그리기
-        if (boxStartX > 0 && boxStartY > 0) {
-            float boxHeight = startY - currentY + lineHeight;
-            contentStream.setLineWidth(0.5f);
-            contentStream.addRect(boxStartX - 10, currentY - lineHeight, width + 20, boxHeight + 20);
-            contentStream.stroke();
-        }
-
-        return currentY - lineHeight;
-    }
-
-    // 스타일이 적용된 텍스트 그리기 메서드 수정
-    private void drawStyledText(PDPageContentStream contentStream, String text,
-                                float x, float y, int fontSize, boolean bold, boolean underline, boolean strikethrough) throws IOException {
-        try {
-            PDType0Font fontToUse = bold ? boldFont : regularFont;
-
-            contentStream.beginText();
-            contentStream.setFont(fontToUse, fontSize);
-            contentStream.newLineAtOffset(x, y);
-            contentStream.showText(text);
-            contentStream.endText();
-
-            float textWidth = fontToUse.getStringWidth(text) / 1000 * fontSize;
 
-            // 밑줄 그리기
-            if (underline) {
-                contentStream.setLineWidth(0.5f);
-                contentStream.moveTo(x, y - 1.5f);
-                contentStream.lineTo(x + textWidth, y - 1.5f);
-                contentStream.stroke();
-            }
-
-            // 취소선 그리기
-            if (strikethrough) {
-                contentStream.setLineWidth(0.5f);
-                contentStream.moveTo(x, y + fontSize/3);
-                contentStream.lineTo(x + textWidth, y + fontSize/3);
-                contentStream.stroke();
-            }
-        } catch (IOException e) {
-            throw e;
-        }
-    }
-
-    public byte[] createPdfFromDto(PassageWithQuestionsResponseDto dto) {
-        try (PDDocument document = new PDDocument();
-             ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-
-            // 폰트 로드
-            loadFonts(document);
-
-            // 첫 페이지 생성
-            PDPage contentPage = new PDPage(PDRectangle.A4);
-            document.addPage(contentPage);
-
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, contentPage)) {
-                float currentX = MARGIN;
-                float currentY = PAGE_HEIGHT - MARGIN;
-                // 지문 전, 텍스트 출력
-                contentStream.beginText();
-                contentStream.setFont(regularFont, 10);
-                contentStream.newLineAtOffset(currentX, currentY);
-                contentStream.showText("다음 글을 읽고, 물음에 답하시오.");
-                contentStream.endText();
-
-                currentY -= 20;
-
-                // 지문 테두리 그리기를 위한 시작점
-                float boxStartX = currentX;
-                float boxStartY = currentY;
-
-                currentY -= 10;
-
-                // 지문 출력 (여러 줄 처리)
-                String content = dto.getContent();
-                renderFormattedText(document, contentStream, content, currentX, currentY,
-                        10, CONTENT_WIDTH - 20, boxStartX, boxStartY);
-            }
-
-            // 문항이 있는 경우, 새 페이지에 문항 출력
-            if (dto.getQuestions() != null && !dto.getQuestions().isEmpty()) {
-                PDPage questionPage = new PDPage(PDRectangle.A4);
-                document.addPage(questionPage);
-
-                try (PDPageContentStream questionStream = new PDPageContentStream(document, questionPage)) {
-                    float yPosition = PAGE_HEIGHT - MARGIN;
-                    int questionNum = 1;
-
-                    for (QuestionSelectResponseDto question : dto.getQuestions()) {
-                        // 문제 내용
-                        String questionText = stripHtmlTags(question.getQueQuery());
-                        questionStream.beginText();
-                        questionStream.setFont(regularFont, 10);
-                        questionStream.newLineAtOffset(50, yPosition);
-                        questionStream.showText(questionNum + ". " + questionText);
-                        questionStream.endText();
-
-                        // 보기 출력
-                        float optionY = yPosition - 30;
-                        String[] optionNums = {"①","②","③","④","⑤"};
-                        int optionNum = 0;
-                        // queOption 을 리스트에서 String Tiptap 방식으로 변경하게되면서 수정.
-                        for (String option : question.getQueOption().split("</p>")) {
-                            String prefix = (optionNum < optionNums.length) ? optionNums[optionNum] : String.valueOf(optionNum + 1) + ". ";
-
-                            questionStream.beginText();
-                            questionStream.setFont(regularFont, 10);
-                            questionStream.newLineAtOffset(70, optionY);
-                            questionStream.showText(prefix + " ");
-                            questionStream.endText();
-
-                            String optionText = stripHtmlTags(option);
-
-                            float prefixWidth = regularFont.getStringWidth(prefix + " ") / 1000 * 10;
-                            float newX = MARGIN + prefixWidth;
-                            optionY = writeMultiLineText(document, questionStream, regularFont, optionText, newX, optionY,
-                                    10, CONTENT_WIDTH - 20, 0, 0);
-
-                            optionY -= 5;
-                            optionNum++;
-                        }
-                        yPosition = optionY - 20;
-                        questionNum++;
-                    }
-                }
-            }
-
-            // 새 페이지에 정답 및 해설 출력
-            if (dto.getQuestions() != null && !dto.getQuestions().isEmpty()) {
-                PDPage answerPage = new PDPage(PDRectangle.A4);
-                document.addPage(answerPage);
-
-                try (PDPageContentStream answerStream = new PDPageContentStream(document, answerPage)) {
-                    float yPosition = PAGE_HEIGHT - MARGIN;
-                    int questionNum = 1;
-
-                    for (QuestionSelectResponseDto question : dto.getQuestions()) {
-                        // 문제 번호 출력
-                        answerStream.beginText();
-                        answerStream.setFont(regularFont, 10);
-                        answerStream.newLineAtOffset(MARGIN, yPosition);
-                        answerStream.showText(questionNum + ". ");
-                        answerStream.endText();
-
-                        // 정답 출력
-                        String answerText = question.getQueAnswer();
-                        String circleText = "";
-                        String[] optionNums = {"①","②","③","④","⑤"};
-
-                        try {
-                            int answerNum = Integer.parseInt(answerText);
-                            if (answerNum >= 1 && answerNum <= 5) {
-                                circleText = optionNums[answerNum - 1]; // 1부터 시작하는 번호를 0-4 인덱스로 변환
-                            } else {
-                                circleText = answerText; // 범위 밖의 번호는 그대로 출력
-                            }
-                        } catch (NumberFormatException e) {
-                            // 숫자가 아닌 경우 원본 텍스트 사용
-                            circleText = answerText;
-                        }
-
-                        answerStream.beginText();
-                        answerStream.setFont(regularFont, 10);
-                        answerStream.newLineAtOffset(MARGIN + 20, yPosition);
-                        answerStream.showText("정답 : " + circleText);
-                        answerStream.endText();
-
-                        yPosition -= 20;
-
-                        // 해설 출력
-                        if (question.getQueDescription() != null && !question.getQueDescription().isEmpty()) {
-                            answerStream.beginText();
-                            answerStream.setFont(regularFont, 10);
-                            answerStream.newLineAtOffset(MARGIN + 20, yPosition);
-                            answerStream.showText("해설 : ");
-                            answerStream.endText();
-
-                            String description = stripHtmlTags(question.getQueDescription());
-
-                            float labelWidth = regularFont.getStringWidth("해설 : ") / 1000 * 10;
-                            float newX = MARGIN + 20 + labelWidth;
-
-                            yPosition = writeMultiLineText(document, answerStream, regularFont, description,
-                                    newX, yPosition, 10, CONTENT_WIDTH - 40, 0, 0);
-                        } else {
-                            yPosition -= 10;
-                        }
-
-                        yPosition -= 20; // 문제 간의 여백
-                        questionNum++;
-                    }
-                }
-            }
-            document.save(baos);
-            return baos.toByteArray();
+            // PDFBox 는 저장 후 스트림을 닫으므로 호출자 스트림(응답, ZIP 항목 등)을 보호
+            document.save(CloseShieldOutputStream.wrap(out));
         } catch (IOException e) {
             e.printStackTrace();
             System.out.println("PDF 생성 실패 원인 : " + e.getMessage());
@@ -367,75 +73,89 @@ public class PdfService {
         }
     }
 
-    private float writeMultiLineText(PDDocument document, PDPageContentStream contentStream, PDType0Font font,
-                                    String text, float x, float y, int fontSize, float width, float boxStartX, float boxStartY) throws IOException {
-
-        String[] paragraphs = text.split("\n");
-        float currentY = y;
-        float startY = y;
-        float height = 0;
-
-        for (String paragraph : paragraphs) {
-            // 단락 내에서 줄바꿈 처리 로직
-            int lastSpace = -1;
-            float startX = x;
-            float currentWidth = 0;
-
-            for (int i = 0; i < paragraph.length(); i++) {
-                char c = paragraph.charAt(i);
-                float charWidth = font.getStringWidth(String.valueOf(c)) / 1000 * fontSize;
+    // 빌린 폰트를 문서에 서브셋 임베딩으로 연결 (폰트 파일 재파싱 없음, TrueTypeFont 해제는 보관소 책임)
+    private PdfLayoutEngine.Fonts loadFonts(PDDocument document, PdfFontRegistry.Lease lease) throws IOException {
+        return new PdfLayoutEngine.Fonts(
+                PDType0Font.load(document, lease.regular(), true),
+                PDType0Font.load(document, lease.bold(), true),
+                lease.regularWidths(),
+                lease.boldWidths());
+    }
 
-                if (c == ' ') {
-                    lastSpace = i;
-                }
+    // 안내 문구 + 테두리 안 지문 (페이지를 넘어가면 페이지마다 테두리)
+    private void writePassage(PdfLayoutEngine layout, String content) throws IOException {
+        layout.paragraph("다음 글을 읽고, 물음에 답하시오.", MARGIN, CONTENT_WIDTH, FONT_SIZE);
+        layout.gap(10);
 
-                if (currentWidth + charWidth > width) {
-                    if (lastSpace >= 0) {
-                        contentStream.beginText();
-                        contentStream.setFont(font, fontSize);
-                        contentStream.newLineAtOffset(startX, currentY);
-                        contentStream.showText(paragraph.substring(0, lastSpace));
-                        contentStream.endText();
+        layout.beginBox(MARGIN, CONTENT_WIDTH, FONT_SIZE);
+        layout.paragraph(content, MARGIN + BOX_PADDING, CONTENT_WIDTH - 2 * BOX_PADDING, FONT_SIZE);
+        layout.endBox();
+    }
 
-                        paragraph = paragraph.substring(lastSpace + 1);
-                        i = 0;
-                        lastSpace = -1;
-                        currentY -= fontSize * 1.5;
-                        height += fontSize * 1.5;
-                        currentWidth = 0;
-                    }
+    // 문항 + 선택지 (번호는 startNumber 부터, 다음 번호 반환)
+    private int writeQuestions(PdfLayoutEngine layout, List<QuestionSelectResponseDto> questions, int startNumber) throws IOException {
+        int questionNum = startNumber;
+        for (QuestionSelectResponseDto question : questions) {
+            String numLabel = questionNum + ". ";
+            float numWidth = layout.textWidth(numLabel, 0, FONT_SIZE);
+            layout.labeled(numLabel, MARGIN, question.getQueQuery(),
+                    MARGIN + numWidth, CONTENT_WIDTH - numWidth, FONT_SIZE);
+            layout.gap(10);
+
+            // queOption 을 리스트에서 String Tiptap 방식으로 변경하게되면서 수정.
+            if (question.getQueOption() != null) {
+                int optionNum = 0;
+                for (String option : question.getQueOption().split("</p>")) {
+                    String prefix = (optionNum < OPTION_NUMS.length) ? OPTION_NUMS[optionNum] + " " : (optionNum + 1) + ". ";
+                    float prefixWidth = layout.textWidth(prefix, 0, FONT_SIZE);
+                    layout.labeled(prefix, MARGIN + INDENT, option,
+                            MARGIN + INDENT + prefixWidth, CONTENT_WIDTH - INDENT - prefixWidth, FONT_SIZE);
+                    layout.gap(5);
+                    optionNum++;
                 }
-                currentWidth += charWidth;
-            }
-            // 남은 텍스트 출력
-            if (paragraph.length() > 0) {
-                try {
-                    contentStream.beginText();
-                    contentStream.setFont(font, fontSize);
-                    contentStream.newLineAtOffset(startX, currentY);
-                    contentStream.showText(paragraph);
-                } finally {
-                    contentStream.endText(); // finally 블록에서 항상 호출되도록 함
-                }
-                currentY -= fontSize * 1.5;
-                height += fontSize * 1.5;
             }
+            layout.gap(20);
+            questionNum++;
         }
+        return questionNum;
+    }
 
-        // 지문이 있는 경우에만 테두리 그리기
-        if (boxStartX > 0 && boxStartY > 0) {
-            // 박스의 높이는 시작 Y와 현재 Y의 차이로 계산
-            float boxHeight = startY - currentY;
-            contentStream.setLineWidth(0.5f);
-            contentStream.addRect(boxStartX - 10, currentY, width + 20, boxHeight + 20);
-            contentStream.stroke();
-        }
+    // 정답 및 해설 (번호는 startNumber 부터, 다음 번호 반환)
+    private int writeAnswers(PdfLayoutEngine layout, List<QuestionSelectResponseDto> questions, int startNumber) throws IOException {
+        int questionNum = startNumber;
+        for (QuestionSelectResponseDto question : questions) {
+            layout.labeled(questionNum + ". ", MARGIN, "정답 : " + toCircleAnswer(question.getQueAnswer()),
+                    MARGIN + INDENT, CONTENT_WIDTH - INDENT, FONT_SIZE);
+
+            // 해설 출력
+            if (question.getQueDescription() != null && !question.getQueDescription().isEmpty()) {
+                String label = "해설 : ";
+                float labelWidth = layout.textWidth(label, 0, FONT_SIZE);
+                layout.labeled(label, MARGIN + INDENT, question.getQueDescription(),
+                        MARGIN + INDENT + labelWidth, CONTENT_WIDTH - INDENT - labelWidth, FONT_SIZE);
+            } else {
+                layout.gap(10);
+            }
 
-        // 현재 Y위치 반환
-        return currentY;
+            layout.gap(20); // 문제 간의 여백
+            questionNum++;
+        }
+        return questionNum;
     }
 
-    private float findLastYPosition(PDPageContentStream contentStream) {
-        return 400;
+    // 1~5 는 원문자로, 그 외(범위 밖 번호, 숫자가 아닌 정답)는 그대로
+    private static String toCircleAnswer(String answerText) {
+        if (answerText == null) {
+            return "";
+        }
+        try {
+            int answerNum = Integer.parseInt(answerText.trim());
+            if (answerNum >= 1 && answerNum <= OPTION_NUMS.length) {
+                return OPTION_NUMS[answerNum - 1];
+            }
+        } catch (NumberFormatException e) {
+            // 숫자가 아닌 경우 원본 텍스트 사용
+        }
+        return answerText;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,103 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.common.entity.MaintenanceMarkerEntity;
+import com.cj.genieq.common.repository.MaintenanceMarkerRepository;
+import com.cj.genieq.member.repository.MemberDataVersionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 지문 문항 수(passage.pas_question_count) 정합성 유지
+ *
+ * 1. 기동 시 보충(1회): 컬럼이 처음 추가되면 기존 지문은 모두 0 이므로 실제 문항 수로 채운다.
+ *    끝나면 maintenance_marker 에 기록하고 이후 기동에서는 건너뛴다 (전체 GROUP BY 를 매 기동마다 돌리지 않음).
+ * 2. 정합성 점검: 서비스를 거치지 않은 문항 변경(직접 SQL 등)으로 어긋난 지문을 주기적으로 찾아 고친다.
+ * 두 작업 모두 어긋난 지문만 골라 한 UPDATE 문 안에서 다시 세고, 자료실 읽기 모델도 함께 갱신한다.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory") // pas_question_count 컬럼 생성(ddl-auto) 이후 실행
+@RequiredArgsConstructor
+public class QuestionCountMaintenance {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String BACKFILL_MARKER = "question-count-backfill";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StorageItemProjector storageItemProjector;
+    private final MemberDataVersionRepository memberDataVersionRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MaintenanceMarkerRepository maintenanceMarkerRepository;
+
+    @PostConstruct
+    public void backfill() {
+        try {
+            if (maintenanceMarkerRepository.existsById(BACKFILL_MARKER)) {
+                return;
+            }
+            int fixed = fixMismatches();
+            maintenanceMarkerRepository.save(new MaintenanceMarkerEntity(BACKFILL_MARKER, LocalDateTime.now()));
+            log.info("지문 문항 수 보충 완료 - 지문 수: {}", fixed);
+        } catch (Exception e) {
+            // 표시를 남기지 않으므로 다음 기동에서 다시 시도
+            log.warn("지문 문항 수 보충 실패 - error: {}", e.getMessage());
+        }
+    }
+
+    // 정합성 점검 (매일 새벽)
+    @Scheduled(cron = "${genieq.question-count.check-cron:0 40 4 * * *}")
+    public void check() {
+        try {
+            int fixed = fixMismatches();
+            if (fixed > 0) {
+                log.warn("지문 문항 수 불일치 수정 - 지문 수: {}", fixed);
+            } else {
+                log.info("지문 문항 수 정합성 점검 완료 - 불일치 없음");
+            }
+        } catch (Exception e) {
+            log.warn("지문 문항 수 정합성 점검 실패 - error: {}", e.getMessage());
+        }
+    }
+
+    private int fixMismatches() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int fixed = 0;
+        long after = 0L;
+        while (true) {
+            // pas_code 순으로 불일치 지문만 조회
+            List<Long> pasCodes = jdbcTemplate.queryForList("""
+                    SELECT p.pas_code FROM passage p
+                    LEFT JOIN (SELECT pas_code, COUNT(*) AS cnt FROM question GROUP BY pas_code) q ON q.pas_code = p.pas_code
+                    WHERE p.pas_code > ? AND p.pas_question_count <> COALESCE(q.cnt, 0)
+                    ORDER BY p.pas_code
+                    LIMIT %d
+                    """.formatted(BATCH_SIZE), Long.class, after);
+            if (pasCodes.isEmpty()) {
+                break;
+            }
+
+            String inClause = String.join(",", pasCodes.stream().map(String::valueOf).toList());
+            transaction.executeWithoutResult(status -> {
+                jdbcTemplate.update("UPDATE passage p SET pas_question_count = " +
+                        "(SELECT COUNT(*) FROM question q WHERE q.pas_code = p.pas_code) " +
+                        "WHERE p.pas_code IN (" + inClause + ")");
+                storageItemProjector.refresh(pasCodes);
+                memberDataVersionRepository.bumpByPasCodes(pasCodes); // 응답 캐시/ETag 갱신
+            });
+
+            fixed += pasCodes.size();
+            after = pasCodes.get(pasCodes.size() - 1);
+        }
+        return fixed;
+    }
+}
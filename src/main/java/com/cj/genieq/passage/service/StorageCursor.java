@@ -0,0 +1,31 @@
+package com.cj.genieq.passage.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 자료실 목록 키셋 페이지네이션 커서
+ * 마지막으로 내려준 행의 (정렬 키, pasCode) 를 "정렬:방향:pasCode:키" 로 묶어 Base64URL 로 인코딩한다.
+ * 클라이언트에게는 불투명한 문자열이며, 요청 정렬 기준과 다르면 잘못된 커서로 본다.
+ */
+record StorageCursor(String sort, String order, Long pasCode, String key) {
+
+    String encode() {
+        String raw = sort + ":" + order + ":" + pasCode + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static StorageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // 키(제목)에 ':' 가 있을 수 있으므로 앞의 3개만 분리
+            String[] parts = raw.split(":", 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            return new StorageCursor(parts[0], parts[1], Long.valueOf(parts[2]), parts[3]);
+        } catch (IllegalArgumentException e) { // Base64, 숫자 형식 오류 포함
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.passage.repository.StorageItemRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 자료실 읽기 모델(storage_item) 유지 작업
+ *
+ * 1. 기동 시 보충: 읽기 모델 행이 없는 최상위 지문을 채운다 (최초 배포 시 전체 생성).
+ *    웹 서버가 요청을 받기 전(싱글톤 초기화 단계)에 끝나므로 목록에서 지문이 빠져 보이는 구간이 없다.
+ * 2. 전체 재계산: 이벤트를 거치지 않은 변경(직접 SQL 수정 등)을 바로잡기 위해 주기적으로 모든 행을 다시 계산한다.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory") // storage_item 테이블 생성(ddl-auto) 이후 실행
+@RequiredArgsConstructor
+public class StorageItemMaintenance {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final StorageItemRepository storageItemRepository;
+    private final StorageItemProjector storageItemProjector;
+    private final PlatformTransactionManager transactionManager;
+
+    @PostConstruct
+    public void backfill() {
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            int filled = 0;
+            while (true) {
+                List<Long> pasCodes = storageItemRepository.findMissingPasCodes(PageRequest.of(0, BATCH_SIZE));
+                if (pasCodes.isEmpty()) {
+                    break;
+                }
+                transaction.executeWithoutResult(status -> storageItemProjector.refresh(pasCodes));
+                filled += pasCodes.size();
+            }
+
+            if (filled > 0) {
+                log.info("자료실 읽기 모델 보충 완료 - 지문 수: {}", filled);
+            }
+        } catch (Exception e) {
+            log.warn("자료실 읽기 모델 보충 실패 - error: {}", e.getMessage());
+        }
+    }
+
+    // 전체 재계산 (매일 새벽)
+    @Scheduled(cron = "${genieq.storage-item.rebuild-cron:0 0 5 * * *}")
+    public void rebuild() {
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            long after = 0L;
+            int rebuilt = 0;
+            while (true) {
+                List<Long> pasCodes = storageItemRepository.findTopLevelPasCodesAfter(after, PageRequest.of(0, BATCH_SIZE));
+                if (pasCodes.isEmpty()) {
+                    break;
+                }
+                transaction.executeWithoutResult(status -> storageItemProjector.refresh(pasCodes));
+                after = pasCodes.get(pasCodes.size() - 1);
+                rebuilt += pasCodes.size();
+            }
+
+            log.info("자료실 읽기 모델 재계산 완료 - 지문 수: {}", rebuilt);
+        } catch (Exception e) {
+            log.warn("자료실 읽기 모델 재계산 실패 - error: {}", e.getMessage());
+        }
+    }
+}
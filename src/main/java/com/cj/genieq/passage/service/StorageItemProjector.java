@@ -0,0 +1,203 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.passage.dto.response.ChildPassageDto;
+import com.cj.genieq.passage.dto.response.PassageStorageEachResponseDto;
+import com.cj.genieq.passage.dto.response.SimpleDescriptionDto;
+import com.cj.genieq.passage.dto.response.StorageItemSourceDto;
+import com.cj.genieq.passage.entity.StorageItemEntity;
+import com.cj.genieq.passage.event.PassageChangedEvent;
+import com.cj.genieq.passage.repository.PassageRepository;
+import com.cj.genieq.passage.repository.StorageItemRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 자료실 읽기 모델(storage_item) 갱신
+ *
+ * 지문/문항 서비스가 발행한 PassageChangedEvent 의 지문 코드를 트랜잭션 동안 모았다가
+ * 커밋 직후(afterCommit, 응답 전) 새 트랜잭션에서 한 번에 원본 테이블 기준으로 다시 계산해 저장한다.
+ * 하위 지문(지문+문항)이 바뀌면 부모 지문의 행을 다시 계산한다.
+ *
+ * 원래 트랜잭션의 스냅샷(REPEATABLE READ)으로 계산하면 같은 부모의 다른 하위 지문을 동시에 바꾼 트랜잭션의
+ * 변경이 보이지 않아 나중 커밋이 앞선 결과를 덮어쓰므로, 커밋된 데이터를 새 트랜잭션에서 부모 행을 잠근 뒤 읽는다.
+ * 재계산이 실패하면 읽기 모델만 어긋나고(원본은 이미 커밋됨) 야간 StorageItemMaintenance.rebuild 에서 바로잡힌다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StorageItemProjector {
+
+    private final PassageRepository passageRepository;
+    private final StorageItemRepository storageItemRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @EventListener
+    public void onPassageChanged(PassageChangedEvent event) {
+        if (event.pasCodes() == null || event.pasCodes().isEmpty()) {
+            return;
+        }
+
+        // 트랜잭션 밖에서 발행된 이벤트는 바로 반영
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> refresh(event.pasCodes()));
+            return;
+        }
+
+        // 같은 트랜잭션의 이벤트는 모아서 커밋 후 1회 반영 (롤백되면 반영하지 않음)
+        @SuppressWarnings("unchecked")
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> codes = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, codes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshInNewTransaction(codes);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(StorageItemProjector.this);
+                }
+            });
+            pending = codes;
+        }
+        pending.addAll(event.pasCodes());
+    }
+
+    // 커밋이 끝난 트랜잭션에는 참여할 수 없으므로 새 트랜잭션에서 실행
+    private void refreshInNewTransaction(Collection<Long> pasCodes) {
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            transaction.executeWithoutResult(status -> refresh(pasCodes));
+        } catch (Exception e) {
+            log.error("자료실 읽기 모델 갱신 실패 - pasCodes: {}", pasCodes, e);
+        }
+    }
+
+    /**
+     * 지문 코드(하위 지문 포함)에 해당하는 최상위 지문 행 재계산 (호출 측 트랜잭션에서 실행)
+     * 최상위 지문 행을 잠그는 조회가 먼저 실행되므로 트랜잭션의 첫 조회로 호출해야 다른 트랜잭션의 커밋을 놓치지 않는다.
+     */
+    public void refresh(Collection<Long> pasCodes) {
+        if (pasCodes.isEmpty()) {
+            return;
+        }
+
+        // 1. 최상위 지문 코드로 변환 + 행 잠금 (같은 부모의 동시 재계산을 순서대로 실행)
+        List<Long> topCodes = passageRepository.lockTopLevelPasCodes(new ArrayList<>(pasCodes));
+        if (topCodes.isEmpty()) {
+            return;
+        }
+
+        // 2. 원본 배치 조회 (지문, description, 하위 지문)
+        List<StorageItemSourceDto> sources = passageRepository.findStorageItemSources(topCodes);
+        Map<Long, List<SimpleDescriptionDto>> descriptionMap = passageRepository.findSimpleDescriptionsByPassageCodes(topCodes).stream()
+                .collect(Collectors.groupingBy(SimpleDescriptionDto::pasCode));
+        Map<Long, List<ChildPassageDto>> childMap = passageRepository.findChildPassagesByParentCodes(topCodes).stream()
+                .collect(Collectors.groupingBy(ChildPassageDto::refPasCode));
+        Map<Long, StorageItemEntity> existing = storageItemRepository.findAllById(topCodes).stream()
+                .collect(Collectors.toMap(StorageItemEntity::getPasCode, Function.identity()));
+
+        // 3. 행 계산
+        List<StorageItemEntity> toSave = new ArrayList<>();
+        for (StorageItemSourceDto source : sources) {
+            StorageItemEntity item = existing.remove(source.pasCode());
+            boolean listed = source.refPasCode() == null
+                    && (Integer.valueOf(1).equals(source.isGenerated()) || Integer.valueOf(1).equals(source.isUserEntered()));
+            if (!listed) {
+                if (item != null) {
+                    storageItemRepository.delete(item);
+                }
+                continue;
+            }
+            if (item == null) {
+                item = StorageItemEntity.builder().pasCode(source.pasCode()).build();
+            }
+            apply(item, source,
+                    descriptionMap.getOrDefault(source.pasCode(), List.of()),
+                    childMap.getOrDefault(source.pasCode(), List.of()));
+            toSave.add(item);
+        }
+
+        // 원본이 없어진 행 정리
+        storageItemRepository.deleteAll(existing.values());
+        storageItemRepository.saveAll(toSave);
+
+        log.debug("자료실 읽기 모델 갱신 - 지문 수: {}", toSave.size());
+    }
+
+    private void apply(StorageItemEntity item, StorageItemSourceDto source,
+                       List<SimpleDescriptionDto> descriptions, List<ChildPassageDto> children) {
+
+        SimpleDescriptionDto primary = descriptions.stream()
+                .filter(d -> Integer.valueOf(1).equals(d.order()))
+                .findFirst()
+                .orElse(null);
+
+        List<PassageStorageEachResponseDto.SimpleDescriptionInfo> descriptionInfos = descriptions.stream()
+                .map(d -> PassageStorageEachResponseDto.SimpleDescriptionInfo.builder()
+                        .pasType(d.pasType())
+                        .keyword(d.keyword())
+                        .order(d.order())
+                        .build())
+                .toList();
+
+        List<PassageStorageEachResponseDto.ChildPassageInfo> childInfos = children.stream()
+                .map(c -> PassageStorageEachResponseDto.ChildPassageInfo.builder()
+                        .pasCode(c.pasCode())
+                        .title(c.title())
+                        .isGenerated(c.isGenerated())
+                        .isFavorite(c.isFavorite())
+                        .date(c.date())
+                        .refPasCode(c.refPasCode())
+                        .questionCount(c.questionCount())
+                        .build())
+                .toList();
+
+        item.setMemCode(source.memCode());
+        item.setTitle(source.title());
+        item.setTitleSort(StorageItemEntity.titleSortKey(source.title()));
+        item.setIsGenerated(source.isGenerated());
+        item.setIsUserEntered(source.isUserEntered());
+        item.setDate(source.date());
+        item.setIsFavorite(source.isFavorite());
+        item.setIsDeleted(source.isDeleted());
+        item.setPasType(primary != null ? primary.pasType() : null);
+        item.setKeyword(primary != null ? primary.keyword() : null);
+        item.setChildCount(children.size());
+        item.setQuestionCount(children.stream()
+                .mapToInt(c -> c.questionCount() != null ? c.questionCount() : 0)
+                .sum());
+        item.setDescriptionsJson(toJson(descriptionInfos));
+        item.setChildrenJson(toJson(childInfos));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("자료실 읽기 모델 JSON 변환 실패: " + e.getMessage(), e);
+        }
+    }
+}
@@ -23,7 +23,22 @@ public interface StorageService {
             String field,
             String search,
             String sort,
-            String order
+            String order,
+            String countMode
+    );
+
+    // 키셋(커서) 페이지네이션: cursor 가 null/빈 값이면 첫 페이지
+    PassageListWithPaginationResponseDto getStorageListWithCursor(
+            Long memCode,
+            String listType,
+            int size,
+            String field,
+            String search,
+            String sort,
+            String order,
+            String cursor,
+            boolean withCount,
+            String countMode
     );
 
 }
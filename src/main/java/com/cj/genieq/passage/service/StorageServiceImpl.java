@@ -1,39 +1,56 @@
 package com.cj.genieq.passage.service;
 
 import com.cj.genieq.member.repository.MemberRepository;
-import com.cj.genieq.passage.dto.response.ChildPassageDto;
 import com.cj.genieq.passage.dto.response.PassageListWithPaginationResponseDto;
 import com.cj.genieq.passage.dto.response.PassageStorageEachResponseDto;
-import com.cj.genieq.passage.dto.response.SimpleDescriptionDto;
+import com.cj.genieq.passage.entity.StorageItemEntity;
 import com.cj.genieq.passage.repository.DescriptionRepository;
-import com.cj.genieq.passage.repository.PassageRepository;
+import com.cj.genieq.passage.repository.StorageItemRepository;
 import com.cj.genieq.question.repository.QuestionRepository;
 import com.cj.genieq.question.service.QuestionService;
 import com.cj.genieq.usage.service.UsageService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class StorageServiceImpl implements StorageService {
 
-    private final PassageRepository passageRepository;
+    private final StorageItemRepository storageItemRepository;
+    private final PassageSearchIndex passageSearchIndex;
+    private final PassageCountCache passageCountCache;
+    private final ObjectMapper objectMapper;
+
+    // 추정 개수 상한 (넘으면 "999+")
+    private static final int ESTIMATE_CAP = 999;
+
+    private static final TypeReference<List<PassageStorageEachResponseDto.SimpleDescriptionInfo>> DESCRIPTION_LIST = new TypeReference<>() {};
+    private static final TypeReference<List<PassageStorageEachResponseDto.ChildPassageInfo>> CHILD_PASSAGE_LIST = new TypeReference<>() {};
 
     /**
      * 통합 Storage 리스트 조회 (최적화됨)
-     * 1. Repository에서 DTO 직접 반환 (필수 필드만)
-     * 2. descriptions와 childPassages 배치 조회
-     * 3. 메모리에서 조합
+     * 자료실 읽기 모델(storage_item) 한 테이블만 인덱스 범위로 조회한다
+     * (descriptions, childPassages 는 행에 저장된 요약 사용, 조인/배치 조회 없음)
+     * 검색어가 있으면 검색 색인(PassageSearchIndex)으로 지문 코드를 먼저 찾고 나머지 조건만 DB 에서 확인한다
+     * (LIKE '%검색어%' 전체 스캔 없음). 정렬 기준 "relevance" 는 검색 점수순.
+     * 전체 개수는 PassageCountCache 에서 조회 (캐시에 없을 때만 COUNT 실행)
      */
     @Override
     public Page<PassageStorageEachResponseDto> getPassagesWithFilters(
@@ -43,27 +60,13 @@ public class StorageServiceImpl implements StorageService {
             String field,
             String search) {
 
-        log.info("통합 Storage 조회 - memCode: {}, listType: {}, field: {}, search: {}",
-                memCode, listType, field, search);
-
-        // 1. 메인 데이터 조회 (DTO 직접 반환)
-        Page<PassageStorageEachResponseDto> dtoPage = passageRepository
-                .findPassagesWithFilters(memCode, listType, field, search, pageable);
-
-        if (dtoPage.isEmpty()) {
-            log.info("조회 결과 없음 - listType: {}", listType);
-            return dtoPage;
-        }
-
-        // 2. 추가 데이터 배치 조회 및 조합
-        enrichWithAdditionalData(dtoPage.getContent());
-
-        log.info("통합 조회 완료 - listType: {}, 아이템 수: {}", listType, dtoPage.getContent().size());
-        return dtoPage;
+        StoragePage result = loadPage(memCode, listType, pageable, field, search, false);
+        return new PageImpl<>(result.items(), pageable, result.total().count());
     }
 
     /**
      * 통합 Storage API 응답 생성
+     * countMode = "estimate" 이면 전체 개수를 최대 ESTIMATE_CAP 건까지만 세고 넘으면 "999+" 로 응답
      */
     @Override
     public PassageListWithPaginationResponseDto getStorageListWithPagination(
@@ -74,7 +77,8 @@ public class StorageServiceImpl implements StorageService {
             String field,
             String search,
             String sort,
-            String order) {
+            String order,
+            String countMode) {
 
         // 페이지 번호 조정 (프론트엔드는 1부터, JPA는 0부터)
         int pageIndex = Math.max(0, page - 1);
@@ -86,96 +90,259 @@ public class StorageServiceImpl implements StorageService {
 
         // 정렬 기준 매핑
         String sortField = mapSortField(sort);
-        Sort sortBy = Sort.by(direction, sortField);
+        Sort sortBy = Sort.by(direction, sortField).and(Sort.by(direction, "pasCode"));
 
         // Pageable 객체 생성
         Pageable pageable = PageRequest.of(pageIndex, size, sortBy);
 
         // 통합 메서드 호출
-        Page<PassageStorageEachResponseDto> result = getPassagesWithFilters(
-                memCode, listType, pageable, field, search
-        );
+        StoragePage result = loadPage(memCode, listType, pageable, field, search, isEstimate(countMode));
+        TotalCount total = result.total();
+
+        // 추정 개수면 다음 페이지 여부는 현재 페이지가 꽉 찼는지로 판단
+        boolean hasMore = total.exact()
+                ? pageable.getOffset() + result.items().size() < total.count()
+                : result.items().size() == size;
 
         // 응답 DTO 생성
         return PassageListWithPaginationResponseDto.builder()
-                .items(result.getContent())
-                .totalCount((int) result.getTotalElements())
-                .totalPages(result.getTotalPages())
+                .items(result.items())
+                .totalCount((int) total.count())
+                .totalPages((int) ((total.count() + size - 1) / size))
+                .totalCountExact(total.exact())
+                .totalCountLabel(total.label())
                 .currentPage(page)
                 .pageSize(size)
-                .hasMore(result.hasNext())
+                .hasMore(hasMore)
                 .build();
     }
 
     /**
-     * DTO 리스트에 descriptions와 childPassages 추가
-     * - N+1 문제 없이 배치 조회
-     * - 메모리에서 효율적으로 조합
+     * 목록 한 페이지 + 전체 개수 조회
      */
-    private void enrichWithAdditionalData(List<PassageStorageEachResponseDto> dtoList) {
-        if (dtoList.isEmpty()) return;
-
-        List<Long> pasCodeList = dtoList.stream()
-                .map(PassageStorageEachResponseDto::getPasCode)
-                .collect(Collectors.toList());
-
-        // descriptions 배치 조회
-        List<SimpleDescriptionDto> allDescriptions =
-                passageRepository.findSimpleDescriptionsByPassageCodes(pasCodeList);
-
-        // childPassages 배치 조회
-        List<ChildPassageDto> allChildPassages =
-                passageRepository.findChildPassagesByParentCodes(pasCodeList);
-
-        // 메모리에서 그룹핑 및 조합
-        Map<Long, List<PassageStorageEachResponseDto.SimpleDescriptionInfo>> descriptionMap =
-                allDescriptions.stream()
-                        .collect(Collectors.groupingBy(
-                                SimpleDescriptionDto::pasCode,
-                                Collectors.mapping(this::convertToDescriptionInfo, Collectors.toList())
-                        ));
-
-        Map<Long, List<PassageStorageEachResponseDto.ChildPassageInfo>> childPassageMap =
-                allChildPassages.stream()
-                        .collect(Collectors.groupingBy(
-                                ChildPassageDto::refPasCode,
-                                Collectors.mapping(this::convertToChildPassageInfo, Collectors.toList())
-                        ));
-
-        // DTO에 추가 데이터 설정
-        dtoList.forEach(dto -> {
-            dto.setDescriptions(descriptionMap.getOrDefault(dto.getPasCode(), List.of()));
-            dto.setChildPassages(childPassageMap.getOrDefault(dto.getPasCode(), List.of()));
+    private StoragePage loadPage(Long memCode, String listType, Pageable pageable,
+                                 String field, String search, boolean estimate) {
+
+        log.info("통합 Storage 조회 - memCode: {}, listType: {}, field: {}, search: {}",
+                memCode, listType, field, search);
+
+        ListFilter filter = ListFilter.of(memCode, listType, field);
+        SearchScope scope = searchScope(memCode, search);
+        if (scope.isEmpty()) {
+            log.info("조회 결과 없음 - listType: {}", listType);
+            return new StoragePage(List.of(), new TotalCount(0, true));
+        }
+
+        // 읽기 모델(storage_item) 한 테이블만 조회
+        List<PassageStorageEachResponseDto> items;
+        TotalCount total;
+        if (scope.searching() && pageable.getSort().getOrderFor("relevance") != null) {
+            // 관련도순은 조건에 맞는 검색 결과 전체를 메모리에서 정렬하므로 개수도 그대로 사용
+            List<PassageStorageEachResponseDto> matched = findByRelevance(filter, scope.pasCodeList());
+            int from = (int) Math.min(pageable.getOffset(), matched.size());
+            int to = Math.min(from + pageable.getPageSize(), matched.size());
+            items = matched.subList(from, to);
+            total = new TotalCount(matched.size(), true);
+        } else {
+            items = storageItemRepository.findItems(filter.memCode(), filter.isDeleted(), filter.favoriteOnly(), filter.field(),
+                            scope.searching(), scope.pasCodeList(), unsortedIfRelevance(pageable)).stream()
+                    .map(this::toResponseDto)
+                    .toList();
+            total = countTotal(filter, listType, search, scope, estimate);
+        }
+
+        log.info("통합 조회 완료 - listType: {}, 아이템 수: {}", listType, items.size());
+        return new StoragePage(items, total);
+    }
+
+    /**
+     * 검색어가 있으면 검색 색인에서 지문 코드 조회
+     */
+    private SearchScope searchScope(Long memCode, String search) {
+        if (search == null || search.isBlank()) {
+            return SearchScope.ALL;
+        }
+        List<Long> pasCodeList = passageSearchIndex.search(memCode, search).stream()
+                .map(PassageSearchIndex.Hit::pasCode)
+                .toList();
+        return new SearchScope(true, pasCodeList);
+    }
+
+    /**
+     * 관련도순: 조건에 맞는 지문을 검색 결과 순서(점수 높은 순)대로 정렬
+     */
+    private List<PassageStorageEachResponseDto> findByRelevance(ListFilter filter, List<Long> pasCodeList) {
+
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < pasCodeList.size(); i++) {
+            rank.put(pasCodeList.get(i), i);
+        }
+        return storageItemRepository.findItems(filter.memCode(), filter.isDeleted(), filter.favoriteOnly(), filter.field(),
+                        true, pasCodeList, Pageable.unpaged()).stream()
+                .sorted(Comparator.comparing(item -> rank.get(item.getPasCode())))
+                .map(this::toResponseDto)
+                .toList();
+    }
+
+    /**
+     * 전체 개수 조회 (캐시 우선)
+     * estimate = true 이면 COUNT 대신 최대 ESTIMATE_CAP + 1 건만 읽어 보고, 상한 이하면 정확한 값으로 캐시
+     */
+    private TotalCount countTotal(ListFilter filter, String listType, String search,
+                                  SearchScope scope, boolean estimate) {
+        Long count = passageCountCache.getOrLoad(filter.memCode(), listType, filter.field(), search, () -> {
+            if (!estimate) {
+                return storageItemRepository.countItems(filter.memCode(), filter.isDeleted(), filter.favoriteOnly(),
+                        filter.field(), scope.searching(), scope.pasCodeList());
+            }
+            List<Long> probe = storageItemRepository.findItemPasCodes(filter.memCode(), filter.isDeleted(), filter.favoriteOnly(),
+                    filter.field(), scope.searching(), scope.pasCodeList(), PageRequest.of(0, ESTIMATE_CAP + 1));
+            return probe.size() <= ESTIMATE_CAP ? (long) probe.size() : null;
         });
+        return count != null ? new TotalCount(count, true) : new TotalCount(ESTIMATE_CAP, false);
+    }
+
+    private boolean isEstimate(String countMode) {
+        return "estimate".equalsIgnoreCase(countMode);
+    }
 
-        log.debug("배치 조회 완료 - descriptions: {}, childPassages: {}",
-                allDescriptions.size(), allChildPassages.size());
+    // 검색어 없이 관련도순을 요청하면 날짜순으로 대체
+    private Pageable unsortedIfRelevance(Pageable pageable) {
+        if (pageable.getSort().getOrderFor("relevance") == null) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by(Sort.Direction.DESC, "date").and(Sort.by(Sort.Direction.DESC, "pasCode")));
     }
 
     /**
-     * Repository Record → Response DTO 변환 (Description)
+     * 통합 Storage API 응답 생성 (키셋 페이지네이션)
+     * - OFFSET 없이 커서의 (정렬 키, pasCode) 다음 행부터 size + 1 건만 조회 → 몇 번째 페이지든 비용 동일
+     * - 전체 개수는 withCount=true 일 때만 조회 (countMode 는 일반 모드와 같음)
+     * - 정렬 기준은 date, title, favorite (relevance 는 커서 모드에서 date 로 처리)
      */
-    private PassageStorageEachResponseDto.SimpleDescriptionInfo convertToDescriptionInfo(SimpleDescriptionDto record) {
-        return PassageStorageEachResponseDto.SimpleDescriptionInfo.builder()
-                .pasType(record.pasType())
-                .keyword(record.keyword())
-                .order(record.order())
+    @Override
+    public PassageListWithPaginationResponseDto getStorageListWithCursor(
+            Long memCode,
+            String listType,
+            int size,
+            String field,
+            String search,
+            String sort,
+            String order,
+            String cursor,
+            boolean withCount,
+            String countMode) {
+
+        String sortKey = switch (sort == null ? "" : sort.toLowerCase()) {
+            case "title" -> "title";
+            case "favorite" -> "favorite";
+            default -> "date";
+        };
+        boolean desc = !"asc".equalsIgnoreCase(order);
+        String direction = desc ? "desc" : "asc";
+
+        StorageCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = StorageCursor.decode(cursor);
+            if (!after.sort().equals(sortKey) || !after.order().equals(direction)) {
+                throw new IllegalArgumentException("커서의 정렬 기준이 요청과 다릅니다.");
+            }
+        }
+
+        // 검색어가 있으면 검색 색인 결과로 범위 제한 (없으면 더미 리스트, 조건은 searching 플래그로 무시됨)
+        ListFilter filter = ListFilter.of(memCode, listType, field);
+        SearchScope scope = searchScope(memCode, search);
+        if (scope.isEmpty()) {
+            return PassageListWithPaginationResponseDto.builder()
+                    .items(List.of())
+                    .totalCount(withCount ? 0 : null)
+                    .totalPages(withCount ? 0 : null)
+                    .totalCountExact(withCount ? true : null)
+                    .totalCountLabel(withCount ? "0" : null)
+                    .pageSize(size)
+                    .hasMore(false)
+                    .build();
+        }
+        boolean searching = scope.searching();
+        List<Long> pasCodeList = scope.pasCodeList();
+
+        Sort.Direction sortDirection = desc ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Pageable limit = PageRequest.of(0, size + 1,
+                Sort.by(sortDirection, mapSortField(sortKey)).and(Sort.by(sortDirection, "pasCode")));
+        Long cursorPasCode = after != null ? after.pasCode() : null;
+
+        List<StorageItemEntity> rows;
+        try {
+            rows = switch (sortKey) {
+                case "title" -> storageItemRepository.findItemsAfterTitle(filter.memCode(), filter.isDeleted(), filter.favoriteOnly(),
+                        filter.field(), searching, pasCodeList, after != null ? after.key() : null, cursorPasCode, desc, limit);
+                case "favorite" -> storageItemRepository.findItemsAfterFavorite(filter.memCode(), filter.isDeleted(), filter.favoriteOnly(),
+                        filter.field(), searching, pasCodeList, after != null ? Integer.valueOf(after.key()) : null, cursorPasCode, desc, limit);
+                default -> storageItemRepository.findItemsAfterDate(filter.memCode(), filter.isDeleted(), filter.favoriteOnly(),
+                        filter.field(), searching, pasCodeList, after != null ? LocalDateTime.parse(after.key()) : null, cursorPasCode, desc, limit);
+            };
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+
+        // size + 1 번째 행은 다음 페이지 존재 확인용
+        boolean hasMore = rows.size() > size;
+        List<StorageItemEntity> pageRows = hasMore ? rows.subList(0, size) : rows;
+        List<PassageStorageEachResponseDto> items = pageRows.stream().map(this::toResponseDto).toList();
+
+        String nextCursor = null;
+        if (hasMore) {
+            StorageItemEntity last = pageRows.get(pageRows.size() - 1);
+            String key = switch (sortKey) {
+                case "title" -> last.getTitleSort();
+                case "favorite" -> String.valueOf(last.getIsFavorite());
+                default -> last.getDate().toString();
+            };
+            nextCursor = new StorageCursor(sortKey, direction, last.getPasCode(), key).encode();
+        }
+
+        TotalCount total = withCount ? countTotal(filter, listType, search, scope, isEstimate(countMode)) : null;
+
+        return PassageListWithPaginationResponseDto.builder()
+                .items(items)
+                .totalCount(total != null ? (int) total.count() : null)
+                .totalPages(total != null ? (int) ((total.count() + size - 1) / size) : null)
+                .totalCountExact(total != null ? total.exact() : null)
+                .totalCountLabel(total != null ? total.label() : null)
+                .currentPage(0) // 커서 모드는 페이지 번호 없음
+                .pageSize(size)
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
                 .build();
     }
 
     /**
-     * Repository Record → Response DTO 변환 (ChildPassage)
+     * 읽기 모델 → 응답 DTO 변환 (descriptions, childPassages 는 저장된 JSON 사용, 추가 조회 없음)
      */
-    private PassageStorageEachResponseDto.ChildPassageInfo convertToChildPassageInfo(ChildPassageDto record) {
-        return PassageStorageEachResponseDto.ChildPassageInfo.builder()
-                .pasCode(record.pasCode())
-                .title(record.title())
-                .isGenerated(record.isGenerated())
-                .isFavorite(record.isFavorite())
-                .date(record.date())
-                .refPasCode(record.refPasCode())
-                .questionCount(record.questionCount())
-                .build();
+    private PassageStorageEachResponseDto toResponseDto(StorageItemEntity item) {
+        PassageStorageEachResponseDto dto = new PassageStorageEachResponseDto(
+                item.getPasCode(),
+                item.getTitle(),
+                item.getIsGenerated(),
+                item.getIsUserEntered(),
+                item.getDate(),
+                item.getIsFavorite());
+        dto.setDescriptions(readJson(item.getDescriptionsJson(), DESCRIPTION_LIST));
+        dto.setChildPassages(readJson(item.getChildrenJson(), CHILD_PASSAGE_LIST));
+        return dto;
+    }
+
+    private <T> List<T> readJson(String json, TypeReference<List<T>> type) {
+        if (json == null || json.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            log.warn("자료실 읽기 모델 JSON 변환 실패 - error: {}", e.getMessage());
+            return List.of();
+        }
     }
 
     /**
@@ -184,10 +351,39 @@ public class StorageServiceImpl implements StorageService {
     private String mapSortField(String sort) {
         return switch (sort.toLowerCase()) {
             case "date" -> "date";           // 날짜순
-            case "title" -> "title";         // 제목순
+            case "title" -> "titleSort";     // 제목순 (읽기 모델의 제목 앞 100자)
             case "favorite" -> "isFavorite"; // 즐겨찾기순
+            case "relevance" -> "relevance"; // 검색 관련도순 (검색어가 있을 때만)
             default -> "date";               // 기본값: 날짜순
         };
     }
 
+    // 검색 범위 (검색어가 없으면 searching = false, pasCodeList 는 쿼리 파라미터용 더미)
+    private record SearchScope(boolean searching, List<Long> pasCodeList) {
+        static final SearchScope ALL = new SearchScope(false, List.of(-1L));
+
+        boolean isEmpty() {
+            return searching && pasCodeList.isEmpty();
+        }
+    }
+
+    private record TotalCount(long count, boolean exact) {
+        String label() {
+            return exact ? String.valueOf(count) : count + "+";
+        }
+    }
+
+    // 목록 종류 → 읽기 모델 조건 (recent: 삭제 안 됨, favorite: 삭제 안 됨 + 즐겨찾기, deleted: 삭제됨)
+    private record ListFilter(Long memCode, Integer isDeleted, boolean favoriteOnly, String field) {
+        static ListFilter of(Long memCode, String listType, String field) {
+            return new ListFilter(
+                    memCode,
+                    "deleted".equals(listType) ? 1 : 0,
+                    "favorite".equals(listType),
+                    (field == null || field.isBlank()) ? null : field);
+        }
+    }
+
+    private record StoragePage(List<PassageStorageEachResponseDto> items, TotalCount total) {
+    }
 }
@@ -0,0 +1,115 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.passage.repository.PassageRepository;
+import com.cj.genieq.passage.repository.TitleCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 회원별 지문 제목 중복 처리
+ * 기존 existsByTitle 반복 조회(중복 수만큼 쿼리) 대신 title_counter 테이블의 카운터를 원자적으로 증가시켜
+ * 중복 개수와 무관하게 UPDATE 1회 + SELECT 1회로 "(n)" 접미사를 발급한다
+ * 사용자가 "제목(n)" 을 직접 입력해 저장하면 "제목" 카운터를 n 이상으로 올려 같은 번호가 다시 발급되지 않게 한다
+ */
+@Component
+@RequiredArgsConstructor
+public class TitleAllocator {
+
+    private final TitleCounterRepository titleCounterRepository;
+    private final PassageRepository passageRepository;
+
+    /**
+     * 저장할 제목 발급
+     * 호출한 트랜잭션이 끝날 때까지 카운터 행이 잠기므로 동시 저장도 서로 다른 번호를 받는다
+     * @return 처음 사용하는 제목이면 원본 그대로, 중복이면 "제목(n)"
+     */
+    @Transactional
+    public String allocate(Long memCode, String title) {
+        if (title == null) {
+            return null;
+        }
+
+        String hash = hash(title);
+
+        if (titleCounterRepository.incrementSuffix(memCode, hash) == 0) {
+            // 카운터가 없는 제목: 기존 데이터 기준으로 시드 계산 후 생성
+            titleCounterRepository.insertOrIncrement(memCode, hash, seedSuffix(memCode, title));
+        }
+
+        int suffix = titleCounterRepository.findLastSuffix(memCode, hash)
+                .orElseThrow(() -> new IllegalStateException("제목 카운터 조회 실패: " + title));
+
+        if (suffix == 0) {
+            // 입력한 제목 그대로 저장 → "제목(n)" 형태면 "제목" 카운터에 반영
+            register(memCode, title);
+            return title;
+        }
+        return title + "(" + suffix + ")";
+    }
+
+    /**
+     * 발급을 거치지 않고 저장되는 제목 등록 (지문 수정 시 제목 변경 등)
+     * "제목(n)" 형태면 "제목" 카운터를 n 이상으로 올림 (title_counter 행만 갱신, 지문 테이블은 조회하지 않음)
+     */
+    @Transactional
+    public void register(Long memCode, String title) {
+        if (title == null || !title.endsWith(")")) {
+            return;
+        }
+        int open = title.lastIndexOf('(');
+        if (open <= 0) {
+            return;
+        }
+        int suffix;
+        try {
+            suffix = Integer.parseInt(title.substring(open + 1, title.length() - 1));
+        } catch (NumberFormatException e) {
+            return; // "제목(부제)" 처럼 숫자가 아닌 괄호
+        }
+        if (suffix > 0) {
+            titleCounterRepository.raiseSuffix(memCode, hash(title.substring(0, open)), suffix);
+        }
+    }
+
+    // 카운터 도입 이전에 저장된 "제목", "제목(n)" 들을 피해서 다음 번호 계산
+    private int seedSuffix(Long memCode, String title) {
+        String prefix = title + "(";
+        List<String> existingTitles = passageRepository.findTitlesForSuffixSeed(memCode, title, prefix);
+
+        boolean baseUsed = false;
+        int maxSuffix = 0;
+        for (String existing : existingTitles) {
+            if (existing.equals(title)) {
+                baseUsed = true;
+            } else if (existing.startsWith(prefix) && existing.endsWith(")")) {
+                String number = existing.substring(prefix.length(), existing.length() - 1);
+                try {
+                    maxSuffix = Math.max(maxSuffix, Integer.parseInt(number));
+                } catch (NumberFormatException ignored) {
+                    // "제목(부제)" 처럼 숫자가 아닌 괄호는 무시
+                }
+            }
+        }
+
+        if (!baseUsed && maxSuffix == 0) {
+            return 0;
+        }
+        return maxSuffix + 1;
+    }
+
+    private String hash(String title) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(title.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
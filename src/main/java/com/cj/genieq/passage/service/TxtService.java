@@ -4,11 +4,20 @@ import com.cj.genieq.passage.dto.response.PassageWithQuestionsResponseDto;
 import com.cj.genieq.question.dto.response.QuestionSelectResponseDto;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 
 @Service
 public class TxtService {
 
+    // 출력 모양이 바뀌면 올림 (추출 파일 캐시 키에 포함되어 이전 결과를 쓰지 않게 됨)
+    public static final String RENDERER_VERSION = "1";
+
     private String stripHtmlTags(String html) {
         if (html == null || html.isEmpty()) {
             return "";
@@ -17,43 +26,54 @@ public class TxtService {
         return html.replaceAll("<[^>]*>", "");
     }
 
-    public byte[] createTxtFromDto(PassageWithQuestionsResponseDto dto) {
-        StringBuilder sb = new StringBuilder();
+    // 텍스트(UTF-8) 를 out 에 기록 (out 은 닫지 않음, 전체 문자열을 만들지 않고 바로 씀)
+    public void writeTxt(PassageWithQuestionsResponseDto dto, OutputStream out) {
+        writeTxt(dto, 1, out);
+    }
+
+    // 문항 번호를 startNumber 부터 매겨 기록 (묶음 추출용)
+    public void writeTxt(PassageWithQuestionsResponseDto dto, int startNumber, OutputStream out) {
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            write(writer, dto, startNumber);
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("TXT 파일 생성 실패", e);
+        }
+    }
 
+    private void write(Writer writer, PassageWithQuestionsResponseDto dto, int startNumber) throws IOException {
         // ✅ 제목 작성
-        sb.append("[작업 이름]").append("\n").append(dto.getTitle()).append("\n\n");
+        writer.append("[작업 이름]").append("\n").append(dto.getTitle()).append("\n\n");
 
         // ✅ 본문 작성
-        sb.append("[지문]").append("\n");
-        sb.append(stripHtmlTags(dto.getContent())).append("\n\n");
+        writer.append("[지문]").append("\n");
+        writer.append(stripHtmlTags(dto.getContent())).append("\n\n");
 
         // ✅ 문제 작성
         if (dto.getQuestions() != null && !dto.getQuestions().isEmpty()) {
-            sb.append("[문항] ").append("\n");
-            int num = 1;
+            writer.append("[문항] ").append("\n");
+            int num = startNumber;
             for (QuestionSelectResponseDto question : dto.getQuestions()) {
-                sb.append(num).append(". ").append(stripHtmlTags(question.getQueQuery())).append("\n");
+                writer.append(String.valueOf(num)).append(". ").append(stripHtmlTags(question.getQueQuery())).append("\n");
 
                 String[] optionNums = {"①","②","③","④","⑤"};
                 int optionNum = 0;
                 // queOption 을 리스트에서 String Tiptap 방식으로 변경하게되면서 수정.
                 for (String option : question.getQueOption().split("</p>")) {
                     String prefix = optionNums[optionNum];
-                    sb.append(prefix).append(" ").append(stripHtmlTags(option)).append("\n");
+                    writer.append(prefix).append(" ").append(stripHtmlTags(option)).append("\n");
                     optionNum++;
                 }
 
-                sb.append("정답: ").append(question.getQueAnswer()).append("\n");
+                writer.append("정답: ").append(question.getQueAnswer()).append("\n");
                 if (question.getQueDescription() != null && !question.getQueDescription().isEmpty()) {
-                    sb.append("해설 : ").append(stripHtmlTags(question.getQueDescription())).append("\n");
+                    writer.append("해설 : ").append(stripHtmlTags(question.getQueDescription())).append("\n");
                 }
 
-                sb.append("\n");
+                writer.append("\n");
                 num++;
             }
         }
-
-        // ✅ 문자열을 바이트 배열로 변환 (UTF-8 인코딩)
-        return sb.toString().getBytes(StandardCharsets.UTF_8);
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.cj.genieq.passage.service;
 
 import com.cj.genieq.passage.dto.response.PassageWithQuestionsResponseDto;
 import com.cj.genieq.question.dto.response.QuestionSelectResponseDto;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.poi.xwpf.usermodel.*;
 
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTBorder;
@@ -9,12 +10,16 @@ import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTTcBorders;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.STBorder;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.math.BigInteger;
+import java.util.List;
 
 @Service
 public class WordService {
 
+    // 출력 모양이 바뀌면 올림 (추출 파일 캐시 키에 포함되어 이전 결과를 쓰지 않게 됨)
+    public static final String RENDERER_VERSION = "1";
+
     private String stripHtmlTags(String html) {
         if (html == null || html.isEmpty()) {
             return "";
@@ -23,124 +28,138 @@ public class WordService {
         return html.replaceAll("<[^>]*>", "");
     }
 
-    public byte[] createWordFromDto(PassageWithQuestionsResponseDto dto) {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            // ✅ Word 문서 생성
-            XWPFDocument document = new XWPFDocument();
-
-            XWPFParagraph titleParagraph = document.createParagraph();
-            XWPFRun titleRun = titleParagraph.createRun();
-            titleRun.setText("다음 글을 읽고 물음에 답하시오.");
-            titleRun.setBold(true);
-            titleRun.setFontSize(10);
-
-            // ✅ 본문 작성
-            XWPFTable contentTable = document.createTable(1, 1);
-
-            // 테이블 테두리 설정
-            contentTable.setWidth("100%");
-
-            // 테이블의 테두리 설정
-            XWPFTableCell cell = contentTable.getRow(0).getCell(0);
-            CTTcBorders borders = cell.getCTTc().addNewTcPr().addNewTcBorders();
-
-            // 상단 테두리
-            CTBorder topBorder = borders.addNewTop();
-            topBorder.setVal(STBorder.SINGLE);
-            topBorder.setSz(BigInteger.valueOf(4));
-            topBorder.setColor("000000");
-
-            // 하단 테두리
-            CTBorder bottomBorder = borders.addNewBottom();
-            bottomBorder.setVal(STBorder.SINGLE);
-            bottomBorder.setSz(BigInteger.valueOf(4));
-            bottomBorder.setColor("000000");
-
-            // 좌측 테두리
-            CTBorder leftBorder = borders.addNewLeft();
-            leftBorder.setVal(STBorder.SINGLE);
-            leftBorder.setSz(BigInteger.valueOf(4));
-            leftBorder.setColor("000000");
-
-            // 우측 테두리
-            CTBorder rightBorder = borders.addNewRight();
-            rightBorder.setVal(STBorder.SINGLE);
-            rightBorder.setSz(BigInteger.valueOf(4));
-            rightBorder.setColor("000000");
-
-            // 셀 너비 설정
-            cell.setWidth("100%");
-
-            // 셀 안에 본문 텍스트 추가
-            XWPFParagraph contentParagraph = cell.getParagraphs().get(0);
-            XWPFRun contentRun = contentParagraph.createRun();
-            contentRun.setText(stripHtmlTags(dto.getContent()));
-            contentRun.setFontSize(10);
-
-            // 테이블 후 간격 추가
-            XWPFParagraph spacingParagraph = document.createParagraph();
-            spacingParagraph.setSpacingAfter(200);
-
-            // ✅ 문제 작성
-            if (dto.getQuestions() != null && !dto.getQuestions().isEmpty()) {
-                int questionNum = 1;
-                for (QuestionSelectResponseDto question : dto.getQuestions()) {
-                    // ✅ 문제 출력 (Bold)
-                    XWPFParagraph questionParagraph = document.createParagraph();
-                    XWPFRun questionRun = questionParagraph.createRun();
-                    questionRun.setText(questionNum + ". " + stripHtmlTags(question.getQueQuery()));
-                    questionRun.setBold(true);
-                    questionRun.setFontSize(10);
-
-                    // ✅ 선택지 출력
-                    String[] optionNums = {"①","②","③","④","⑤"};
-                    int optionNum = 0;
-                    // queOption 을 리스트에서 String Tiptap 방식으로 변경하게되면서 수정.
-                    for (String option : question.getQueOption().split("</p>")) {
-                        XWPFParagraph optionParagraph = document.createParagraph();
-                        optionParagraph.setIndentationLeft(500); // 들여쓰기
-                        XWPFRun optionRun = optionParagraph.createRun();
-                        String prefix = optionNums[optionNum];
-                        optionRun.setText(prefix + " " + stripHtmlTags(option));
-                        optionRun.setFontSize(10);
-                        optionNum++;
-                    }
-
-                    // 테이블 후 간격 추가
-                    spacingParagraph = document.createParagraph();
-                    spacingParagraph.setSpacingAfter(200);
-
-                    // ✅ 정답 출력
-                    XWPFParagraph answerParagraph = document.createParagraph();
-                    XWPFRun answerRun = answerParagraph.createRun();
-                    answerRun.setText("정답: " + question.getQueAnswer());
-                    answerRun.setBold(true);
-                    answerRun.setFontSize(10);
-
-                    // 해설 출력 (있는 경우)
-                    if (question.getQueDescription() != null && !question.getQueDescription().isEmpty()) {
-                        XWPFParagraph descriptionParagraph = document.createParagraph();
-                        XWPFRun descriptionRun = descriptionParagraph.createRun();
-                        descriptionRun.setText("해설 : " + stripHtmlTags(question.getQueDescription()));
-                        descriptionRun.setFontSize(10);
-                    }
-
-                    // 문제 사이 간격
-                    XWPFParagraph spaceParagraph = document.createParagraph();
-                    spaceParagraph.setSpacingAfter(100);
-
-                    questionNum++;
-                }
-            }
+    // Word(docx) 를 out 에 기록 (out 은 닫지 않음, byte[] 로 모으지 않고 응답 등에 바로 씀)
+    public void writeWord(PassageWithQuestionsResponseDto dto, OutputStream out) {
+        writeWord(List.of(dto), 1, out);
+    }
 
-            // ✅ 문서 작성 후 닫기
-            document.write(baos);
-            document.close();
+    /**
+     * 여러 지문을 한 문서로 기록 (지문마다 새 페이지, 문항 번호는 startNumber 부터 이어서)
+     * XWPFDocument 는 스레드 안전하지 않고 문서끼리 합칠 수도 없으므로 한 스레드에서 순서대로 작성한다.
+     */
+    public void writeWord(List<PassageWithQuestionsResponseDto> passages, int startNumber, OutputStream out) {
+        // ✅ Word 문서 생성
+        try (XWPFDocument document = new XWPFDocument()) {
+            int questionNum = startNumber;
+            for (int i = 0; i < passages.size(); i++) {
+                questionNum = appendSection(document, passages.get(i), questionNum, i > 0);
+            }
 
-            return baos.toByteArray(); // Word 데이터를 바이트 배열로 반환
+            // ✅ 문서 작성 (문서는 try-with-resources 로 닫힘)
+            document.write(CloseShieldOutputStream.wrap(out));
         } catch (Exception e) {
             throw new RuntimeException("Word 파일 생성 실패", e);
         }
     }
+
+    // 지문 1개 + 문항 (다음 문항 번호 반환)
+    private int appendSection(XWPFDocument document, PassageWithQuestionsResponseDto dto, int startNumber, boolean pageBreak) {
+        XWPFParagraph titleParagraph = document.createParagraph();
+        titleParagraph.setPageBreak(pageBreak); // 묶음 추출 시 지문마다 새 페이지
+        XWPFRun titleRun = titleParagraph.createRun();
+        titleRun.setText("다음 글을 읽고 물음에 답하시오.");
+        titleRun.setBold(true);
+        titleRun.setFontSize(10);
+
+        // ✅ 본문 작성
+        XWPFTable contentTable = document.createTable(1, 1);
+
+        // 테이블 테두리 설정
+        contentTable.setWidth("100%");
+
+        // 테이블의 테두리 설정
+        XWPFTableCell cell = contentTable.getRow(0).getCell(0);
+        CTTcBorders borders = cell.getCTTc().addNewTcPr().addNewTcBorders();
+
+        // 상단 테두리
+        CTBorder topBorder = borders.addNewTop();
+        topBorder.setVal(STBorder.SINGLE);
+        topBorder.setSz(BigInteger.valueOf(4));
+        topBorder.setColor("000000");
+
+        // 하단 테두리
+        CTBorder bottomBorder = borders.addNewBottom();
+        bottomBorder.setVal(STBorder.SINGLE);
+        bottomBorder.setSz(BigInteger.valueOf(4));
+        bottomBorder.setColor("000000");
+
+        // 좌측 테두리
+        CTBorder leftBorder = borders.addNewLeft();
+        leftBorder.setVal(STBorder.SINGLE);
+        leftBorder.setSz(BigInteger.valueOf(4));
+        leftBorder.setColor("000000");
+
+        // 우측 테두리
+        CTBorder rightBorder = borders.addNewRight();
+        rightBorder.setVal(STBorder.SINGLE);
+        rightBorder.setSz(BigInteger.valueOf(4));
+        rightBorder.setColor("000000");
+
+        // 셀 너비 설정
+        cell.setWidth("100%");
+
+        // 셀 안에 본문 텍스트 추가
+        XWPFParagraph contentParagraph = cell.getParagraphs().get(0);
+        XWPFRun contentRun = contentParagraph.createRun();
+        contentRun.setText(stripHtmlTags(dto.getContent()));
+        contentRun.setFontSize(10);
+
+        // 테이블 후 간격 추가
+        XWPFParagraph spacingParagraph = document.createParagraph();
+        spacingParagraph.setSpacingAfter(200);
+
+        // ✅ 문제 작성
+        int questionNum = startNumber;
+        if (dto.getQuestions() != null && !dto.getQuestions().isEmpty()) {
+            for (QuestionSelectResponseDto question : dto.getQuestions()) {
+                // ✅ 문제 출력 (Bold)
+                XWPFParagraph questionParagraph = document.createParagraph();
+                XWPFRun questionRun = questionParagraph.createRun();
+                questionRun.setText(questionNum + ". " + stripHtmlTags(question.getQueQuery()));
+                questionRun.setBold(true);
+                questionRun.setFontSize(10);
+
+                // ✅ 선택지 출력
+                String[] optionNums = {"①","②","③","④","⑤"};
+                int optionNum = 0;
+                // queOption 을 리스트에서 String Tiptap 방식으로 변경하게되면서 수정.
+                for (String option : question.getQueOption().split("</p>")) {
+                    XWPFParagraph optionParagraph = document.createParagraph();
+                    optionParagraph.setIndentationLeft(500); // 들여쓰기
+                    XWPFRun optionRun = optionParagraph.createRun();
+                    String prefix = optionNums[optionNum];
+                    optionRun.setText(prefix + " " + stripHtmlTags(option));
+                    optionRun.setFontSize(10);
+                    optionNum++;
+                }
+
+                // 테이블 후 간격 추가
+                spacingParagraph = document.createParagraph();
+                spacingParagraph.setSpacingAfter(200);
+
+                // ✅ 정답 출력
+                XWPFParagraph answerParagraph = document.createParagraph();
+                XWPFRun answerRun = answerParagraph.createRun();
+                answerRun.setText("정답: " + question.getQueAnswer());
+                answerRun.setBold(true);
+                answerRun.setFontSize(10);
+
+                // 해설 출력 (있는 경우)
+                if (question.getQueDescription() != null && !question.getQueDescription().isEmpty()) {
+                    XWPFParagraph descriptionParagraph = document.createParagraph();
+                    XWPFRun descriptionRun = descriptionParagraph.createRun();
+                    descriptionRun.setText("해설 : " + stripHtmlTags(question.getQueDescription()));
+                    descriptionRun.setFontSize(10);
+                }
+
+                // 문제 사이 간격
+                XWPFParagraph spaceParagraph = document.createParagraph();
+                spaceParagraph.setSpacingAfter(100);
+
+                questionNum++;
+            }
+        }
+        return questionNum;
+    }
 }
 
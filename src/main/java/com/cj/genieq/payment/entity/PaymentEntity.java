@@ -7,7 +7,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.DynamicInsert;
 
 import java.time.LocalDateTime;
@@ -17,6 +19,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
+// 연관관계는 모두 LAZY, 결제 내역 목록은 이용권을 함께 로딩
+@NamedEntityGraph(name = "PaymentEntity.withTicket", attributeNodes = @NamedAttributeNode("ticket"))
 @DynamicInsert
 @Table(name = "payment") // ✅ 소문자로 변경
 public class PaymentEntity {
@@ -36,12 +40,16 @@ public class PaymentEntity {
     private LocalDateTime date;
 
     @JsonIgnore
-    @ManyToOne
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mem_code") // ✅ FK도 소문자
     private MemberEntity member;
 
     @JsonIgnore
-    @ManyToOne
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tic_code") // ✅ FK도 소문자
     private TicketEntity ticket;
 }
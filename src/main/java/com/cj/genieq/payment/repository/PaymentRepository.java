@@ -1,6 +1,7 @@
 package com.cj.genieq.payment.repository;
 
 import com.cj.genieq.payment.entity.PaymentEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,6 +13,8 @@ import java.util.List;
 @Repository
 public interface PaymentRepository extends JpaRepository<PaymentEntity, Long> {
 
+    // 결제 내역 목록: 이용권명 표시용 ticket 을 같은 쿼리로 로딩 (행마다 추가 SELECT 방지)
+    @EntityGraph("PaymentEntity.withTicket")
     @Query("""
     SELECT p FROM PaymentEntity p
     WHERE p.member.memCode = :memCode
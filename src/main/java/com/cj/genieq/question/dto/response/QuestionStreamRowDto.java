@@ -0,0 +1,25 @@
+package com.cj.genieq.question.dto.response;
+
+/**
+ * 지문 목록 스트리밍(NDJSON)용 문항 DTO (Record 기반)
+ */
+public record QuestionStreamRowDto(
+        Long pasCode,              // 어떤 지문의 문항인지
+        Long queCode,
+        String queQuery,
+        String queOption,
+        String queAnswer,
+        String queDescription,     // 해설
+        String queSubpassage       // 보기
+) {
+    public QuestionSelectResponseDto toDto() {
+        return QuestionSelectResponseDto.builder()
+                .queCode(queCode)
+                .queQuery(queQuery)
+                .queOption(queOption)
+                .queAnswer(queAnswer)
+                .queDescription(queDescription)
+                .queSubpassage(queSubpassage)
+                .build();
+    }
+}
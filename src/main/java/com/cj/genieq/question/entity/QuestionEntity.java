@@ -1,5 +1,6 @@
 package com.cj.genieq.question.entity;
 
+import com.cj.genieq.common.converter.CompressedTextConverter;
 import com.cj.genieq.passage.entity.PassageEntity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
@@ -7,27 +8,31 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 @AllArgsConstructor
 @Data
 @NoArgsConstructor
 @Builder
 @Entity
-@DynamicInsert
-@Table(name = "question") // ✅ 소문자 테이블명
+@DynamicUpdate // 문항 병합/부분 수정 시 변경된 LONGTEXT 컬럼만 UPDATE
+@Table(name = "question") // ✅ 소문자 테이블명 (@DynamicInsert 는 null 컬럼 조합마다 SQL 이 달라져 배치가 끊기므로 사용하지 않음)
 public class QuestionEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // ✅ 시퀀스 제거, IDENTITY로 변경
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "question_seq_generator") // IDENTITY 는 JDBC 배치 INSERT 불가 → pooled 시퀀스
+    @SequenceGenerator(name = "question_seq_generator", sequenceName = "question_seq", allocationSize = 50)
     @Column(name = "que_code") // ✅ 소문자 컬럼
     private Long queCode;
 
     @Lob
+    @Convert(converter = CompressedTextConverter.class) // genieq.compression.enabled 시 압축 저장
     @Column(name = "que_query", columnDefinition = "LONGTEXT")
     private String queQuery; // 문제문(문항에서 사용하는 실제 질문) '위 지문의 핵신 논점으로 가장 알맞은 것을 고르기오.', '위 지문과 다음 보기를 읽고 주인공의 심정을 유추한 것으로 가장 알맞은 것을 고르시오.'
 
     @Lob
+    @Convert(converter = CompressedTextConverter.class) // genieq.compression.enabled 시 압축 저장
     @Column(name = "que_option", columnDefinition = "LONGTEXT")
     private String queOption; // 선택지: '<p>① ~~</p><p>② ~~</p><p>③ ~~</p><p>④ ~~</p><p>⑤ ~~</p>'
 
@@ -40,9 +45,17 @@ public class QuestionEntity {
     private String queSubpassage; // 보기 내용(보기는 nullable, 보기가 필요한 문항에만 포함됨)
 
     @Lob
+    @Convert(converter = CompressedTextConverter.class) // genieq.compression.enabled 시 압축 저장
     @Column(name = "que_description", columnDefinition = "LONGTEXT")
     private String queDescription; // 문항에 대한 정답 해설: '<p>[정답해설]</p><p>이 글은 ~~</p>'
 
+    // 지문 안에서의 문항 순서 (요청 순서 0, 1, 2 ...; 조회는 항상 que_order, que_code 순)
+    // 컬럼 추가 전 문항은 모두 0 이므로 같은 순서일 때는 기존처럼 que_code 순
+    @Column(name = "que_order", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer queOrder = 0;
+
     @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "pas_code") // ✅ FK도 소문자
@@ -1,8 +1,12 @@
 package com.cj.genieq.question.repository;
 
 import com.cj.genieq.passage.entity.PassageEntity;
+import com.cj.genieq.question.dto.response.QuestionStreamRowDto;
 import com.cj.genieq.question.entity.QuestionEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,9 +14,6 @@ import java.util.Optional;
 
 @Repository
 public interface QuestionRepository extends JpaRepository<QuestionEntity, Long> {
-    //기존 문항 삭제 → PassageEntity 기준으로 삭제
-    void deleteByPassage(PassageEntity passage);
-
     //  특정 지문에 속한 문항 가져오기 (필요 시)
     List<QuestionEntity> findByPassage(PassageEntity passage);
 
@@ -22,4 +23,32 @@ public interface QuestionRepository extends JpaRepository<QuestionEntity, Long>
     // (위 함수를 개선해서 사용) 사용하기 전에 existsByPasCodeAndMember_MemCode 를 이용해서 passage에 대한 권한 우선 확인 후 요청할 것
     Optional<QuestionEntity> findByQueCodeAndPassage_PasCode(Long queCode, Long pasCode);
 
+    // 문항 존재 확인용 (LONGTEXT 컬럼 로딩 없이)
+    boolean existsByQueCodeAndPassage_PasCode(Long queCode, Long pasCode);
+
+    // 여러 지문의 문항 배치 조회 (지문별 그룹핑은 서비스에서)
+    @Query("SELECT q FROM QuestionEntity q WHERE q.passage.pasCode IN :pasCodeList ORDER BY q.passage.pasCode, q.queOrder, q.queCode")
+    List<QuestionEntity> findByPasCodeList(@Param("pasCodeList") List<Long> pasCodeList);
+
+    // 지문 목록 스트리밍 - 묶음 단위 문항 조회 (엔티티 로딩 없음)
+    @Query("""
+    SELECT new com.cj.genieq.question.dto.response.QuestionStreamRowDto(
+        q.passage.pasCode, q.queCode, q.queQuery, q.queOption, q.queAnswer, q.queDescription, q.queSubpassage
+    )
+    FROM QuestionEntity q
+    WHERE q.passage.pasCode IN :pasCodeList
+    ORDER BY q.passage.pasCode, q.queOrder, q.queCode
+    """)
+    List<QuestionStreamRowDto> findRowsByPasCodeList(@Param("pasCodeList") List<Long> pasCodeList);
+
+    // 문항 병합 시 빠진 문항 일괄 삭제 (DELETE 1회, 대기 중인 변경은 먼저 flush)
+    // 영속성 컨텍스트를 거치지 않으므로 호출 측에서 삭제된 엔티티를 분리해야 함
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM QuestionEntity q WHERE q.passage.pasCode = :pasCode AND q.queCode IN :queCodeList")
+    int deleteByPasCodeAndQueCodeList(@Param("pasCode") Long pasCode, @Param("queCodeList") List<Long> queCodeList);
+
+    // 문항 추가 시 맨 뒤 순서 계산용 (문항이 없으면 -1)
+    @Query("SELECT COALESCE(MAX(q.queOrder), -1) FROM QuestionEntity q WHERE q.passage.pasCode = :pasCode")
+    int findMaxQueOrder(@Param("pasCode") Long pasCode);
+
 }
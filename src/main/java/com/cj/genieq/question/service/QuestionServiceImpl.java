@@ -1,6 +1,8 @@
 package com.cj.genieq.question.service;
 
 import com.cj.genieq.passage.entity.PassageEntity;
+import com.cj.genieq.passage.event.PassageChangedEvent;
+import com.cj.genieq.passage.event.PassageContentChangedEvent;
 import com.cj.genieq.passage.repository.PassageRepository;
 import com.cj.genieq.question.dto.request.QuestionPartialUpdateRequestDto;
 import com.cj.genieq.question.dto.request.QuestionUpdateRequestDto;
@@ -9,13 +11,20 @@ import com.cj.genieq.question.dto.response.QuestionSelectResponseDto;
 import com.cj.genieq.question.entity.QuestionEntity;
 import com.cj.genieq.question.repository.QuestionRepository;
 import com.cj.genieq.usage.service.UsageService;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -25,30 +34,37 @@ public class QuestionServiceImpl implements QuestionService {
     private final QuestionRepository questionRepository;
     private final PassageRepository passageRepository;
     private final UsageService usageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
     // 문항만 추가
     @Transactional
     public QuestionEntity addQuestionToExistingPassage(Long memCode, Long pasCode, QuestionInsertRequestDto requestDto) {
         try {
-            // 1. 기존 지문 조회
-            PassageEntity existingPassage = passageRepository.findById(pasCode)
-                    .orElseThrow(() -> new EntityNotFoundException("지문을 찾을 수 없습니다: " + pasCode));
-
-            // 2. 권한 확인 (해당 사용자의 지문인지)
-            if (!existingPassage.getMember().getMemCode().equals(memCode)) {
+            // 1. 권한 확인 (해당 사용자의 지문인지, 지문 행은 로딩하지 않음)
+            if (!passageRepository.existsByPasCodeAndMember_MemCode(pasCode, memCode)) {
+                if (!passageRepository.existsById(pasCode)) {
+                    throw new EntityNotFoundException("지문을 찾을 수 없습니다: " + pasCode);
+                }
                 throw new IllegalAccessException("해당 지문에 대한 권한이 없습니다.");
             }
+
+            // 2. FK 매핑용 참조 (SELECT 없음)
+            PassageEntity existingPassage = passageRepository.getReferenceById(pasCode);
             QuestionEntity question = QuestionEntity.builder()
                     .queQuery(requestDto.getQueQuery())
                     .queOption(requestDto.getQueOption())
                     .queAnswer(requestDto.getQueAnswer())
                     .queDescription(requestDto.getQueDescription())
                     .queSubpassage(requestDto.getQueSubpassage())
+                    .queOrder(questionRepository.findMaxQueOrder(pasCode) + 1) // 맨 뒤에 추가
                     .passage(existingPassage)
                     .build();
 
             // 4. 새로운 문항 저장
             QuestionEntity savedQuestion = questionRepository.save(question);
+            passageRepository.addQuestionCount(pasCode, 1);
+            eventPublisher.publishEvent(PassageChangedEvent.of(memCode, pasCode)); // 문항 수 변경
 
             // 5. 사용량 기록 (문항 생성)
             usageService.updateUsage(memCode, -1, "문항 추가");
@@ -67,19 +83,23 @@ public class QuestionServiceImpl implements QuestionService {
 
     // 문항 저장 로직 이동
     public List<QuestionSelectResponseDto> saveQuestions(PassageEntity savedPassage, List<QuestionInsertRequestDto> questions) {
-        List<QuestionEntity> questionEntities = questions.stream()
-                .map(q -> QuestionEntity.builder()
-                        .queQuery(q.getQueQuery())
-                        .queOption(q.getQueOption())
-                        .queAnswer(q.getQueAnswer())
-                        .queDescription(q.getQueDescription())
-                        .queSubpassage(q.getQueSubpassage())
-                        .passage(savedPassage) // 지문 코드 매핑
-                        .build())
-                .collect(Collectors.toList());
+        List<QuestionEntity> questionEntities = new ArrayList<>(questions.size());
+        for (QuestionInsertRequestDto q : questions) {
+            questionEntities.add(QuestionEntity.builder()
+                    .queQuery(q.getQueQuery())
+                    .queOption(q.getQueOption())
+                    .queAnswer(q.getQueAnswer())
+                    .queDescription(q.getQueDescription())
+                    .queSubpassage(q.getQueSubpassage())
+                    .queOrder(questionEntities.size()) // 요청 순서
+                    .passage(savedPassage) // 지문 코드 매핑
+                    .build());
+        }
 
         //  저장 후 저장된 값 반환
         List<QuestionEntity> savedQuestions = questionRepository.saveAll(questionEntities);
+        passageRepository.addQuestionCount(savedPassage.getPasCode(), savedQuestions.size());
+        eventPublisher.publishEvent(PassageChangedEvent.of(savedPassage.getMember().getMemCode(), savedPassage.getPasCode()));
 
         //  반환 DTO 변환
         return savedQuestions.stream()
@@ -94,35 +114,89 @@ public class QuestionServiceImpl implements QuestionService {
                 .collect(Collectors.toList());
     }
 
-    //기존 문항 삭제 후 새 문항 저장
+    // 문항 병합 (queCode 기준)
+    // - 기존 문항: 바뀐 필드만 UPDATE (Dirty Checking + @DynamicUpdate, 같은 값이면 쿼리 없음)
+    // - queCode 가 없거나 다른 지문의 문항: 새로 INSERT
+    // - 요청에 없는 기존 문항: 삭제 (JDBC 배치 DELETE)
+    // - 순서(que_order)는 요청 순서로, 바뀐 문항만 UPDATE
+    // 전체 삭제 후 재등록하지 않으므로 문항 ID(queCode)가 유지된다
     public List<QuestionSelectResponseDto> updateQuestions(PassageEntity passage, List<QuestionUpdateRequestDto> questions) {
-        // 기존 문항 삭제
-        questionRepository.deleteByPassage(passage);
-
-        // 새 문항 저장
-        List<QuestionEntity> newQuestions = questions.stream()
-                .map(q -> QuestionEntity.builder()
+        // 1. 기존 문항 조회 (queCode → 엔티티)
+        Map<Long, QuestionEntity> existingQuestions = questionRepository.findByPassage(passage).stream()
+                .collect(Collectors.toMap(QuestionEntity::getQueCode, Function.identity()));
+
+        List<QuestionEntity> mergedQuestions = new ArrayList<>();
+        List<QuestionEntity> newQuestions = new ArrayList<>();
+
+        for (QuestionUpdateRequestDto q : questions) {
+            int order = mergedQuestions.size();
+            QuestionEntity existing = (q.getQueCode() != null) ? existingQuestions.remove(q.getQueCode()) : null;
+
+            if (existing != null) {
+                // 2. 기존 문항 수정 (값이 같으면 Hibernate 가 변경으로 보지 않음)
+                existing.setQueQuery(q.getQueQuery());
+                existing.setQueOption(q.getQueOption());
+                existing.setQueAnswer(q.getQueAnswer());
+                existing.setQueDescription(q.getQueDescription());
+                existing.setQueSubpassage(q.getQueSubpassage());
+                if (!Objects.equals(existing.getQueOrder(), order)) {
+                    existing.setQueOrder(order);
+                }
+                mergedQuestions.add(existing);
+            } else {
+                // 3. 새 문항
+                QuestionEntity created = QuestionEntity.builder()
                         .queQuery(q.getQueQuery())
                         .queOption(q.getQueOption())
                         .queAnswer(q.getQueAnswer())
-                        .passage(passage) // 지문 매핑
                         .queDescription(q.getQueDescription())
-                        .build())
-                .collect(Collectors.toList());
+                        .queSubpassage(q.getQueSubpassage())
+                        .queOrder(order)
+                        .passage(passage) // 지문 매핑
+                        .build();
+                newQuestions.add(created);
+                mergedQuestions.add(created);
+            }
+        }
 
-        List<QuestionEntity> updatedQuestions = questionRepository.saveAll(newQuestions);
+        if (!newQuestions.isEmpty()) {
+            questionRepository.saveAll(newQuestions);
+        }
 
-        // 저장된 값 반환
-        return updatedQuestions.stream()
+        // 4. 요청에 포함되지 않은 기존 문항 삭제
+        // 같은 트랜잭션 안의 이후 조회에 삭제된 문항이 남거나 순서가 어긋나지 않게 영속성 컨텍스트도 함께 맞춘다
+        int deletedCount = existingQuestions.size();
+        if (passage.getQuestions() != null && Hibernate.isInitialized(passage.getQuestions())) {
+            // 이미 로딩된 passage.questions 는 요청 순서 그대로 맞추고 orphanRemoval 로 삭제
+            // (일괄 DELETE 를 쓰면 컬렉션에 남은 문항이 flush 때 다시 삭제를 시도해 실패함)
+            passage.getQuestions().clear();
+            passage.getQuestions().addAll(mergedQuestions);
+        } else if (!existingQuestions.isEmpty()) {
+            // 컬렉션이 로딩되지 않았으면 DELETE 1회 후 삭제된 엔티티를 영속성 컨텍스트에서 분리
+            questionRepository.deleteByPasCodeAndQueCodeList(passage.getPasCode(), new ArrayList<>(existingQuestions.keySet()));
+            existingQuestions.values().forEach(entityManager::detach);
+        }
+
+        // 문항 수가 바뀐 경우에만 (자료실 목록의 문항 개수)
+        int delta = newQuestions.size() - deletedCount;
+        if (delta != 0) {
+            passageRepository.addQuestionCount(passage.getPasCode(), delta);
+        }
+        if (!newQuestions.isEmpty() || deletedCount > 0) {
+            eventPublisher.publishEvent(PassageChangedEvent.of(passage.getMember().getMemCode(), passage.getPasCode()));
+        }
+
+        // 요청 순서대로 반환
+        return mergedQuestions.stream()
                 .map(q -> QuestionSelectResponseDto.builder()
                         .queCode(q.getQueCode())
                         .queQuery(q.getQueQuery())
                         .queOption(q.getQueOption())
                         .queAnswer(q.getQueAnswer())
                         .queDescription(q.getQueDescription())
+                        .queSubpassage(q.getQueSubpassage())
                         .build())
                 .collect(Collectors.toList());
-
     }
 
     // 지문 수정과 유사한 패턴으로 구현
@@ -160,6 +234,7 @@ public class QuestionServiceImpl implements QuestionService {
             if (updateDto.getQueDescription() != null) {
                 question.setQueDescription(updateDto.getQueDescription());
             }
+            eventPublisher.publishEvent(new PassageContentChangedEvent(memCode, pasCode));
 
             // JPA가 자동으로 변경된 필드만 UPDATE 쿼리 실행
             // repository.save() 호출 불필요 (@Transactional + Dirty Checking)
@@ -9,6 +9,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+// 웹훅 처리 시 결제 + 이용권을 한 번에 로딩
+@NamedEntityGraph(name = "TossPayEntity.withPaymentAndTicket",
+        attributeNodes = @NamedAttributeNode(value = "payment", subgraph = "payment"),
+        subgraphs = @NamedSubgraph(name = "payment", attributeNodes = @NamedAttributeNode("ticket")))
 @Table(name = "tosspay") // ✅ 테이블명 소문자
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class TossPayEntity {
@@ -1,11 +1,13 @@
 package com.cj.genieq.tosspay.repository;
 
 import com.cj.genieq.tosspay.entity.TossPayEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
 public interface TossPayRepository extends JpaRepository<TossPayEntity, Long> {
 
+    @EntityGraph("TossPayEntity.withPaymentAndTicket")
     Optional<TossPayEntity> findByOrderId(String orderId);
 }
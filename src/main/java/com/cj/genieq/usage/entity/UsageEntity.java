@@ -38,7 +38,7 @@ public class UsageEntity {
     private int usaBalance;
 
     @JsonIgnore
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mem_code") // ✅ FK도 소문자
     private MemberEntity member;
 
@@ -0,0 +1,191 @@
+package com.cj.genieq.common;
+
+import com.cj.genieq.common.converter.CompressedTextConverter;
+import com.cj.genieq.member.entity.MemberEntity;
+import com.cj.genieq.passage.entity.DescriptionEntity;
+import com.cj.genieq.passage.entity.PassageContentEntity;
+import com.cj.genieq.passage.entity.PassageEntity;
+import com.cj.genieq.passage.service.PassageContentStore;
+import com.cj.genieq.passage.service.PassageService;
+import com.cj.genieq.passage.service.PassageServiceImpl;
+import com.cj.genieq.passage.service.TitleAllocator;
+import com.cj.genieq.payment.entity.PaymentEntity;
+import com.cj.genieq.payment.service.PaymentService;
+import com.cj.genieq.payment.service.PaymentServiceImpl;
+import com.cj.genieq.question.entity.QuestionEntity;
+import com.cj.genieq.question.service.QuestionServiceImpl;
+import com.cj.genieq.support.SqlStatementCounter;
+import com.cj.genieq.ticket.entity.TicketEntity;
+import com.cj.genieq.tosspay.service.TossPayService;
+import com.cj.genieq.usage.service.UsageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 조회 API 별 SQL 개수 상한 검증
+ * 연관관계는 모두 LAZY 이므로 필요한 관계는 엔티티 그래프로만 로딩되어야 하며,
+ * 데이터 건수와 무관하게 아래 상한을 넘으면(N+1, 불필요한 연관 로딩) 실패한다.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:genieq-fetch;MODE=MariaDB;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.cj.genieq.support.SqlStatementCounter"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PassageServiceImpl.class, QuestionServiceImpl.class, TitleAllocator.class, PassageContentStore.class,
+        CompressedTextConverter.class, PaymentServiceImpl.class})
+class FetchPlanQueryCountTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private PassageService passageService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private UsageService usageService;
+
+    @MockitoBean
+    private TossPayService tossPayService;
+
+    private Long memCode;
+    private Long pasCode;
+
+    @BeforeEach
+    void setUp() {
+        MemberEntity member = entityManager.persist(MemberEntity.builder()
+                .memName("테스트")
+                .memEmail("fetch@genieq.com")
+                .memPassword("password")
+                .memIsDeleted(0)
+                .build());
+        memCode = member.getMemCode();
+
+        String content = "<p>지문 내용</p>";
+        PassageContentEntity passageContent = entityManager.persist(PassageContentEntity.builder()
+                .hash(PassageContentStore.hash(content))
+                .content(content)
+                .lastUsed(LocalDateTime.now())
+                .build());
+
+        TicketEntity ticket = entityManager.persist(TicketEntity.builder().ticNumber(10).price(9900).build());
+
+        for (int i = 0; i < ROWS; i++) {
+            PassageEntity passage = entityManager.persist(PassageEntity.builder()
+                    .title("지문 " + i)
+                    .contentHash(passageContent.getHash())
+                    .passageContent(passageContent)
+                    .date(LocalDateTime.now())
+                    .isDeleted(0)
+                    .isFavorite(0)
+                    .isGenerated(1)
+                    .isUserEntered(0)
+                    .member(member)
+                    .build());
+            pasCode = passage.getPasCode();
+
+            entityManager.persist(DescriptionEntity.builder().pasType("과학").keyword("키워드").gist("<p>핵심</p>").order(1).passage(passage).build());
+            for (int q = 0; q < ROWS; q++) {
+                entityManager.persist(QuestionEntity.builder().queQuery("문제 " + q).queOption("<p>①</p>").queAnswer("1").passage(passage).build());
+            }
+
+            entityManager.persist(PaymentEntity.builder()
+                    .price(9900)
+                    .status("PAID")
+                    .date(LocalDateTime.now())
+                    .member(member)
+                    .ticket(ticket)
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("결제 내역 목록: 이용권을 함께 조회하여 1회")
+    void paymentList() {
+        assertMaxStatements(1, () -> {
+            var payments = paymentService.getPaymentList(memCode, LocalDate.now().minusDays(1), LocalDate.now());
+            assertEquals(ROWS, payments.size());
+        });
+    }
+
+    @Test
+    @DisplayName("최근 작업 목록: DTO 조회 1회 (회원/본문 로딩 없음)")
+    void recentList() {
+        assertMaxStatements(1, () -> assertEquals(ROWS, passageService.selectRecentList(memCode).size()));
+    }
+
+    @Test
+    @DisplayName("지문 개별 조회: 지문+본문 1회 + description 1회")
+    void selectPassage() {
+        assertMaxStatements(2, () -> assertNotNull(passageService.selectPassage(memCode, pasCode).getContent()));
+    }
+
+    @Test
+    @DisplayName("지문 + 문항 조회: 지문+본문+문항 1회 + description 1회")
+    void passageWithQuestions() {
+        assertMaxStatements(2, () -> {
+            var passage = passageService.getPassageWithQuestions(pasCode);
+            assertNotNull(passage.getContent());
+            assertEquals(ROWS, passage.getQuestions().size());
+        });
+    }
+
+    @Test
+    @DisplayName("문항이 있는 지문 목록: 지문+본문 1회 + 문항 IN 1회 + description IN 1회 (지문 수와 무관)")
+    void passagesWithQuestionsList() {
+        // 문항이 있는 지문(하위 지문) 상태로 변경
+        entityManager.getEntityManager()
+                .createQuery("UPDATE PassageEntity p SET p.refPasCode = p.pasCode, p.questionCount = " + ROWS)
+                .executeUpdate();
+        entityManager.clear();
+
+        assertMaxStatements(3, () -> {
+            var passages = passageService.getPassagesWithQuestionsList(memCode);
+            assertEquals(ROWS, passages.size());
+            passages.forEach(passage -> {
+                assertNotNull(passage.getContent());
+                assertEquals(ROWS, passage.getQuestions().size());
+                assertEquals(1, passage.getDescriptions().size());
+            });
+        });
+        assertMaxStatements(3, () -> assertEquals(2, passageService.getPassagesWithQuestionsList(memCode, PageRequest.of(0, 2)).size()));
+    }
+
+    @Test
+    @DisplayName("지문 미리보기 페이지: 발췌 페이지 1회 + 개수 1회 + 분야/키워드 1회 (본문 로딩 없음)")
+    void previewPage() {
+        assertMaxStatements(3, () -> {
+            var page = passageService.getPreviewPage(memCode, null, 1, 2);
+            assertEquals(2, page.getItems().size());
+            assertEquals(ROWS, page.getTotalCount());
+            assertEquals(1, page.getItems().get(0).getDescriptions().size());
+        });
+    }
+
+    private void assertMaxStatements(int max, Runnable action) {
+        int count = SqlStatementCounter.countDuring(action);
+        assertTrue(count <= max, "SQL " + count + "회 실행 (상한 " + max + "회): " + SqlStatementCounter.statements());
+    }
+}
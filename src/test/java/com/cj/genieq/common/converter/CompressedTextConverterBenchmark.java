@@ -0,0 +1,80 @@
+package com.cj.genieq.common.converter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * CompressedTextConverter 벤치마크 (JUnit 테스트 아님, main 으로 직접 실행)
+ * Tiptap HTML 형태의 지문/선택지/해설 샘플로 압축률과 인코딩/디코딩 CPU 비용을 측정한다.
+ *
+ * 실행: IDE 에서 main 실행 또는
+ *   ./mvnw test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.cj.genieq.common.converter.CompressedTextConverterBenchmark
+ */
+public class CompressedTextConverterBenchmark {
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 10_000;
+
+    private static final String[] WORDS = {
+            "지문", "문항", "독서", "과학", "기술", "인문", "사회", "예술", "논점", "근거", "주장", "개념",
+            "the", "of", "reading", "passage", "은", "는", "이", "가", "을", "를", "에서", "으로"
+    };
+
+    public static void main(String[] args) {
+        CompressedTextConverter converter = new CompressedTextConverter(true, 0);
+
+        bench(converter, "선택지 (~0.5KB)", sampleHtml(5, 12, 1));
+        bench(converter, "해설 (~2KB)", sampleHtml(8, 30, 2));
+        bench(converter, "지문 (~8KB)", sampleHtml(20, 60, 3));
+        bench(converter, "긴 지문 (~30KB)", sampleHtml(60, 80, 4));
+    }
+
+    private static void bench(CompressedTextConverter converter, String label, String html) {
+        String encoded = converter.convertToDatabaseColumn(html);
+
+        for (int i = 0; i < WARMUP; i++) {
+            converter.convertToEntityAttribute(converter.convertToDatabaseColumn(html));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            converter.convertToDatabaseColumn(html);
+        }
+        long encodeNs = (System.nanoTime() - start) / ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            converter.convertToEntityAttribute(encoded);
+        }
+        long decodeNs = (System.nanoTime() - start) / ITERATIONS;
+
+        if (!converter.convertToEntityAttribute(encoded).equals(html)) {
+            throw new IllegalStateException("복원 결과가 원본과 다릅니다: " + label);
+        }
+
+        int plainBytes = html.getBytes(StandardCharsets.UTF_8).length;
+        int storedBytes = encoded.getBytes(StandardCharsets.UTF_8).length;
+        System.out.printf("%-16s 원본 %7d B → 저장 %7d B (%.2fx) | encode %7.1f µs, decode %7.1f µs%n",
+                label, plainBytes, storedBytes, (double) plainBytes / storedBytes, encodeNs / 1000.0, decodeNs / 1000.0);
+    }
+
+    // <p>, <strong>, <u> 등 에디터가 만드는 태그 구조를 흉내낸 샘플 (고정 시드)
+    private static String sampleHtml(int paragraphs, int wordsPerParagraph, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder();
+        for (int p = 0; p < paragraphs; p++) {
+            sb.append("<p style=\"text-align: justify\">");
+            for (int w = 0; w < wordsPerParagraph; w++) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                switch (random.nextInt(12)) {
+                    case 0 -> sb.append("<strong>").append(word).append("</strong>");
+                    case 1 -> sb.append("<u>").append(word).append("</u>");
+                    default -> sb.append(word);
+                }
+                sb.append(' ');
+            }
+            sb.append("</p>");
+        }
+        return sb.toString();
+    }
+}
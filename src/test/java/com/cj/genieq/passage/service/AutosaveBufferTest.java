@@ -0,0 +1,126 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.passage.dto.request.PassagePartialUpdateRequestDto;
+import com.cj.genieq.passage.dto.response.PassageSelectResponseDto;
+import com.cj.genieq.passage.repository.PassageRepository;
+import com.cj.genieq.question.repository.QuestionRepository;
+import com.cj.genieq.question.service.QuestionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * AutosaveBuffer 단위 테스트
+ * 연속 수정이 한 번의 반영으로 합쳐지고, 반영 전 조회에 대기 값이 보이며, 반영에 실패한 수정은 버리지 않는지 확인
+ */
+class AutosaveBufferTest {
+
+    private static final Long MEM_CODE = 1L;
+    private static final Long PAS_CODE = 10L;
+
+    private PassageService passageService;
+    private AutosaveBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        passageService = mock(PassageService.class);
+        PassageRepository passageRepository = mock(PassageRepository.class);
+        when(passageRepository.existsByPasCodeAndMember_MemCode(PAS_CODE, MEM_CODE)).thenReturn(true);
+        buffer = new AutosaveBuffer(passageService, mock(QuestionService.class), passageRepository, mock(QuestionRepository.class),
+                true, 3000, 15000, 500, 3);
+    }
+
+    @Test
+    @DisplayName("연속 수정은 null 이 아닌 필드끼리 합쳐 한 번만 반영한다")
+    void flushPassage_coalescesUpdates() {
+        // Given
+        when(passageService.updatePassagePartial(eq(MEM_CODE), eq(PAS_CODE), any())).thenReturn(true);
+        buffer.submitPassage(MEM_CODE, PAS_CODE, new PassagePartialUpdateRequestDto("제목 1", null, null));
+        buffer.submitPassage(MEM_CODE, PAS_CODE, new PassagePartialUpdateRequestDto(null, "<p>본문 1</p>", null));
+        buffer.submitPassage(MEM_CODE, PAS_CODE, new PassagePartialUpdateRequestDto("제목 2", null, null));
+
+        // When
+        buffer.flushPassage(PAS_CODE);
+        buffer.flushPassage(PAS_CODE);
+
+        // Then
+        ArgumentCaptor<PassagePartialUpdateRequestDto> captor = ArgumentCaptor.forClass(PassagePartialUpdateRequestDto.class);
+        verify(passageService, times(1)).updatePassagePartial(eq(MEM_CODE), eq(PAS_CODE), captor.capture());
+        assertEquals(new PassagePartialUpdateRequestDto("제목 2", "<p>본문 1</p>", null), captor.getValue());
+        assertEquals(0L, buffer.pendingStamp(MEM_CODE, PAS_CODE), "반영 후에는 대기 항목이 없어야 합니다");
+    }
+
+    @Test
+    @DisplayName("반영 전 조회에는 같은 회원의 대기 값을 덮어써서 보여준다")
+    void overlay_readsOwnPendingWrites() {
+        // Given
+        buffer.submitPassage(MEM_CODE, PAS_CODE, new PassagePartialUpdateRequestDto("새 제목", "<p>새 본문</p>", null));
+        PassageSelectResponseDto mine = dto();
+        PassageSelectResponseDto others = dto();
+
+        // When
+        buffer.overlay(MEM_CODE, mine);
+        buffer.overlay(2L, others);
+
+        // Then
+        assertEquals("새 제목", mine.getTitle());
+        assertEquals("<p>새 본문</p>", mine.getContent());
+        assertEquals(4, mine.getContentVersion(), "반영 시 올라갈 본문 버전이어야 합니다");
+        assertEquals("기존 제목", others.getTitle(), "다른 회원에게는 대기 값이 보이면 안 됩니다");
+        verify(passageService, never()).updatePassagePartial(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("반영에 실패하면 대기 항목을 남겨 두고 다음 반영 때 다시 시도한다")
+    void flushPassage_keepsEntryOnFailure() {
+        // Given: 첫 반영은 예외, 두 번째는 실패 응답, 세 번째에 성공
+        when(passageService.updatePassagePartial(eq(MEM_CODE), eq(PAS_CODE), any()))
+                .thenThrow(new IllegalStateException("DB 연결 끊김"))
+                .thenReturn(false)
+                .thenReturn(true);
+        buffer.submitPassage(MEM_CODE, PAS_CODE, new PassagePartialUpdateRequestDto(null, "<p>저장할 본문</p>", null));
+
+        // When & Then
+        buffer.flushPassage(PAS_CODE);
+        buffer.flushPassage(PAS_CODE);
+        PassageSelectResponseDto afterFailures = dto();
+        buffer.overlay(MEM_CODE, afterFailures);
+        assertEquals("<p>저장할 본문</p>", afterFailures.getContent(), "실패한 수정은 남아 있어야 합니다");
+
+        buffer.flushPassage(PAS_CODE);
+        assertEquals(0L, buffer.pendingStamp(MEM_CODE, PAS_CODE));
+        verify(passageService, times(3)).updatePassagePartial(eq(MEM_CODE), eq(PAS_CODE), any());
+    }
+
+    @Test
+    @DisplayName("max-attempts 번 연속 실패하면 버린다")
+    void flushPassage_dropsAfterMaxAttempts() {
+        // Given
+        when(passageService.updatePassagePartial(eq(MEM_CODE), eq(PAS_CODE), any())).thenReturn(false);
+        buffer.submitPassage(MEM_CODE, PAS_CODE, new PassagePartialUpdateRequestDto("제목", null, null));
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            buffer.flushPassage(PAS_CODE);
+        }
+
+        // Then
+        verify(passageService, times(3)).updatePassagePartial(eq(MEM_CODE), eq(PAS_CODE), any());
+        assertEquals(0L, buffer.pendingStamp(MEM_CODE, PAS_CODE));
+    }
+
+    private static PassageSelectResponseDto dto() {
+        return PassageSelectResponseDto.builder()
+                .pasCode(PAS_CODE)
+                .title("기존 제목")
+                .content("<p>기존 본문</p>")
+                .contentVersion(3)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.passage.dto.request.ContentDeltaOpDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ContentDeltaApplier 단위 테스트
+ * 델타 연산이 순서대로 UTF-16 인덱스 기준으로 적용되는지 확인
+ */
+class ContentDeltaApplierTest {
+
+    private ContentDeltaOpDto op(int pos, int del, String ins) {
+        return ContentDeltaOpDto.builder().pos(pos).del(del).ins(ins).build();
+    }
+
+    @Test
+    @DisplayName("삽입/삭제/치환 연산을 순서대로 적용한다")
+    void apply_sequentialOps() {
+        // Given
+        String content = "<p>지문 내용</p>";
+
+        // When
+        String result = ContentDeltaApplier.apply(content, List.of(
+                op(3, 2, "본문"),        // "지문" → "본문"
+                op(8, 0, " 추가"),       // "내용" 뒤에 삽입
+                op(0, 0, "<h1>제목</h1>")
+        ));
+
+        // Then
+        assertEquals("<h1>제목</h1><p>본문 내용 추가</p>", result);
+    }
+
+    @Test
+    @DisplayName("ops 가 비어 있으면 본문을 그대로 반환한다")
+    void apply_emptyOps() {
+        assertEquals("본문", ContentDeltaApplier.apply("본문", List.of()));
+        assertEquals("", ContentDeltaApplier.apply(null, null));
+    }
+
+    @Test
+    @DisplayName("범위를 벗어난 연산은 IllegalArgumentException")
+    void apply_outOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> ContentDeltaApplier.apply("abc", List.of(op(4, 0, "x"))));
+        assertThrows(IllegalArgumentException.class, () -> ContentDeltaApplier.apply("abc", List.of(op(1, 3, null))));
+        assertThrows(IllegalArgumentException.class, () -> ContentDeltaApplier.apply("abc", List.of(op(-1, 0, "x"))));
+        assertThrows(IllegalArgumentException.class, () -> ContentDeltaApplier.apply("abc",
+                List.of(ContentDeltaOpDto.builder().del(1).build())));
+    }
+}
@@ -0,0 +1,122 @@
+package com.cj.genieq.passage.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExportArtifactCache 단위 테스트
+ * 같은 키는 한 번만 생성되고, 총 용량을 넘으면 오래 안 쓴 파일부터 삭제되는지 확인
+ */
+class ExportArtifactCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("첫 요청만 생성하고 이후에는 저장된 파일을 그대로 전송한다")
+    void openOrRender_rendersOnce() throws IOException {
+        // Given
+        ExportArtifactCache cache = cache(1024);
+        String key = cache.key(1L, "txt", "1", Map.of("content", "지문"));
+        AtomicInteger renders = new AtomicInteger();
+
+        // When
+        String first = read(cache.openOrRender(key, "txt", out -> {
+            renders.incrementAndGet();
+            out.write("지문".getBytes(StandardCharsets.UTF_8));
+        }));
+        FileChannel cached = cache.openCached(key, "txt");
+
+        // Then
+        assertEquals("지문", first);
+        assertNotNull(cached);
+        assertEquals("지문", read(cached));
+        assertEquals(1, renders.get());
+        assertNotEquals(key, cache.key(1L, "txt", "2", Map.of("content", "지문")), "렌더러 버전이 다르면 키도 달라야 합니다");
+        try (var files = Files.list(directory)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().startsWith("tmp-")), "임시 파일이 남으면 안 됩니다");
+        }
+    }
+
+    @Test
+    @DisplayName("총 용량을 넘으면 가장 오래 안 쓴 파일부터 삭제한다")
+    void register_evictsLeastRecentlyUsed() throws IOException {
+        // Given: 100 bytes 파일 3개, 한도 250 bytes
+        ExportArtifactCache cache = cache(250);
+        String a = cache.key(1L, "pdf", "1", "a");
+        String b = cache.key(2L, "pdf", "1", "b");
+        String c = cache.key(3L, "pdf", "1", "c");
+        render(cache, a);
+        render(cache, b);
+        cache.openCached(a, "pdf").close(); // a 를 최근 사용으로
+
+        // When
+        render(cache, c);
+
+        // Then
+        assertTrue(isCached(cache, a));
+        assertFalse(isCached(cache, b));
+        assertTrue(isCached(cache, c));
+        assertFalse(Files.exists(directory.resolve(b + ".pdf")));
+    }
+
+    @Test
+    @DisplayName("캐시 디렉터리를 만들 수 없으면 캐시를 끈다")
+    void initialize_disablesWhenDirectoryUnusable() throws IOException {
+        // Given: 디렉터리 자리에 일반 파일이 있음
+        Path file = Files.createFile(directory.resolve("not-a-directory"));
+        ExportArtifactCache cache = new ExportArtifactCache(new ObjectMapper(),
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class),
+                true, file.toString(), 1024);
+
+        // When
+        cache.initialize();
+
+        // Then
+        assertFalse(cache.isEnabled());
+    }
+
+    private ExportArtifactCache cache(long maxBytes) {
+        ExportArtifactCache cache = new ExportArtifactCache(new ObjectMapper(),
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class),
+                true, directory.toString(), maxBytes);
+        cache.initialize();
+        return cache;
+    }
+
+    private static void render(ExportArtifactCache cache, String key) throws IOException {
+        cache.openOrRender(key, "pdf", out -> out.write(new byte[100])).close();
+    }
+
+    private static boolean isCached(ExportArtifactCache cache, String key) throws IOException {
+        FileChannel channel = cache.openCached(key, "pdf");
+        if (channel == null) {
+            return false;
+        }
+        channel.close();
+        return true;
+    }
+
+    private static String read(FileChannel channel) throws IOException {
+        try (channel) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ExportArtifactCache.transfer(channel, out);
+            return out.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
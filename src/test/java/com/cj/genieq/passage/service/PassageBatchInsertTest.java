@@ -0,0 +1,109 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.common.converter.CompressedTextConverter;
+import com.cj.genieq.member.entity.MemberEntity;
+import com.cj.genieq.passage.dto.DescriptionDto;
+import com.cj.genieq.passage.dto.request.PassageWithQuestionsRequestDto;
+import com.cj.genieq.passage.dto.response.PassageWithQuestionsResponseDto;
+import com.cj.genieq.question.dto.request.QuestionInsertRequestDto;
+import com.cj.genieq.question.service.QuestionServiceImpl;
+import com.cj.genieq.support.SqlStatementCounter;
+import com.cj.genieq.usage.service.UsageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 지문 + 문항 저장 시 JDBC 배치 INSERT 검증
+ * 문항 수와 관계없이 테이블당 INSERT 문이 한 번만 준비(prepare)되는지 확인한다
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:genieq;MODE=MariaDB;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.order_updates=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.cj.genieq.support.SqlStatementCounter"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PassageServiceImpl.class, QuestionServiceImpl.class, TitleAllocator.class, PassageContentStore.class, CompressedTextConverter.class})
+class PassageBatchInsertTest {
+
+    private static final int QUESTION_COUNT = 10;
+
+    @Autowired
+    private PassageService passageService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private UsageService usageService;
+
+    private Long memCode;
+
+    @BeforeEach
+    void setUp() {
+        MemberEntity member = MemberEntity.builder()
+                .memName("테스트")
+                .memEmail("batch@genieq.com")
+                .memPassword("password")
+                .memIsDeleted(0)
+                .build();
+        memCode = entityManager.persistAndFlush(member).getMemCode();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    @DisplayName("지문 + 문항 10개 저장 시 description/question INSERT 는 각각 1회만 준비된다")
+    void savePassageWithQuestions_batchesInserts() {
+        // Given
+        PassageWithQuestionsRequestDto requestDto = PassageWithQuestionsRequestDto.builder()
+                .title("배치 테스트 지문")
+                .content("<p>지문 내용</p>")
+                .isGenerated(0)
+                .isUserEntered(1)
+                .descriptions(List.of(
+                        DescriptionDto.builder().pasType("과학").keyword("배치").gist("<p>핵심1</p>").order(1).build(),
+                        DescriptionDto.builder().pasType("기술").keyword("시퀀스").gist("<p>핵심2</p>").order(2).build()))
+                .questions(IntStream.rangeClosed(1, QUESTION_COUNT)
+                        .mapToObj(i -> QuestionInsertRequestDto.builder()
+                                .queQuery("문제 " + i)
+                                .queOption("<p>① 가</p><p>② 나</p>")
+                                .queAnswer("1")
+                                .queDescription(i % 2 == 0 ? "<p>해설</p>" : null)
+                                .build())
+                        .toList())
+                .build();
+
+        // When
+        PassageWithQuestionsResponseDto response = passageService.savePassageWithQuestions(memCode, requestDto);
+        entityManager.flush();
+
+        // Then
+        assertEquals(QUESTION_COUNT, response.getQuestions().size());
+        assertTrue(response.getQuestions().stream().allMatch(q -> q.getQueCode() != null), "문항 ID 는 flush 전에 시퀀스로 발급되어야 합니다");
+
+        assertEquals(1, SqlStatementCounter.insertCount("question"),
+                "문항 INSERT 는 하나의 배치여야 합니다: " + SqlStatementCounter.statements());
+        assertEquals(1, SqlStatementCounter.insertCount("description"),
+                "description INSERT 는 하나의 배치여야 합니다: " + SqlStatementCounter.statements());
+        assertTrue(SqlStatementCounter.insertCount("passage") <= 2,
+                "기본 지문 + 지문/문항 INSERT 는 최대 2회여야 합니다: " + SqlStatementCounter.statements());
+        assertEquals(1, SqlStatementCounter.insertCount("passage_content"),
+                "기본 지문과 지문/문항은 같은 본문 행을 공유해야 합니다: " + SqlStatementCounter.statements());
+    }
+}
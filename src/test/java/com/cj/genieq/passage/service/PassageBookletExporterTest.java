@@ -0,0 +1,84 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.passage.dto.response.PassageWithQuestionsResponseDto;
+import com.cj.genieq.question.dto.response.QuestionSelectResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PassageBookletExporter 단위 테스트 (폰트가 필요 없는 TXT 항목 ZIP 으로 확인)
+ * 지문별 파일을 동시에 만들어도 요청 순서대로 묶이고, 문항 번호가 지문을 넘어 이어지는지 확인
+ */
+class PassageBookletExporterTest {
+
+    // 스레드 2개, 대기열 1칸 → 나머지는 요청 스레드가 직접 생성
+    private final PassageBookletExporter exporter =
+            new PassageBookletExporter(null, null, new TxtService(), 2, 1, 100);
+
+    @AfterEach
+    void tearDown() {
+        exporter.shutdown();
+    }
+
+    @Test
+    @DisplayName("ZIP 항목은 요청 순서대로, 문항 번호는 앞 지문에 이어서 매긴다")
+    void write_zipKeepsOrderAndNumbering() throws IOException {
+        // Given: 문항 2개, 0개, 1개인 지문
+        List<PassageWithQuestionsResponseDto> passages = List.of(
+                passage("첫 지문", "가", "나"),
+                passage("a/b", new String[0]),
+                passage("셋째", "다"));
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.write(passages, "zip", "txt", out);
+        Map<String, String> entries = unzip(out.toByteArray());
+
+        // Then
+        assertArrayEquals(new int[]{1, 3, 3}, PassageBookletExporter.startNumbers(passages));
+        assertEquals(List.of("01_첫 지문.txt", "02_a_b.txt", "03_셋째.txt"), new ArrayList<>(entries.keySet()));
+        assertTrue(entries.get("01_첫 지문.txt").contains("2. 나"));
+        assertTrue(entries.get("03_셋째.txt").contains("3. 다"));
+    }
+
+    private static PassageWithQuestionsResponseDto passage(String title, String... queries) {
+        List<QuestionSelectResponseDto> questions = new ArrayList<>();
+        for (String query : queries) {
+            questions.add(QuestionSelectResponseDto.builder()
+                    .queQuery(query)
+                    .queOption("<p>선택지</p>")
+                    .queAnswer("1")
+                    .build());
+        }
+        return PassageWithQuestionsResponseDto.builder()
+                .title(title)
+                .content("<p>지문</p>")
+                .questions(questions)
+                .build();
+    }
+
+    private static Map<String, String> unzip(byte[] zip) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
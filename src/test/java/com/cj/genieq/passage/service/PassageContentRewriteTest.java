@@ -0,0 +1,103 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.common.converter.CompressedTextConverter;
+import com.cj.genieq.member.entity.MemberEntity;
+import com.cj.genieq.passage.dto.DescriptionDto;
+import com.cj.genieq.passage.dto.request.PassageWithQuestionsRequestDto;
+import com.cj.genieq.passage.dto.response.PassageWithQuestionsResponseDto;
+import com.cj.genieq.question.dto.request.QuestionInsertRequestDto;
+import com.cj.genieq.question.service.QuestionServiceImpl;
+import com.cj.genieq.usage.service.UsageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 본문 수정 시 passage_content 행 관리 검증
+ * 공유 중인 본문은 새 행으로 분리(copy-on-write)하고, 한 지문만 쓰는 본문은 같은 행을 고쳐 써서 고아 행이 생기지 않는지 확인한다
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:genieq-content;MODE=MariaDB;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PassageServiceImpl.class, QuestionServiceImpl.class, TitleAllocator.class, PassageContentStore.class, CompressedTextConverter.class})
+class PassageContentRewriteTest {
+
+    @Autowired
+    private PassageService passageService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private UsageService usageService;
+
+    private Long memCode;
+
+    @BeforeEach
+    void setUp() {
+        MemberEntity member = MemberEntity.builder()
+                .memName("테스트")
+                .memEmail("content@genieq.com")
+                .memPassword("password")
+                .memIsDeleted(0)
+                .build();
+        memCode = entityManager.persistAndFlush(member).getMemCode();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("공유 본문 수정은 새 행으로 분리하고, 단독 본문 수정은 같은 행을 고쳐 쓴다")
+    void updatePassage_rewritesExclusiveContent() {
+        // Given: 기본 지문과 지문/문항이 같은 본문 행을 공유
+        PassageWithQuestionsResponseDto saved = passageService.savePassageWithQuestions(memCode, PassageWithQuestionsRequestDto.builder()
+                .title("본문 테스트 지문")
+                .content("<p>원본</p>")
+                .isGenerated(0)
+                .isUserEntered(1)
+                .descriptions(List.of(DescriptionDto.builder().pasType("과학").keyword("본문").gist("<p>핵심</p>").order(1).build()))
+                .questions(List.of(QuestionInsertRequestDto.builder().queQuery("문제").queOption("<p>① 가</p>").queAnswer("1").build()))
+                .build());
+        flushAndClear();
+        assertEquals(1, contentRowCount());
+
+        // When: 첫 수정 (공유 중) → 새 행, 두 번째 수정 (단독) → 같은 행 고쳐 쓰기
+        passageService.updatePassage(memCode, saved.getPasCode(), PassageWithQuestionsRequestDto.builder().content("<p>수정 1</p>").build());
+        flushAndClear();
+        long afterFirst = contentRowCount();
+        passageService.updatePassage(memCode, saved.getPasCode(), PassageWithQuestionsRequestDto.builder().content("<p>수정 2</p>").build());
+        flushAndClear();
+
+        // Then
+        assertEquals(2, afterFirst, "공유 중인 원본 행은 남고 새 행이 생겨야 합니다");
+        assertEquals(2, contentRowCount(), "단독 본문은 새 행 없이 고쳐 써야 합니다");
+        assertEquals("<p>수정 2</p>", passageService.getPassageWithQuestions(saved.getPasCode()).getContent());
+        assertEquals(PassageContentStore.hash("<p>수정 2</p>"), entityManager.getEntityManager()
+                .createNativeQuery("SELECT pct_hash FROM passage WHERE pas_code = :pasCode")
+                .setParameter("pasCode", saved.getPasCode())
+                .getSingleResult());
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long contentRowCount() {
+        return ((Number) entityManager.getEntityManager()
+                .createNativeQuery("SELECT COUNT(*) FROM passage_content")
+                .getSingleResult()).longValue();
+    }
+}
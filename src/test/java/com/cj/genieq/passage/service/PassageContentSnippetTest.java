@@ -0,0 +1,38 @@
+package com.cj.genieq.passage.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PassageContentStore.snippet 단위 테스트
+ * 미리보기 발췌가 태그/엔티티/공백을 정리한 평문 앞부분인지 확인
+ */
+class PassageContentSnippetTest {
+
+    @Test
+    @DisplayName("태그를 제거하고 블록 태그 경계와 엔티티는 공백/문자로 바꾼다")
+    void snippet_stripsTags() {
+        // Given
+        String html = "<p>지<b>문</b> 내용</p><p>둘째&nbsp;&amp;   문단&#44032;</p><img src=\"data:image/png;base64,AAAA\">";
+
+        // When
+        String snippet = PassageContentStore.snippet(html);
+
+        // Then
+        assertEquals("지문 내용 둘째 & 문단가", snippet);
+    }
+
+    @Test
+    @DisplayName("SNIPPET_LENGTH 를 넘으면 잘라서 말줄임표를 붙이고, 딱 맞으면 붙이지 않는다")
+    void snippet_truncates() {
+        int limit = PassageContentStore.SNIPPET_LENGTH;
+
+        String truncated = PassageContentStore.snippet("<p>" + "가".repeat(limit + 10) + "</p>");
+        assertEquals("가".repeat(limit) + "…", truncated);
+
+        String exact = PassageContentStore.snippet("<p>" + "가".repeat(limit) + "</p><p></p>");
+        assertEquals("가".repeat(limit), exact);
+    }
+}
@@ -0,0 +1,133 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.common.converter.CompressedTextConverter;
+import com.cj.genieq.member.entity.MemberEntity;
+import com.cj.genieq.passage.dto.DescriptionDto;
+import com.cj.genieq.passage.dto.request.PassageWithQuestionsRequestDto;
+import com.cj.genieq.passage.dto.response.PassageWithQuestionsResponseDto;
+import com.cj.genieq.passage.entity.DescriptionEntity;
+import com.cj.genieq.passage.entity.PassageEntity;
+import com.cj.genieq.passage.repository.DescriptionRepository;
+import com.cj.genieq.question.service.QuestionServiceImpl;
+import com.cj.genieq.usage.service.UsageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Description 병합 검증
+ * order 기준으로 기존 행은 des_code 를 유지한 채 수정, 새 order 는 추가, 빠진 order 는 삭제되고
+ * 삭제된 행이 같은 트랜잭션 안에서 다시 조회되거나 반영되지 않는지 확인한다
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:genieq-description;MODE=MariaDB;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PassageServiceImpl.class, QuestionServiceImpl.class, TitleAllocator.class, PassageContentStore.class, CompressedTextConverter.class})
+class PassageDescriptionMergeTest {
+
+    @Autowired
+    private PassageService passageService;
+
+    @Autowired
+    private DescriptionRepository descriptionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private UsageService usageService;
+
+    private Long memCode;
+
+    @BeforeEach
+    void setUp() {
+        MemberEntity member = MemberEntity.builder()
+                .memName("테스트")
+                .memEmail("description@genieq.com")
+                .memPassword("password")
+                .memIsDeleted(0)
+                .build();
+        memCode = entityManager.persistAndFlush(member).getMemCode();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("같은 order 는 수정, 새 order 는 추가, 빠진 order 는 삭제한다")
+    void updatePassage_mergesDescriptionsByOrder() {
+        // Given: order 1, 2
+        Long pasCode = save();
+        List<DescriptionEntity> before = descriptionRepository.findByPassage_PasCodeOrderByOrderAsc(pasCode);
+        Long firstCode = before.get(0).getDesCode();
+        Long removedCode = before.get(1).getDesCode();
+        entityManager.clear();
+
+        // When: order 1 수정, order 3 추가 (order 2 삭제)
+        passageService.updatePassage(memCode, pasCode, PassageWithQuestionsRequestDto.builder()
+                .descriptions(List.of(description(1, "수정"), description(3, "추가")))
+                .build());
+
+        // Then: 같은 트랜잭션 안에서도 삭제된 행은 보이지 않음
+        assertTrue(descriptionRepository.findById(removedCode).isEmpty(), "삭제된 행이 영속성 컨텍스트에 남으면 안 됩니다");
+        entityManager.flush();
+        entityManager.clear();
+        List<DescriptionEntity> after = descriptionRepository.findByPassage_PasCodeOrderByOrderAsc(pasCode);
+        assertEquals(List.of(1, 3), after.stream().map(DescriptionEntity::getOrder).toList());
+        assertEquals(firstCode, after.get(0).getDesCode(), "기존 행의 des_code 는 유지되어야 합니다");
+        assertEquals("수정", after.get(0).getKeyword());
+        assertEquals("추가", after.get(1).getKeyword());
+    }
+
+    @Test
+    @DisplayName("이미 로딩된 descriptions 컬렉션도 병합 결과와 맞추고, order 가 없으면 요청 내 위치를 쓴다")
+    void updatePassage_syncsLoadedCollection() {
+        // Given: order 1, 2 + 같은 트랜잭션에서 passage.descriptions 로딩
+        Long pasCode = save();
+        entityManager.clear();
+        PassageEntity passage = entityManager.find(PassageEntity.class, pasCode);
+        assertEquals(2, passage.getDescriptions().size());
+
+        // When: order 없이 한 개만 전달 → order 1 수정, order 2 삭제
+        passageService.updatePassage(memCode, pasCode, PassageWithQuestionsRequestDto.builder()
+                .descriptions(List.of(description(null, "위치")))
+                .build());
+        entityManager.flush();
+
+        // Then
+        assertEquals(List.of("위치"), passage.getDescriptions().stream().map(DescriptionEntity::getKeyword).toList());
+        entityManager.clear();
+        List<DescriptionEntity> after = descriptionRepository.findByPassage_PasCodeOrderByOrderAsc(pasCode);
+        assertEquals(1, after.size());
+        assertEquals(1, after.get(0).getOrder());
+        assertEquals("위치", after.get(0).getKeyword());
+    }
+
+    private Long save() {
+        PassageWithQuestionsResponseDto saved = passageService.savePassageWithQuestions(memCode, PassageWithQuestionsRequestDto.builder()
+                .title("병합 테스트 지문")
+                .content("<p>지문 내용</p>")
+                .isGenerated(0)
+                .isUserEntered(1)
+                .descriptions(List.of(description(1, "첫째"), description(2, "둘째")))
+                .questions(List.of())
+                .build());
+        entityManager.flush();
+        return saved.getPasCode();
+    }
+
+    private static DescriptionDto description(Integer order, String keyword) {
+        return DescriptionDto.builder().pasType("과학").keyword(keyword).gist("<p>핵심</p>").order(order).build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.member.entity.MemberEntity;
+import com.cj.genieq.passage.dto.response.PassagePreviewListDto;
+import com.cj.genieq.passage.entity.PassageEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PassageListStreamer 키셋 커서 검증
+ * pas_date 가 없는 기존 행이 묶음 경계에 걸려도 처음으로 돌아가지 않고 모든 지문을 한 번씩 내보내는지 확인한다
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:genieq-stream;MODE=MariaDB;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "genieq.stream.chunk-size=2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PassageListStreamer.class)
+class PassageListStreamerTest {
+
+    @Autowired
+    private PassageListStreamer passageListStreamer;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private MemberEntity member;
+
+    @BeforeEach
+    void setUp() {
+        member = entityManager.persistAndFlush(MemberEntity.builder()
+                .memName("테스트")
+                .memEmail("stream@genieq.com")
+                .memPassword("password")
+                .memIsDeleted(0)
+                .build());
+    }
+
+    @Test
+    @DisplayName("날짜가 없는 행이 묶음 경계에 걸려도 끝까지 한 번씩 내보낸다")
+    void streamPreviewList_nullDatesAcrossChunks() {
+        // Given: 날짜 있는 지문 1개 + 날짜 없는 지문 4개 (묶음 크기 2 → 날짜 없는 행이 두 묶음의 마지막)
+        List<Long> nullDated = new ArrayList<>();
+        Long dated = persist("날짜 있음", LocalDateTime.now());
+        for (int i = 0; i < 4; i++) {
+            nullDated.add(persist("날짜 없음 " + i, null));
+        }
+        entityManager.clear();
+
+        // When
+        List<Long> streamed = new ArrayList<>();
+        passageListStreamer.streamPreviewList(member.getMemCode(), (PassagePreviewListDto item) -> {
+            if (streamed.size() > 10) {
+                throw new IllegalStateException("커서가 처음으로 돌아가 반복됨: " + streamed);
+            }
+            streamed.add(item.getPasCode());
+        });
+
+        // Then: 날짜 있는 행 먼저, 날짜 없는 행은 pasCode 내림차순
+        Collections.reverse(nullDated);
+        List<Long> expected = new ArrayList<>(List.of(dated));
+        expected.addAll(nullDated);
+        assertEquals(expected, streamed);
+    }
+
+    private Long persist(String title, LocalDateTime date) {
+        return entityManager.persistAndFlush(PassageEntity.builder()
+                .title(title)
+                .date(date)
+                .isFavorite(0)
+                .isDeleted(0)
+                .isGenerated(1)
+                .isUserEntered(0)
+                .member(member)
+                .build()).getPasCode();
+    }
+}
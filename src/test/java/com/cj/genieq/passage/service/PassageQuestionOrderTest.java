@@ -0,0 +1,141 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.common.converter.CompressedTextConverter;
+import com.cj.genieq.member.entity.MemberEntity;
+import com.cj.genieq.passage.dto.DescriptionDto;
+import com.cj.genieq.passage.dto.request.PassageWithQuestionsRequestDto;
+import com.cj.genieq.passage.dto.response.PassageWithQuestionsResponseDto;
+import com.cj.genieq.question.dto.request.QuestionInsertRequestDto;
+import com.cj.genieq.question.dto.response.QuestionSelectResponseDto;
+import com.cj.genieq.question.repository.QuestionRepository;
+import com.cj.genieq.question.service.QuestionServiceImpl;
+import com.cj.genieq.support.SqlStatementCounter;
+import com.cj.genieq.usage.service.UsageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 문항 병합 후 순서 검증
+ * 문항 ID(queCode)는 유지하면서 요청 순서(순서 변경, 중간 삽입, 삭제)가 다시 조회해도 그대로인지 확인한다
+ * 빠진 문항은 DELETE 1회로 삭제되고 같은 트랜잭션 안에서 다시 조회되지 않는지도 확인한다
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:genieq-order;MODE=MariaDB;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.cj.genieq.support.SqlStatementCounter"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PassageServiceImpl.class, QuestionServiceImpl.class, TitleAllocator.class, PassageContentStore.class, CompressedTextConverter.class})
+class PassageQuestionOrderTest {
+
+    @Autowired
+    private PassageService passageService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private UsageService usageService;
+
+    private Long memCode;
+
+    @BeforeEach
+    void setUp() {
+        MemberEntity member = MemberEntity.builder()
+                .memName("테스트")
+                .memEmail("order@genieq.com")
+                .memPassword("password")
+                .memIsDeleted(0)
+                .build();
+        memCode = entityManager.persistAndFlush(member).getMemCode();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("순서 변경, 중간 삽입, 삭제 후 다시 조회해도 요청 순서를 유지한다")
+    void updatePassage_keepsRequestOrder() {
+        // Given: 문항 A, B, C
+        PassageWithQuestionsResponseDto saved = passageService.savePassageWithQuestions(memCode, PassageWithQuestionsRequestDto.builder()
+                .title("순서 테스트 지문")
+                .content("<p>지문 내용</p>")
+                .isGenerated(0)
+                .isUserEntered(1)
+                .descriptions(List.of(DescriptionDto.builder().pasType("과학").keyword("순서").gist("<p>핵심</p>").order(1).build()))
+                .questions(List.of(question(null, "A"), question(null, "B"), question(null, "C")))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        List<Long> codes = saved.getQuestions().stream().map(QuestionSelectResponseDto::getQueCode).toList();
+
+        // When: C, 새 문항 N, A 순서로 수정 (B 삭제)
+        passageService.updatePassage(memCode, saved.getPasCode(), PassageWithQuestionsRequestDto.builder()
+                .questions(List.of(question(codes.get(2), "C"), question(null, "N"), question(codes.get(0), "A")))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        List<QuestionSelectResponseDto> questions = passageService.getPassageWithQuestions(saved.getPasCode()).getQuestions();
+        assertEquals(List.of("C", "N", "A"), questions.stream().map(QuestionSelectResponseDto::getQueQuery).toList());
+        assertEquals(codes.get(2), questions.get(0).getQueCode(), "기존 문항 ID 는 유지되어야 합니다");
+        assertEquals(codes.get(0), questions.get(2).getQueCode(), "기존 문항 ID 는 유지되어야 합니다");
+        List<QuestionSelectResponseDto> batched = passageService.getPassagesWithQuestions(memCode, List.of(saved.getPasCode())).get(0).getQuestions();
+        assertEquals(List.of("C", "N", "A"), batched.stream().map(QuestionSelectResponseDto::getQueQuery).toList());
+    }
+
+    @Test
+    @DisplayName("빠진 문항은 DELETE 1회로 삭제하고 같은 트랜잭션 안에서도 다시 보이지 않는다")
+    void updatePassage_deletesMissingQuestionsInOneStatement() {
+        // Given: 문항 A, B, C, D
+        PassageWithQuestionsResponseDto saved = passageService.savePassageWithQuestions(memCode, PassageWithQuestionsRequestDto.builder()
+                .title("삭제 테스트 지문")
+                .content("<p>지문 내용</p>")
+                .isGenerated(0)
+                .isUserEntered(1)
+                .descriptions(List.of(DescriptionDto.builder().pasType("과학").keyword("삭제").gist("<p>핵심</p>").order(1).build()))
+                .questions(List.of(question(null, "A"), question(null, "B"), question(null, "C"), question(null, "D")))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        List<Long> codes = saved.getQuestions().stream().map(QuestionSelectResponseDto::getQueCode).toList();
+
+        // When: A 만 남김
+        SqlStatementCounter.reset();
+        passageService.updatePassage(memCode, saved.getPasCode(), PassageWithQuestionsRequestDto.builder()
+                .questions(List.of(question(codes.get(0), "A")))
+                .build());
+        entityManager.flush();
+
+        // Then
+        long deletes = SqlStatementCounter.statements().stream().filter(sql -> sql.startsWith("delete from question ")).count();
+        assertEquals(1, deletes, "빠진 문항은 DELETE 1회로 삭제해야 합니다: " + SqlStatementCounter.statements());
+        assertTrue(questionRepository.findById(codes.get(1)).isEmpty(), "삭제된 문항이 영속성 컨텍스트에 남으면 안 됩니다");
+        entityManager.clear();
+        assertEquals(List.of("A"), passageService.getPassageWithQuestions(saved.getPasCode()).getQuestions().stream()
+                .map(QuestionSelectResponseDto::getQueQuery).toList());
+    }
+
+    private static QuestionInsertRequestDto question(Long queCode, String query) {
+        return QuestionInsertRequestDto.builder()
+                .queCode(queCode)
+                .queQuery(query)
+                .queOption("<p>① 가</p>")
+                .queAnswer("1")
+                .build();
+    }
+}
@@ -0,0 +1,176 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.passage.dto.response.PassageWithQuestionsResponseDto;
+import com.cj.genieq.question.dto.response.QuestionSelectResponseDto;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * PDF 배치/생성 벤치마크 (JUnit 테스트 아님, main 으로 직접 실행)
+ * 약 20 페이지 분량(긴 지문 + 문항 30개 + 해설)의 문서로 측정한다.
+ * 1. 폭 계산: 글자마다 PDType0Font.getStringWidth(String) 호출(이전 방식) vs 코드 포인트 너비 캐시
+ * 2. 문서 생성: 단일 스레드 지연 시간과 코어 수만큼 동시 생성했을 때의 처리량
+ *
+ * 폰트(fonts/BookkMyungjo_*.ttf)가 클래스패스에 있어야 한다.
+ * 실행: IDE 에서 main 실행 또는
+ *   ./mvnw test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.cj.genieq.passage.service.PdfLayoutBenchmark
+ */
+public class PdfLayoutBenchmark {
+
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+
+    private static final String[] WORDS = {
+            "지문", "문항", "독서", "과학", "기술", "인문", "사회", "예술", "논점", "근거", "주장", "개념",
+            "광합성", "에너지", "엽록체", "the", "of", "reading", "passage", "은", "는", "이", "가", "을", "를", "에서", "으로"
+    };
+
+    public static void main(String[] args) throws Exception {
+        PdfFontRegistry registry = new PdfFontRegistry(0, 30_000);
+        PdfService pdfService = new PdfService(registry);
+        PassageWithQuestionsResponseDto booklet = sampleBooklet(25, 120, 30, 1);
+
+        ByteArrayOutputStream sample = new ByteArrayOutputStream();
+        pdfService.writePdf(booklet, sample);
+        byte[] pdf = sample.toByteArray();
+        try (PDDocument document = PDDocument.load(pdf)) {
+            System.out.printf("샘플 문서: %d 페이지, %d KB%n", document.getNumberOfPages(), pdf.length / 1024);
+        }
+
+        benchWidths(registry, booklet.getContent());
+        benchRender(pdfService, booklet, 1);
+        benchRender(pdfService, booklet, Runtime.getRuntime().availableProcessors());
+
+        registry.close();
+    }
+
+    // 지문 전체 폭 계산 비용 비교
+    private static void benchWidths(PdfFontRegistry registry, String html) throws Exception {
+        String text = html.replaceAll("<[^>]*>", "");
+        try (PdfFontRegistry.Lease lease = registry.borrow();
+             PDDocument document = new PDDocument()) {
+            PDType0Font font = PDType0Font.load(document, lease.regular(), true);
+            PdfGlyphWidths widths = lease.regularWidths();
+
+            float legacy = 0;
+            float cached = 0;
+            for (int i = 0; i < WARMUP; i++) {
+                legacy += legacyWidth(font, text);
+                cached += cachedWidth(widths, text);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                legacy += legacyWidth(font, text);
+            }
+            long legacyNs = (System.nanoTime() - start) / ITERATIONS;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                cached += cachedWidth(widths, text);
+            }
+            long cachedNs = (System.nanoTime() - start) / ITERATIONS;
+
+            if (Math.abs(legacy - cached) > 1) {
+                throw new IllegalStateException("폭 계산 결과가 다릅니다: " + legacy + " / " + cached);
+            }
+            System.out.printf("폭 계산 (%d 글자)  getStringWidth %8.1f µs | 너비 캐시 %8.1f µs (%.1fx)%n",
+                    text.length(), legacyNs / 1000.0, cachedNs / 1000.0, (double) legacyNs / cachedNs);
+        }
+    }
+
+    private static float legacyWidth(PDType0Font font, String text) throws Exception {
+        float width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += font.getStringWidth(String.valueOf(text.charAt(i)));
+        }
+        return width;
+    }
+
+    private static float cachedWidth(PdfGlyphWidths widths, String text) {
+        float width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += widths.width(text.charAt(i));
+        }
+        return width;
+    }
+
+    // threads 개가 동시에 ITERATIONS 개씩 생성
+    private static void benchRender(PdfService pdfService, PassageWithQuestionsResponseDto booklet, int threads) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            pdfService.writePdf(booklet, OutputStream.nullOutputStream());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        pdfService.writePdf(booklet, OutputStream.nullOutputStream());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsedNs = System.nanoTime() - start;
+            int documents = threads * ITERATIONS;
+            System.out.printf("문서 생성 %2d 스레드  평균 %7.1f ms/문서 | 처리량 %7.1f 문서/초%n",
+                    threads, elapsedNs / 1_000_000.0 / ITERATIONS, documents / (elapsedNs / 1_000_000_000.0));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // 에디터 HTML 형태의 지문과 문항 (고정 시드)
+    private static PassageWithQuestionsResponseDto sampleBooklet(int paragraphs, int wordsPerParagraph, int questionCount, long seed) {
+        Random random = new Random(seed);
+        List<QuestionSelectResponseDto> questions = new ArrayList<>();
+        for (int q = 0; q < questionCount; q++) {
+            StringBuilder options = new StringBuilder();
+            for (int o = 0; o < 5; o++) {
+                options.append(sampleHtml(random, 1, 12));
+            }
+            questions.add(QuestionSelectResponseDto.builder()
+                    .queQuery(sampleHtml(random, 1, 25))
+                    .queOption(options.toString())
+                    .queAnswer(String.valueOf(random.nextInt(5) + 1))
+                    .queDescription(sampleHtml(random, 2, 40))
+                    .build());
+        }
+        return PassageWithQuestionsResponseDto.builder()
+                .title("벤치마크")
+                .content(sampleHtml(random, paragraphs, wordsPerParagraph))
+                .questions(questions)
+                .build();
+    }
+
+    private static String sampleHtml(Random random, int paragraphs, int wordsPerParagraph) {
+        StringBuilder sb = new StringBuilder();
+        for (int p = 0; p < paragraphs; p++) {
+            sb.append("<p>");
+            for (int w = 0; w < wordsPerParagraph; w++) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                switch (random.nextInt(12)) {
+                    case 0 -> sb.append("<strong>").append(word).append("</strong>");
+                    case 1 -> sb.append("<u>").append(word).append("</u>");
+                    default -> sb.append(word);
+                }
+                sb.append(' ');
+            }
+            sb.append("</p>");
+        }
+        return sb.toString();
+    }
+}
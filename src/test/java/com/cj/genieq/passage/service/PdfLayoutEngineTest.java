@@ -0,0 +1,72 @@
+package com.cj.genieq.passage.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PdfLayoutEngine 줄 나눔 단위 테스트 (폰트 없이 고정 폭으로 측정)
+ * 글자 1000, 공백 500, '#' 은 글리프 없음으로 보고 줄 폭 5000(= 글자 5개) 기준으로 확인
+ */
+class PdfLayoutEngineTest {
+
+    private static final PdfLayoutEngine.Measure FIXED = (codePoint, style) ->
+            codePoint == '#' ? PdfGlyphWidths.MISSING : codePoint == ' ' ? 500 : 1000;
+
+    @Test
+    @DisplayName("단어 단위로 채우고, 한 줄보다 긴 단어는 글자 단위로 끊는다")
+    void breakLines_wrapsWords() throws IOException {
+        // When
+        List<String> lines = layout("<p>가나 다라 마바사아자차카 타#파</p>");
+
+        // Then
+        assertEquals(List.of("가나 다라", "마바사아자", "차카 타파"), lines);
+    }
+
+    @Test
+    @DisplayName("블록 태그/br/개행은 줄을 바꾸고, 빈 문단은 빈 줄, 태그 사이 개행은 무시한다")
+    void breakLines_hardBreaks() throws IOException {
+        // When
+        List<String> lines = layout("<p>가</p>\n<p></p><p>나<br>다</p>\n라");
+
+        // Then
+        assertEquals(List.of("가", "", "나", "다", "라"), lines);
+    }
+
+    @Test
+    @DisplayName("스타일이 바뀌어도 공백이 없으면 한 단어로 보고, 같은 스타일 구간은 합친다")
+    void breakLines_keepsStyledWordTogether() throws IOException {
+        // Given
+        List<PdfLayoutEngine.Line> lines = new ArrayList<>();
+
+        // When
+        PdfLayoutEngine.breakLines(PdfLayoutEngine.parse("가나다 <strong>라마</strong>바 <u>사</u>&amp;"), FIXED, 5000, lines::add);
+
+        // Then
+        assertEquals(3, lines.size());
+        assertEquals("가나다", text(lines.get(0)));
+        List<PdfLayoutEngine.Segment> second = lines.get(1).segments();
+        assertEquals("라마", second.get(0).text());
+        assertEquals(PdfLayoutEngine.BOLD, second.get(0).style());
+        assertEquals("바", second.get(1).text());
+        assertEquals(3000, lines.get(1).width());
+        assertEquals(PdfLayoutEngine.UNDERLINE, lines.get(2).segments().get(0).style());
+        assertEquals("사&", text(lines.get(2)));
+    }
+
+    private static List<String> layout(String html) throws IOException {
+        List<String> lines = new ArrayList<>();
+        PdfLayoutEngine.breakLines(PdfLayoutEngine.parse(html), FIXED, 5000, line -> lines.add(text(line)));
+        return lines;
+    }
+
+    private static String text(PdfLayoutEngine.Line line) {
+        return line.segments().stream().map(PdfLayoutEngine.Segment::text).collect(Collectors.joining());
+    }
+}
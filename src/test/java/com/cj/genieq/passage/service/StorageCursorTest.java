@@ -0,0 +1,35 @@
+package com.cj.genieq.passage.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * StorageCursor 단위 테스트
+ * 커서 인코딩/디코딩이 정렬 키를 그대로 보존하는지 확인
+ */
+class StorageCursorTest {
+
+    @Test
+    @DisplayName("제목에 ':' 나 한글이 있어도 커서가 그대로 복원된다")
+    void encodeDecode_roundTrip() {
+        // Given
+        StorageCursor cursor = new StorageCursor("title", "asc", 1234L, "지문: 제목(2)");
+
+        // When
+        String encoded = cursor.encode();
+        StorageCursor decoded = StorageCursor.decode(encoded);
+
+        // Then
+        assertFalse(encoded.contains("="), "URL 파라미터로 쓰이므로 패딩이 없어야 합니다");
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    @DisplayName("형식이 잘못된 커서는 IllegalArgumentException")
+    void decode_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> StorageCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> StorageCursor.decode(new StorageCursor("date", "desc", null, "x").encode().substring(0, 4)));
+    }
+}
@@ -0,0 +1,128 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.member.entity.MemberEntity;
+import com.cj.genieq.passage.entity.DescriptionEntity;
+import com.cj.genieq.passage.entity.PassageEntity;
+import com.cj.genieq.passage.entity.StorageItemEntity;
+import com.cj.genieq.passage.repository.PassageRepository;
+import com.cj.genieq.passage.repository.StorageItemRepository;
+import com.cj.genieq.question.entity.QuestionEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 자료실 읽기 모델(storage_item) 재계산 검증
+ * 하위 지문 코드로 갱신해도 부모 지문 행이 원본 테이블 기준으로 계산되는지 확인한다
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:genieq-storage;MODE=MariaDB;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({StorageItemProjector.class, JacksonAutoConfiguration.class})
+class StorageItemProjectorTest {
+
+    @Autowired
+    private StorageItemProjector storageItemProjector;
+
+    @Autowired
+    private StorageItemRepository storageItemRepository;
+
+    @Autowired
+    private PassageRepository passageRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long parentCode;
+    private Long childCode;
+
+    @BeforeEach
+    void setUp() {
+        MemberEntity member = entityManager.persist(MemberEntity.builder()
+                .memName("테스트")
+                .memEmail("storage@genieq.com")
+                .memPassword("password")
+                .memIsDeleted(0)
+                .build());
+
+        PassageEntity parent = entityManager.persist(PassageEntity.builder()
+                .title("부모 지문")
+                .date(LocalDateTime.now())
+                .isDeleted(0)
+                .isFavorite(0)
+                .isGenerated(1)
+                .isUserEntered(0)
+                .member(member)
+                .build());
+        parentCode = parent.getPasCode();
+        entityManager.persist(DescriptionEntity.builder().pasType("과학").keyword("광합성").gist("<p>핵심</p>").order(1).passage(parent).build());
+        entityManager.persist(DescriptionEntity.builder().pasType("기술").keyword("에너지").gist("<p>핵심</p>").order(2).passage(parent).build());
+
+        PassageEntity child = entityManager.persist(PassageEntity.builder()
+                .title("부모 지문")
+                .date(LocalDateTime.now())
+                .isDeleted(0)
+                .isFavorite(1)
+                .isGenerated(0)
+                .refPasCode(parentCode)
+                .questionCount(3) // 서비스에서는 문항 저장 시 addQuestionCount 로 갱신
+                .member(member)
+                .build());
+        childCode = child.getPasCode();
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(QuestionEntity.builder().queQuery("문제 " + i).queOption("<p>①</p>").queAnswer("1").passage(child).build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("하위 지문 변경 시 부모 지문 행에 대표 분류, 하위 지문/문항 수가 반영된다")
+    void refresh_fromChild() {
+        // When
+        storageItemProjector.refresh(List.of(childCode));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertFalse(storageItemRepository.existsById(childCode), "하위 지문은 별도 행이 없어야 합니다");
+        StorageItemEntity item = storageItemRepository.findById(parentCode).orElseThrow();
+        assertEquals("과학", item.getPasType());
+        assertEquals("광합성", item.getKeyword());
+        assertEquals(1, item.getChildCount());
+        assertEquals(3, item.getQuestionCount());
+        assertTrue(item.getDescriptionsJson().contains("에너지"));
+        assertTrue(item.getChildrenJson().contains("\"questionCount\":3"));
+    }
+
+    @Test
+    @DisplayName("벌크 UPDATE 로 삭제된 지문도 DB 값 기준으로 반영된다")
+    void refresh_afterBulkDelete() {
+        // Given
+        storageItemProjector.refresh(List.of(parentCode));
+        passageRepository.updateIsDeletedByPasCodeList(List.of(parentCode));
+
+        // When
+        storageItemProjector.refresh(List.of(parentCode));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertEquals(1, storageItemRepository.findById(parentCode).orElseThrow().getIsDeleted());
+    }
+}
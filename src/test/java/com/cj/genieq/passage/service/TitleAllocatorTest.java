@@ -0,0 +1,94 @@
+package com.cj.genieq.passage.service;
+
+import com.cj.genieq.member.entity.MemberEntity;
+import com.cj.genieq.passage.entity.PassageEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TitleAllocator 검증
+ * 카운터가 발급할 "제목(n)" 을 사용자가 직접 입력해 이미 쓰고 있으면 그 번호를 건너뛰는지 확인한다
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:genieq-title;MODE=MariaDB;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TitleAllocator.class)
+class TitleAllocatorTest {
+
+    @Autowired
+    private TitleAllocator titleAllocator;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private MemberEntity member;
+
+    @BeforeEach
+    void setUp() {
+        member = entityManager.persistAndFlush(MemberEntity.builder()
+                .memName("테스트")
+                .memEmail("title@genieq.com")
+                .memPassword("password")
+                .memIsDeleted(0)
+                .build());
+    }
+
+    @Test
+    @DisplayName("직접 입력한 \"제목(n)\" 을 저장하면 그 번호는 다시 발급하지 않는다")
+    void allocate_skipsManuallyTypedSuffix() {
+        // Given: "A" 저장 후 카운터로 "A(1)" 발급, 사용자가 "A(2)" 를 직접 입력해 저장
+        persist("A");
+        String first = titleAllocator.allocate(member.getMemCode(), "A");
+        persist(first);
+        String typed = titleAllocator.allocate(member.getMemCode(), "A(2)");
+        persist(typed);
+
+        // When
+        String next = titleAllocator.allocate(member.getMemCode(), "A");
+
+        // Then
+        assertEquals("A(1)", first);
+        assertEquals("A(2)", typed);
+        assertEquals("A(3)", next);
+    }
+
+    @Test
+    @DisplayName("수정으로 바꾼 \"제목(n)\" 도 카운터에 반영하고, 숫자가 아닌 괄호는 무시한다")
+    void register_raisesCounterForRenamedTitle() {
+        // Given: "B" 카운터 생성 ("B(1)" 발급)
+        persist("B");
+        titleAllocator.allocate(member.getMemCode(), "B");
+
+        // When: 다른 지문 제목을 "B(5)", "B(부제)" 로 수정
+        titleAllocator.register(member.getMemCode(), "B(5)");
+        titleAllocator.register(member.getMemCode(), "B(부제)");
+
+        // Then
+        assertEquals("B(6)", titleAllocator.allocate(member.getMemCode(), "B"));
+    }
+
+    private void persist(String title) {
+        entityManager.persistAndFlush(PassageEntity.builder()
+                .title(title)
+                .member(member)
+                .date(LocalDateTime.now())
+                .isFavorite(0)
+                .isDeleted(0)
+                .isGenerated(0)
+                .isUserEntered(1)
+                .build());
+    }
+}
@@ -0,0 +1,49 @@
+package com.cj.genieq.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 테스트용 SQL 문 카운터
+ * hibernate.session_factory.statement_inspector 로 등록하면 Hibernate 가 준비(prepare)하는 모든 SQL 을 기록한다.
+ * JDBC 배치는 한 번만 준비되므로 배치 여부와 쿼리 개수를 함께 검증할 수 있다.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql.toLowerCase());
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    // 전체 SQL 개수
+    public static int count() {
+        return STATEMENTS.size();
+    }
+
+    // 특정 테이블에 대한 INSERT 문 개수
+    public static long insertCount(String table) {
+        return STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("insert into " + table + " ") || sql.startsWith("insert into " + table + "("))
+                .count();
+    }
+
+    // action 실행 중 준비된 SQL 개수 (지연 로딩 포함)
+    public static int countDuring(Runnable action) {
+        reset();
+        action.run();
+        return count();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+}